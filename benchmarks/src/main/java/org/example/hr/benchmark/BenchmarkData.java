@@ -0,0 +1,287 @@
+package org.example.hr.benchmark;
+
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.EmployeeListItem;
+import org.example.hr.pojo.JobInf;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * 基准测试数据生成器
+ * 使用固定随机种子，同样的行数每次生成完全相同的数据，基准结果可以在不同机器、不同提交之间对比。
+ * 部门人数按 1/(i+1) 的权重分配 (少数大部门、多数小部门)，字段长度符合 hr_db.sql 的列定义。
+ * 员工按需逐个生成 ({@link #generateEmployees})，{@link DataGenerator} 用它向 MySQL 写入数百万行而不占用大量内存。
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 20240601L;
+    private static final int BATCH_SIZE = 1000;
+
+    static final String INSERT_EMPLOYEE_SQL = "INSERT INTO employee_inf "
+            + "(emp_id, emp_dept_id, emp_job_id, emp_name, emp_card_id, emp_address, emp_post_code, emp_tel, emp_phone, "
+            + "emp_qq, emp_email, emp_sex, emp_party, emp_birth, emp_race, emp_edu, emp_speciality, emp_hobby, "
+            + "emp_remark, emp_create_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] DEPT_NAMES = {"技术部", "运营部", "财务部", "总公办", "市场部", "学生部", "教学部",
+            "人事部", "法务部", "采购部", "客服部", "行政部"};
+    private static final String[] JOB_NAMES = {"职员", "Java开发工程师", "Java中级开发工程师", "Java高级开发工程师",
+            "系统管理员", "架构师", "主管", "经理", "总经理"};
+    private static final String[] SURNAMES = {"王", "李", "张", "刘", "陈", "杨", "黄", "赵", "吴", "周", "徐", "孙",
+            "马", "朱", "胡", "郭", "何", "林", "罗", "高"};
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "敏", "静", "丽", "强", "磊", "军", "洋", "勇", "艳",
+            "杰", "娟", "涛", "明", "超", "秀英", "霞", "平", "刚", "桂英", "子涵", "浩然", "欣怡", "宇轩"};
+    private static final String[] CITIES = {"广州天河", "深圳南山", "北京海淀", "上海浦东", "杭州西湖", "成都高新", "武汉洪山"};
+    private static final String[] PARTIES = {"群众", "群众", "群众", "团员", "党员"};
+    private static final String[] RACES = {"汉族", "汉族", "汉族", "汉族", "汉族", "汉族", "汉族", "汉族", "壮族", "满族", "回族"};
+    private static final String[] EDUCATIONS = {"大专", "本科", "本科", "本科", "硕士", "硕士", "博士"};
+    private static final String[] SPECIALITIES = {"计算机", "软件工程", "会计", "市场营销", "汉语言", "数学", "法学"};
+    private static final String[] HOBBIES = {"篮球", "羽毛球", "读书", "摄影", "旅游", "唱歌", "跑步"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @return 部门列表，ID 从1开始连续编号
+     */
+    public static List<DeptInf> departments() {
+        return departments(DEPT_NAMES.length);
+    }
+
+    /**
+     * @param count 部门数量，超过内置名称数量时名称加序号 (技术部2、运营部2 ...)
+     * @return 部门列表，ID 从1开始连续编号
+     */
+    public static List<DeptInf> departments(int count) {
+        List<DeptInf> departments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = DEPT_NAMES[i % DEPT_NAMES.length] + (i < DEPT_NAMES.length ? "" : String.valueOf(i / DEPT_NAMES.length + 1));
+            departments.add(new DeptInf(i + 1, name, name));
+        }
+        return departments;
+    }
+
+    /**
+     * @return 岗位列表，ID 从1开始连续编号
+     */
+    public static List<JobInf> jobs() {
+        List<JobInf> jobs = new ArrayList<>(JOB_NAMES.length);
+        for (int i = 0; i < JOB_NAMES.length; i++) {
+            jobs.add(new JobInf(i + 1, JOB_NAMES[i], JOB_NAMES[i]));
+        }
+        return jobs;
+    }
+
+    /**
+     * 生成员工 (empId 从1开始连续编号，部门和岗位只设置ID)
+     */
+    public static List<EmployeeInf> employees(int count) {
+        List<EmployeeInf> employees = new ArrayList<>(count);
+        generateEmployees(count, 1, ids(DEPT_NAMES.length), ids(JOB_NAMES.length)).forEachRemaining(employees::add);
+        return employees;
+    }
+
+    /**
+     * 按需逐个生成员工
+     * @param count 员工数量
+     * @param firstEmpId 第一个员工的 empId，之后连续编号 (身份证号、邮箱也由 empId 生成，保证不重复)
+     * @param deptIds 可分配的部门ID，靠前的部门人数多
+     * @param jobIds 可分配的岗位ID，均匀分布
+     */
+    public static Iterator<EmployeeInf> generateEmployees(int count, int firstEmpId, int[] deptIds, int[] jobIds) {
+        Random random = new Random(SEED);
+        double[] deptWeights = cumulativeWeights(deptIds.length);
+        return new Iterator<>() {
+
+            private int generated;
+
+            @Override
+            public boolean hasNext() {
+                return generated < count;
+            }
+
+            @Override
+            public EmployeeInf next() {
+                if (generated >= count) {
+                    throw new NoSuchElementException();
+                }
+                EmployeeInf employee = employee(random, firstEmpId + generated, deptIds[pickWeighted(random, deptWeights)],
+                        jobIds[random.nextInt(jobIds.length)]);
+                generated++;
+                return employee;
+            }
+        };
+    }
+
+    /**
+     * 生成与 {@link #employees(int)} 相同的员工，转换为列表页使用的投影
+     */
+    public static List<EmployeeListItem> listItems(int count) {
+        List<DeptInf> departments = departments();
+        List<JobInf> jobs = jobs();
+        List<EmployeeListItem> items = new ArrayList<>(count);
+        for (EmployeeInf employee : employees(count)) {
+            int deptId = employee.getDepartment().getDeptId();
+            int jobId = employee.getJob().getJobId();
+            items.add(new EmployeeListItem(employee.getEmpId(), employee.getEmpName(), employee.getEmpSex(),
+                    employee.getEmpPhone(), employee.getEmpCardId(), deptId, departments.get(deptId - 1).getDeptName(),
+                    jobId, jobs.get(jobId - 1).getJobName(), employee.getEmpCreateDate()));
+        }
+        return items;
+    }
+
+    /**
+     * 执行 benchmark-schema.sql 建表，并用批量 INSERT 写入部门、岗位和 employeeCount 个员工
+     */
+    public static void load(DataSource dataSource, int employeeCount) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("benchmark-schema.sql"));
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO dept_inf (dept_id, dept_name, dept_remark) VALUES (?, ?, ?)")) {
+                for (DeptInf dept : departments()) {
+                    statement.setInt(1, dept.getDeptId());
+                    statement.setString(2, dept.getDeptName());
+                    statement.setString(3, dept.getDeptRemark());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO job_inf (job_id, job_name, job_remark) VALUES (?, ?, ?)")) {
+                for (JobInf job : jobs()) {
+                    statement.setInt(1, job.getJobId());
+                    statement.setString(2, job.getJobName());
+                    statement.setString(3, job.getJobRemark());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_EMPLOYEE_SQL)) {
+                int pending = 0;
+                for (EmployeeInf employee : employees(employeeCount)) {
+                    bindEmployee(statement, employee);
+                    statement.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    /**
+     * 设置 {@link #INSERT_EMPLOYEE_SQL} 的参数
+     */
+    static void bindEmployee(PreparedStatement statement, EmployeeInf e) throws SQLException {
+        statement.setInt(1, e.getEmpId());
+        statement.setInt(2, e.getDepartment().getDeptId());
+        statement.setInt(3, e.getJob().getJobId());
+        statement.setString(4, e.getEmpName());
+        statement.setString(5, e.getEmpCardId());
+        statement.setString(6, e.getEmpAddress());
+        statement.setString(7, e.getEmpPostCode());
+        statement.setString(8, e.getEmpTel());
+        statement.setString(9, e.getEmpPhone());
+        statement.setString(10, e.getEmpQq());
+        statement.setString(11, e.getEmpEmail());
+        statement.setInt(12, e.getEmpSex());
+        statement.setString(13, e.getEmpParty());
+        statement.setTimestamp(14, new Timestamp(e.getEmpBirth().getTime()));
+        statement.setString(15, e.getEmpRace());
+        statement.setString(16, e.getEmpEdu());
+        statement.setString(17, e.getEmpSpeciality());
+        statement.setString(18, e.getEmpHobby());
+        statement.setString(19, e.getEmpRemark());
+        statement.setTimestamp(20, new Timestamp(e.getEmpCreateDate().getTime()));
+    }
+
+    private static EmployeeInf employee(Random random, int empId, int deptId, int jobId) {
+        EmployeeInf e = new EmployeeInf();
+        e.setEmpId(empId);
+        e.setDepartment(new DeptInf(deptId, null, null));
+        e.setJob(new JobInf(jobId, null, null));
+        e.setEmpName(pick(random, SURNAMES) + pick(random, GIVEN_NAMES) + (random.nextBoolean() ? pick(random, GIVEN_NAMES) : ""));
+        e.setEmpCardId(String.format("%010d", empId));
+        e.setEmpAddress(pick(random, CITIES) + (1 + random.nextInt(999)) + "号");
+        e.setEmpPostCode(String.format("%06d", 100000 + random.nextInt(800000)));
+        e.setEmpTel(String.format("020-%08d", random.nextInt(100_000_000)));
+        e.setEmpPhone(String.format("1%d%09d", 3 + random.nextInt(7), random.nextInt(1_000_000_000)));
+        e.setEmpQq(String.valueOf(10_000_000 + random.nextInt(900_000_000)));
+        e.setEmpEmail("e" + empId + "@hr.cn");
+        e.setEmpSex(1 + random.nextInt(2));
+        e.setEmpParty(pick(random, PARTIES));
+        e.setEmpBirth(date(1965 + random.nextInt(40), random.nextInt(12), 1 + random.nextInt(28)));
+        e.setEmpRace(pick(random, RACES));
+        e.setEmpEdu(pick(random, EDUCATIONS));
+        e.setEmpSpeciality(pick(random, SPECIALITIES));
+        e.setEmpHobby(pick(random, HOBBIES) + "、" + pick(random, HOBBIES));
+        e.setEmpRemark(random.nextInt(4) == 0 ? "试用期" : null);
+        e.setEmpCreateDate(date(2010 + random.nextInt(15), random.nextInt(12), 1 + random.nextInt(28)));
+        e.setVersion(0);
+        return e;
+    }
+
+    private static int[] ids(int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+        }
+        return ids;
+    }
+
+    /**
+     * @return 第 i 项权重为 1/(i+1) 的累积分布
+     */
+    private static double[] cumulativeWeights(int size) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int pickWeighted(Random random, double[] cumulative) {
+        double r = random.nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Date date(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day);
+        return calendar.getTime();
+    }
+}
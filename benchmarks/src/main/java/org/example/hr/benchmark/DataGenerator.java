@@ -0,0 +1,139 @@
+package org.example.hr.benchmark;
+
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.JobInf;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 向 MySQL 的 hr_db 写入大批量模拟数据，用于在开发机上复现生产规模的数据量
+ * 部门和岗位按名称补齐 (已存在的不重复插入)，员工从当前最大 emp_id 之后连续编号追加，
+ * 数据由 {@link BenchmarkData} 生成 (姓名、身份证号、手机、生日等字段真实可读，部门人数有明显的大小差异)。
+ * 使用批量 INSERT (连接串带 rewriteBatchedStatements=true，驱动改写为多值 INSERT)，每若干批提交一次事务。
+ * <p>
+ * 写入后需要重启应用 (或等待 hr.headcount.reconcile-interval)：启动时会与 employee_inf 对账 emp_headcount、重建姓名索引。
+ * 参数通过系统属性调整：hr.gen.url、hr.gen.username、hr.gen.password、hr.gen.employees、hr.gen.departments、
+ * hr.gen.batch-size、hr.gen.commit-batches、hr.gen.reset (为 true 时先清空 employee_inf 和 emp_headcount)。
+ * <p>
+ * 运行: mvn -f benchmarks/pom.xml compile exec:java -Dexec.mainClass=org.example.hr.benchmark.DataGenerator -Dhr.gen.password=... -Dhr.gen.employees=2000000
+ */
+public class DataGenerator {
+
+    private static final String URL = System.getProperty("hr.gen.url",
+            "jdbc:mysql://localhost:3306/hr_db?useSSL=false&serverTimezone=UTC&characterEncoding=utf8&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true");
+    private static final String USERNAME = System.getProperty("hr.gen.username", "root");
+    private static final String PASSWORD = System.getProperty("hr.gen.password", "");
+    private static final int EMPLOYEES = Integer.getInteger("hr.gen.employees", 1_000_000);
+    private static final int DEPARTMENTS = Integer.getInteger("hr.gen.departments", 12);
+    private static final int BATCH_SIZE = Integer.getInteger("hr.gen.batch-size", 1_000);
+    private static final int COMMIT_BATCHES = Integer.getInteger("hr.gen.commit-batches", 10);
+    private static final boolean RESET = Boolean.getBoolean("hr.gen.reset");
+    private static final int PROGRESS_ROWS = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("url=%s employees=%d departments=%d batch-size=%d commit-batches=%d reset=%s%n",
+                URL, EMPLOYEES, DEPARTMENTS, BATCH_SIZE, COMMIT_BATCHES, RESET);
+        try (Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD)) {
+            if (RESET) {
+                reset(connection);
+            }
+            List<DeptInf> departments = BenchmarkData.departments(DEPARTMENTS);
+            List<JobInf> jobs = BenchmarkData.jobs();
+            int[] deptIds = ensureReferenceRows(connection, "dept_inf", "dept_id", "dept_name", "dept_remark",
+                    departments.stream().map(DeptInf::getDeptName).toList());
+            int[] jobIds = ensureReferenceRows(connection, "job_inf", "job_id", "job_name", "job_remark",
+                    jobs.stream().map(JobInf::getJobName).toList());
+            int firstEmpId = maxEmpId(connection) + 1;
+            insertEmployees(connection, firstEmpId, deptIds, jobIds);
+        }
+    }
+
+    private static void reset(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // employee_inf 只引用部门和岗位表，没有被其他表引用，可以直接 TRUNCATE
+            statement.execute("TRUNCATE TABLE employee_inf");
+            statement.execute("TRUNCATE TABLE emp_headcount");
+        }
+        System.out.println("employee_inf and emp_headcount truncated");
+    }
+
+    /**
+     * 按名称插入缺少的部门/岗位 (名称上有唯一索引，INSERT IGNORE 跳过已存在的)
+     * @return 与 names 顺序一致的ID
+     */
+    private static int[] ensureReferenceRows(Connection connection, String table, String idColumn, String nameColumn,
+                                             String remarkColumn, List<String> names) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT IGNORE INTO " + table + " (" + nameColumn + ", " + remarkColumn + ") VALUES (?, ?)")) {
+            for (String name : names) {
+                statement.setString(1, name);
+                statement.setString(2, name);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        Map<String, Integer> idsByName = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT " + idColumn + ", " + nameColumn + " FROM " + table)) {
+            while (rs.next()) {
+                idsByName.put(rs.getString(2), rs.getInt(1));
+            }
+        }
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idsByName.get(names.get(i));
+        }
+        return ids;
+    }
+
+    private static int maxEmpId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(emp_id), 0) FROM employee_inf")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void insertEmployees(Connection connection, int firstEmpId, int[] deptIds, int[] jobIds) throws SQLException {
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        int inserted = 0;
+        int batches = 0;
+        try (PreparedStatement statement = connection.prepareStatement(BenchmarkData.INSERT_EMPLOYEE_SQL)) {
+            Iterator<EmployeeInf> employees = BenchmarkData.generateEmployees(EMPLOYEES, firstEmpId, deptIds, jobIds);
+            while (employees.hasNext()) {
+                BenchmarkData.bindEmployee(statement, employees.next());
+                statement.addBatch();
+                if (++inserted % BATCH_SIZE == 0 || !employees.hasNext()) {
+                    statement.executeBatch();
+                    if (++batches % COMMIT_BATCHES == 0 || !employees.hasNext()) {
+                        connection.commit();
+                    }
+                }
+                if (inserted % PROGRESS_ROWS == 0) {
+                    System.out.printf("%,d rows  %,.0f rows/s%n", inserted, inserted / seconds(start));
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+        System.out.printf("inserted %,d employees (emp_id %d..%d) in %.1f s, %,.0f rows/s%n",
+                inserted, firstEmpId, firstEmpId + inserted - 1, seconds(start), inserted / seconds(start));
+        System.out.println("restart the application to reconcile emp_headcount and rebuild the name index");
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+}
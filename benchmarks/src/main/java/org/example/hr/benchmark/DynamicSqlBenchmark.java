@@ -0,0 +1,137 @@
+package org.example.hr.benchmark;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.JobInf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 动态 SQL 生成基准 (不访问数据库)
+ * 测量 MappedStatement.getBoundSql：对 &lt;if&gt;/&lt;where&gt;/&lt;set&gt;/&lt;foreach&gt; 求值 (OGNL) 并拼接 SQL 和参数映射，
+ * 每次执行 findByCriteria 和 update 都要付出这部分开销。
+ * <ul>
+ *     <li>findByCriteria 的条件组合：none (只有分页)、dept、deptJobSex、all (表单所有字段)、nameIndex (姓名索引给出200个候选ID)</li>
+ *     <li>update 的参数：sparse (只改部门和备注)、full (编辑表单提交的全部字段)</li>
+ * </ul>
+ * 运行: mvn -f benchmarks/pom.xml compile exec:exec@jmh -Djmh.args="DynamicSqlBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DynamicSqlBenchmark {
+
+    private static final String NAMESPACE = "org.example.hr.mapper.EmployeeInfMapper.";
+
+    @State(Scope.Benchmark)
+    public static class Statements {
+
+        MappedStatement findByCriteria;
+        MappedStatement update;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            Configuration configuration = MyBatisSupport.configuration(null);
+            findByCriteria = configuration.getMappedStatement(NAMESPACE + "findByCriteria");
+            update = configuration.getMappedStatement(NAMESPACE + "update");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Criteria {
+
+        @Param({"none", "dept", "deptJobSex", "all", "nameIndex"})
+        public String shape;
+
+        Map<String, Object> params;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // 与 EmployeeInfService.findEmployeesPage 传入的参数一致：条件 + 游标 + 多取一行判断是否有下一页
+            params = new HashMap<>();
+            params.put("afterId", 1000);
+            params.put("limit", 21);
+            switch (shape) {
+                case "none" -> {
+                }
+                case "dept" -> params.put("deptId", 1);
+                case "deptJobSex" -> {
+                    params.put("deptId", 1);
+                    params.put("jobId", 2);
+                    params.put("empSex", 1);
+                }
+                case "all" -> {
+                    params.put("empName", "王");
+                    params.put("empPhone", "13712345678");
+                    params.put("empCardId", "4328011988");
+                    params.put("empSex", 2);
+                    params.put("deptId", 3);
+                    params.put("jobId", 8);
+                }
+                case "nameIndex" -> {
+                    List<Integer> empIds = new ArrayList<>(200);
+                    for (int i = 0; i < 200; i++) {
+                        empIds.add(1000 + i * 7);
+                    }
+                    params.put("empName", "王");
+                    params.put("empIds", empIds);
+                }
+                default -> throw new IllegalArgumentException("Unknown criteria shape: " + shape);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Update {
+
+        @Param({"sparse", "full"})
+        public String shape;
+
+        EmployeeInf employee;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            if ("full".equals(shape)) {
+                employee = BenchmarkData.employees(1).get(0);
+            } else {
+                employee = new EmployeeInf();
+                employee.setEmpId(1);
+                employee.setVersion(0);
+                employee.setDepartment(new DeptInf(2, null, null));
+                employee.setJob(new JobInf(3, null, null));
+                employee.setEmpRemark("调岗");
+            }
+        }
+    }
+
+    @Benchmark
+    public BoundSql findByCriteria(Statements statements, Criteria criteria) {
+        return statements.findByCriteria.getBoundSql(criteria.params);
+    }
+
+    @Benchmark
+    public BoundSql update(Statements statements, Update update) {
+        return statements.update.getBoundSql(update.employee);
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.hr.benchmark;
+
+import org.example.hr.controller.EmployeeInfController;
+import org.example.hr.pojo.EmployeeInf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.web.format.DateTimeFormatters;
+import org.springframework.boot.autoconfigure.web.format.WebConversionService;
+import org.springframework.core.MethodParameter;
+import org.springframework.format.datetime.DateFormatter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.support.ConfigurableWebBindingInitializer;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 员工表单绑定基准
+ * 模拟 POST /employees/save 的参数解析：@ModelAttribute("employee") EmployeeInf 的数据绑定，
+ * 以及带 @DateTimeFormat 的 empBirthDate 请求参数转换。
+ * 转换服务与应用一致：Spring Boot 的 WebConversionService 加上 WebMvcConfig 注册的 yyyy-MM-dd DateFormatter。
+ * 运行: mvn -f benchmarks/pom.xml compile exec:exec@jmh -Djmh.args="FormBindingBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FormBindingBenchmark {
+
+    private ConfigurableWebBindingInitializer bindingInitializer;
+    private MethodParameter birthDateParameter;
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        WebConversionService conversionService = new WebConversionService(new DateTimeFormatters());
+        conversionService.addFormatter(new DateFormatter("yyyy-MM-dd"));
+        bindingInitializer = new ConfigurableWebBindingInitializer();
+        bindingInitializer.setConversionService(conversionService);
+        birthDateParameter = new MethodParameter(EmployeeInfController.class.getMethod("saveEmployee",
+                EmployeeInf.class, Date.class, RedirectAttributes.class), 1);
+
+        // employee-form.html 提交的全部字段
+        EmployeeInf e = BenchmarkData.employees(1).get(0);
+        request = new MockHttpServletRequest("POST", "/hr-system/employees/save");
+        request.setContextPath("/hr-system");
+        request.addParameter("empName", e.getEmpName());
+        request.addParameter("empCardId", e.getEmpCardId());
+        request.addParameter("empDeptIdInput", String.valueOf(e.getDepartment().getDeptId()));
+        request.addParameter("empJobIdInput", String.valueOf(e.getJob().getJobId()));
+        request.addParameter("empAddress", e.getEmpAddress());
+        request.addParameter("empPhone", e.getEmpPhone());
+        request.addParameter("empTel", e.getEmpTel());
+        request.addParameter("empPostCode", e.getEmpPostCode());
+        request.addParameter("empQq", e.getEmpQq());
+        request.addParameter("empEmail", e.getEmpEmail());
+        request.addParameter("empSex", String.valueOf(e.getEmpSex()));
+        request.addParameter("empParty", e.getEmpParty());
+        request.addParameter("empBirthDate", new SimpleDateFormat("yyyy-MM-dd").format(e.getEmpBirth()));
+        request.addParameter("empRace", e.getEmpRace());
+        request.addParameter("empEdu", e.getEmpEdu());
+        request.addParameter("empSpeciality", e.getEmpSpeciality());
+        request.addParameter("empHobby", e.getEmpHobby());
+        request.addParameter("empRemark", "备注");
+
+        EmployeeInf bound = bind();
+        if (!e.getEmpName().equals(bound.getEmpName()) || !e.getEmpBirth().equals(bound.getEmpBirth())
+                || !e.getDepartment().getDeptId().equals(bound.getEmpDeptIdInput())) {
+            throw new IllegalStateException("Form binding produced unexpected result: " + bound);
+        }
+    }
+
+    @Benchmark
+    public EmployeeInf bind() {
+        EmployeeInf employee = new EmployeeInf();
+        ExtendedServletRequestDataBinder binder = new ExtendedServletRequestDataBinder(employee, "employee");
+        bindingInitializer.initBinder(binder);
+        binder.bind(request);
+        if (binder.getBindingResult().hasErrors()) {
+            throw new IllegalStateException(binder.getBindingResult().toString());
+        }
+        // @RequestParam("empBirthDate") @DateTimeFormat(pattern = "yyyy-MM-dd") Date empBirthDate
+        ExtendedServletRequestDataBinder paramBinder = new ExtendedServletRequestDataBinder(null, "empBirthDate");
+        bindingInitializer.initBinder(paramBinder);
+        employee.setEmpBirth(paramBinder.convertIfNecessary(request.getParameter("empBirthDate"), Date.class, birthDateParameter));
+        return employee;
+    }
+}
@@ -0,0 +1,262 @@
+package org.example.hr.benchmark;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 对运行中的应用做闭环压测
+ * concurrency 个工作线程各自循环：按比例随机选择一种操作，发出请求、读完响应后立即发下一个 (无思考时间)。
+ * 预热阶段的请求不计入结果，测量阶段结束后按操作输出吞吐量、延迟分位数和错误数。
+ * <ul>
+ *     <li>list —— 员工列表首页，部分请求带游标翻到随机位置</li>
+ *     <li>search —— 按部门、部门+性别、岗位+性别或姓氏搜索</li>
+ *     <li>edit —— 打开随机员工的编辑页</li>
+ *     <li>save —— 提交随机员工的编辑表单 (POST /employees/update/{id}，不带版本号，重定向视为成功)</li>
+ * </ul>
+ * 参数通过系统属性调整：hr.load.base-url、hr.load.concurrency、hr.load.warmup-seconds、hr.load.duration-seconds、
+ * hr.load.mix (各操作的比例)、hr.load.max-emp-id (随机员工ID的上限，与 DataGenerator 输出的 emp_id 范围一致)、
+ * hr.load.departments、hr.load.jobs。
+ * <p>
+ * 运行: mvn -f benchmarks/pom.xml compile exec:java -Dexec.mainClass=org.example.hr.benchmark.LoadDriver -Dhr.load.mix=list=60,search=30,edit=8,save=2
+ */
+public class LoadDriver {
+
+    private static final String BASE_URL = System.getProperty("hr.load.base-url", "http://localhost:8088/hr-system");
+    private static final int CONCURRENCY = Integer.getInteger("hr.load.concurrency", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("hr.load.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("hr.load.duration-seconds", 60);
+    private static final String MIX = System.getProperty("hr.load.mix", "list=50,search=30,edit=15,save=5");
+    private static final int MAX_EMP_ID = Integer.getInteger("hr.load.max-emp-id", 1_000_000);
+    private static final int DEPARTMENTS = Integer.getInteger("hr.load.departments", 12);
+    private static final int JOBS = Integer.getInteger("hr.load.jobs", 9);
+
+    private static final String[] SURNAMES = {"王", "李", "张", "刘", "陈", "杨", "黄", "赵"};
+    private static final String[] EDUCATIONS = {"大专", "本科", "硕士", "博士"};
+
+    enum Operation {
+        LIST, SEARCH, EDIT, SAVE
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    private final Operation[] operations;
+    private final double[] cumulativeWeights;
+
+    private LoadDriver(Map<Operation, Integer> mix) {
+        operations = mix.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new double[operations.length];
+        double total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum / total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<Operation, Integer> mix = parseMix(MIX);
+        System.out.printf("base-url=%s concurrency=%d warmup=%ds duration=%ds mix=%s max-emp-id=%d%n",
+                BASE_URL, CONCURRENCY, WARMUP_SECONDS, DURATION_SECONDS, mix, MAX_EMP_ID);
+        new LoadDriver(mix).run();
+    }
+
+    private void run() throws Exception {
+        long measureStart = System.nanoTime() + Duration.ofSeconds(WARMUP_SECONDS).toNanos();
+        long measureEnd = measureStart + Duration.ofSeconds(DURATION_SECONDS).toNanos();
+        List<Recorder> recorders = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                Recorder recorder = new Recorder();
+                recorders.add(recorder);
+                executor.execute(() -> work(recorder, measureStart, measureEnd));
+            }
+        }
+        report(recorders, (measureEnd - measureStart) / 1e9);
+    }
+
+    private void work(Recorder recorder, long measureStart, long measureEnd) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < measureEnd) {
+            Operation operation = pick(random);
+            int status;
+            try {
+                status = client.send(request(operation, random), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                status = -1; // 连接失败、超时
+            }
+            long end = System.nanoTime();
+            if (now >= measureStart && end <= measureEnd) {
+                recorder.record(operation, end - now, status);
+            }
+        }
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < operations.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest request(Operation operation, ThreadLocalRandom random) {
+        return switch (operation) {
+            case LIST -> get(random.nextInt(10) < 7 ? "/employees/list"
+                    : "/employees/list?after=" + random.nextInt(1, MAX_EMP_ID));
+            case SEARCH -> get("/employees/list?" + switch (random.nextInt(4)) {
+                case 0 -> "deptId=" + random.nextInt(1, DEPARTMENTS + 1);
+                case 1 -> "deptId=" + random.nextInt(1, DEPARTMENTS + 1) + "&empSex=" + random.nextInt(1, 3);
+                case 2 -> "jobId=" + random.nextInt(1, JOBS + 1) + "&empSex=" + random.nextInt(1, 3);
+                default -> "empName=" + encode(SURNAMES[random.nextInt(SURNAMES.length)]);
+            });
+            case EDIT -> get("/employees/edit/" + random.nextInt(1, MAX_EMP_ID + 1));
+            case SAVE -> post("/employees/update/" + random.nextInt(1, MAX_EMP_ID + 1), saveForm(random));
+        };
+    }
+
+    private static Map<String, String> saveForm(ThreadLocalRandom random) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("empName", SURNAMES[random.nextInt(SURNAMES.length)] + "测试");
+        form.put("empCardId", String.format("%010d", random.nextInt(1_000_000_000)));
+        form.put("empDeptIdInput", String.valueOf(random.nextInt(1, DEPARTMENTS + 1)));
+        form.put("empJobIdInput", String.valueOf(random.nextInt(1, JOBS + 1)));
+        form.put("empAddress", "广州天河" + random.nextInt(1, 1000) + "号");
+        form.put("empPhone", String.format("13%09d", random.nextInt(1_000_000_000)));
+        form.put("empSex", String.valueOf(random.nextInt(1, 3)));
+        form.put("empEdu", EDUCATIONS[random.nextInt(EDUCATIONS.length)]);
+        form.put("empBirthDate", String.format("%d-%02d-%02d", random.nextInt(1965, 2005), random.nextInt(1, 13), random.nextInt(1, 29)));
+        form.put("empRemark", "压测修改");
+        return form;
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest post(String path, Map<String, String> form) {
+        StringBuilder body = new StringBuilder();
+        form.forEach((name, value) -> body.append(body.isEmpty() ? "" : "&").append(name).append('=').append(encode(value)));
+        return HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("hr.load.mix has no operation with a positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    private static void report(List<Recorder> recorders, double seconds) {
+        System.out.printf("%-8s %9s %10s %9s %9s %9s %9s %9s %7s%n",
+                "op", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        long[] all = new long[0];
+        int allErrors = 0;
+        Map<Integer, Integer> errorStatuses = new TreeMap<>();
+        for (Operation operation : Operation.values()) {
+            long[] latencies = new long[0];
+            int errors = 0;
+            for (Recorder recorder : recorders) {
+                latencies = concat(latencies, recorder.latencies(operation));
+                errors += recorder.errors[operation.ordinal()];
+            }
+            if (latencies.length > 0) {
+                print(operation.name().toLowerCase(), latencies, errors, seconds);
+                all = concat(all, latencies);
+                allErrors += errors;
+            }
+        }
+        if (all.length > 0) {
+            print("total", all, allErrors, seconds);
+        }
+        for (Recorder recorder : recorders) {
+            recorder.errorStatuses.forEach((status, count) -> errorStatuses.merge(status, count, Integer::sum));
+        }
+        if (!errorStatuses.isEmpty()) {
+            System.out.println("error statuses (-1 = connection error or timeout): " + errorStatuses);
+        }
+    }
+
+    private static void print(String name, long[] latencies, int errors, double seconds) {
+        Arrays.sort(latencies);
+        System.out.printf("%-8s %9d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n",
+                name, latencies.length, latencies.length / seconds, millis(latencies, 0.50), millis(latencies, 0.90),
+                millis(latencies, 0.99), millis(latencies, 0.999), latencies[latencies.length - 1] / 1e6, errors);
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /**
+     * 单个工作线程的测量结果 (只由该线程写入，线程池关闭后汇总)
+     */
+    private static final class Recorder {
+
+        private final long[][] latencies = new long[Operation.values().length][1024];
+        private final int[] counts = new int[Operation.values().length];
+        private final int[] errors = new int[Operation.values().length];
+        private final Map<Integer, Integer> errorStatuses = new TreeMap<>();
+
+        void record(Operation operation, long latencyNanos, int status) {
+            int index = operation.ordinal();
+            if (counts[index] == latencies[index].length) {
+                latencies[index] = Arrays.copyOf(latencies[index], counts[index] * 2);
+            }
+            latencies[index][counts[index]++] = latencyNanos;
+            if (status < 200 || status >= 400) {
+                errors[index]++;
+                errorStatuses.merge(status, 1, Integer::sum);
+            }
+        }
+
+        long[] latencies(Operation operation) {
+            return Arrays.copyOf(latencies[operation.ordinal()], counts[operation.ordinal()]);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.hr.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * 不启动 Spring 容器，直接用主工程的 mapper/*.xml 构建 MyBatis 配置
+ * 配置项与 application.properties 中的 mybatis.* 一致 (类型别名包、下划线转驼峰)；
+ * 不注册 StatementMetricsInterceptor，测得的是 MyBatis 本身的开销。
+ */
+final class MyBatisSupport {
+
+    private MyBatisSupport() {
+    }
+
+    /**
+     * 与生产配置 mybatis.configuration-properties.employeeDetailsResultMap 一致的员工详情结果映射
+     */
+    static final String DEFAULT_DETAILS_RESULT_MAP = "EmployeeWithInternedDetailsResultMap";
+
+    /**
+     * @param dataSource 为 null 时只解析映射文件，用于不访问数据库的动态 SQL 基准
+     */
+    static Configuration configuration(DataSource dataSource) throws IOException {
+        return configuration(dataSource, DEFAULT_DETAILS_RESULT_MAP);
+    }
+
+    /**
+     * @param detailsResultMap 员工详情语句使用的 ResultMap (EmployeeWithDetailsResultMap 或 EmployeeWithInternedDetailsResultMap)
+     */
+    static Configuration configuration(DataSource dataSource, String detailsResultMap) throws IOException {
+        Configuration configuration = dataSource == null ? new Configuration()
+                : new Configuration(new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeAliasRegistry().registerAliases("org.example.hr.pojo");
+        Properties variables = new Properties();
+        // 生产配置是 MySQL 专用的 Integer.MIN_VALUE (逐行流式读取)，H2 不接受负数
+        variables.setProperty("exportFetchSize", "1000");
+        variables.setProperty("referenceCacheMaximumSize", "1000");
+        variables.setProperty("referenceCacheExpireAfterWrite", "10m");
+        variables.setProperty("employeeDetailsResultMap", detailsResultMap);
+        configuration.setVariables(variables);
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources("classpath*:mapper/*.xml")) {
+            try (InputStream in = resource.getInputStream()) {
+                new XMLMapperBuilder(in, configuration, resource.toString(), configuration.getSqlFragments()).parse();
+            }
+        }
+        return configuration;
+    }
+
+    static SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws IOException {
+        return new SqlSessionFactoryBuilder().build(configuration(dataSource));
+    }
+
+    static SqlSessionFactory sqlSessionFactory(DataSource dataSource, String detailsResultMap) throws IOException {
+        return new SqlSessionFactoryBuilder().build(configuration(dataSource, detailsResultMap));
+    }
+
+    /**
+     * @return 名称唯一的 H2 内存库 (MySQL 兼容模式) 连接池
+     */
+    static HikariDataSource h2DataSource(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.hr.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.example.hr.mapper.EmployeeInfMapper;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.EmployeeListItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 结果映射基准 (H2 内存库)
+ * <ul>
+ *     <li>withDetails —— findAllWithDetails，mapping=nested 为 EmployeeWithDetailsResultMap 嵌套映射 (每行新建部门、岗位对象)，
+ *     mapping=interned 为 EmployeeWithInternedDetailsResultMap (部门、岗位映射为共享实例)；配合 -prof gc 对比 gc.alloc.rate.norm</li>
+ *     <li>listProjection —— findListByCriteria，列表页使用的 EmployeeListItemResultMap 扁平投影</li>
+ *     <li>jdbcBaseline —— 用 JDBC 执行与 withDetails 相同的 SQL 并逐列读取，不创建对象；与 withDetails 的差值即映射开销</li>
+ * </ul>
+ * 运行: mvn -f benchmarks/pom.xml compile exec:exec@jmh -Djmh.args="ResultMappingBenchmark -prof gc"
+ * <p>
+ * 10000 行、-prof gc 的一次结果 (每次调用的分配量 gc.alloc.rate.norm / 平均耗时)，共享部门、岗位实例并去掉嵌套映射的行键后
+ * 分配量减少约三分之二：
+ * <pre>
+ * withDetails  mapping=nested    54,375,054 B/op  108,583 us/op
+ * withDetails  mapping=interned  18,748,414 B/op   62,093 us/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResultMappingBenchmark {
+
+    private static final String FIND_ALL_WITH_DETAILS = "org.example.hr.mapper.EmployeeInfMapper.findAllWithDetails";
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    private HikariDataSource dataSource;
+    private SqlSessionFactory sqlSessionFactory;
+    private String withDetailsSql;
+    private Map<String, Object> listParams;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = MyBatisSupport.h2DataSource("result-mapping-" + rows);
+        BenchmarkData.load(dataSource, rows);
+        sqlSessionFactory = MyBatisSupport.sqlSessionFactory(dataSource);
+        withDetailsSql = sqlSessionFactory.getConfiguration().getMappedStatement(FIND_ALL_WITH_DETAILS).getBoundSql(null).getSql();
+        listParams = new HashMap<>();
+        listParams.put("limit", rows);
+
+        if (listProjection().size() != rows) {
+            throw new IllegalStateException("findListByCriteria returned unexpected rows");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    /**
+     * 员工详情的结果映射方式，只用于 withDetails
+     */
+    @State(Scope.Benchmark)
+    public static class Details {
+
+        @Param({"nested", "interned"})
+        public String mapping;
+
+        private SqlSessionFactory sqlSessionFactory;
+
+        @Setup(Level.Trial)
+        public void setUp(ResultMappingBenchmark benchmark) throws Exception {
+            String resultMap = "nested".equals(mapping) ? "EmployeeWithDetailsResultMap" : "EmployeeWithInternedDetailsResultMap";
+            sqlSessionFactory = MyBatisSupport.sqlSessionFactory(benchmark.dataSource, resultMap);
+            List<EmployeeInf> employees = withDetails(sqlSessionFactory);
+            if (employees.size() != benchmark.rows || employees.get(0).getDepartment().getDeptName() == null) {
+                throw new IllegalStateException("findAllWithDetails returned unexpected rows: " + employees.size());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeInf> withDetails(Details details) {
+        return withDetails(details.sqlSessionFactory);
+    }
+
+    private static List<EmployeeInf> withDetails(SqlSessionFactory sqlSessionFactory) {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            return session.getMapper(EmployeeInfMapper.class).findAllWithDetails();
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeListItem> listProjection() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            return session.getMapper(EmployeeInfMapper.class).findListByCriteria(listParams);
+        }
+    }
+
+    @Benchmark
+    public void jdbcBaseline(Blackhole blackhole) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(withDetailsSql);
+             ResultSet rs = statement.executeQuery()) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columns = metaData.getColumnCount();
+            while (rs.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    blackhole.consume(rs.getObject(i));
+                }
+            }
+        }
+    }
+}
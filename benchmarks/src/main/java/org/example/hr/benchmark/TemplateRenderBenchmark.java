@@ -0,0 +1,158 @@
+package org.example.hr.benchmark;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.example.hr.pojo.EmployeeListItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * employees/employee-list.html 的渲染基准
+ * 与应用相同的 SpringTemplateEngine + ThymeleafViewResolver (模板开启缓存，与生产一致)，
+ * 模型属性与 EmployeeInfController.listEmployees 相同，列表行数为 rows。
+ * 输出写入只计数的 Writer，不测量网络和缓冲区拷贝。
+ * <p>
+ * 列表页正常每页只有几十行，10k/100k 行用于观察每行渲染成本是否线性、是否有随行数放大的开销。
+ * 运行: mvn -f benchmarks/pom.xml compile exec:exec@jmh -Djmh.args="TemplateRenderBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TemplateRenderBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    private MockServletContext servletContext;
+    private View view;
+    private Map<String, Object> model;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        servletContext = new MockServletContext();
+        GenericWebApplicationContext applicationContext = new GenericWebApplicationContext(servletContext);
+        applicationContext.refresh();
+        servletContext.setAttribute(WebApplicationContext.ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+
+        // 与 application.properties 中的 spring.thymeleaf.* 一致，只是打开模板缓存
+        SpringResourceTemplateResolver templateResolver = new SpringResourceTemplateResolver();
+        templateResolver.setApplicationContext(applicationContext);
+        templateResolver.setPrefix("classpath:/templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateResolver.setCacheable(true);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        ThymeleafViewResolver viewResolver = new ThymeleafViewResolver();
+        viewResolver.setApplicationContext(applicationContext);
+        viewResolver.setTemplateEngine(templateEngine);
+        viewResolver.setCharacterEncoding("UTF-8");
+        view = viewResolver.resolveViewName("employees/employee-list", Locale.SIMPLIFIED_CHINESE);
+
+        List<EmployeeListItem> employees = BenchmarkData.listItems(rows);
+        model = new HashMap<>();
+        model.put("employees", employees);
+        model.put("nextPageLink", "/employees/list?after=" + employees.get(employees.size() - 1).getEmpId() + "&size=" + rows);
+        model.put("exportCsvLink", "/employees/export?format=csv");
+        model.put("exportXlsxLink", "/employees/export?format=xlsx");
+        model.put("pageTitle", "员工列表");
+        model.put("searchParams", new HashMap<String, Object>());
+        model.put("departments", BenchmarkData.departments());
+        model.put("jobs", BenchmarkData.jobs());
+
+        if (render() < rows * 100L) {
+            throw new IllegalStateException("employee-list rendered less output than expected");
+        }
+    }
+
+    /**
+     * @return 输出的字符数
+     */
+    @Benchmark
+    public long render() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/hr-system/employees/list");
+        request.setContextPath("/hr-system");
+        CountingResponse response = new CountingResponse(new MockHttpServletResponse());
+        view.render(model, request, response);
+        response.getWriter().flush();
+        return response.counter.count;
+    }
+
+    /**
+     * 把模板输出写入 {@link CountingWriter} 的响应
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final CountingWriter counter = new CountingWriter();
+        private final PrintWriter writer = new PrintWriter(counter);
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            return writer;
+        }
+    }
+
+    private static final class CountingWriter extends Writer {
+
+        private long count;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(String value, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.hr.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.hr.datasource.ConnectionLimitingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 平台线程与虚拟线程两种执行模式在高并发下的对比
+ * 模拟的请求：先做一段非数据库的阻塞操作 (模板渲染、外部调用等)，再从连接池借连接执行一条 SQL 并持有连接一段固定时间。
+ * 闭环压测：同时保持 concurrency 个在途请求，共执行 requests 个请求，比较以下三种模式：
+ * <ul>
+ *     <li>platform —— 与 Tomcat 默认配置相同的 200 个平台线程，直接使用连接池</li>
+ *     <li>virtual —— 每个请求一个虚拟线程，直接使用连接池</li>
+ *     <li>virtual+limiter —— 每个请求一个虚拟线程，连接池前面加 {@link ConnectionLimitingDataSource}</li>
+ * </ul>
+ * 请求延迟从提交开始计时 (包含在线程池中排队的时间)。参数通过系统属性调整：
+ * hr.bench.requests、hr.bench.concurrency、hr.bench.pool-size、hr.bench.platform-threads、
+ * hr.bench.db-millis、hr.bench.other-millis。
+ * <p>
+ * 运行: mvn -f benchmarks/pom.xml compile exec:java -Dexec.mainClass=org.example.hr.benchmark.VirtualThreadBenchmark
+ */
+public class VirtualThreadBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("hr.bench.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("hr.bench.concurrency", 2_000);
+    private static final int POOL_SIZE = Integer.getInteger("hr.bench.pool-size", 10);
+    private static final int PLATFORM_THREADS = Integer.getInteger("hr.bench.platform-threads", 200);
+    private static final int DB_MILLIS = Integer.getInteger("hr.bench.db-millis", 1);
+    private static final int OTHER_MILLIS = Integer.getInteger("hr.bench.other-millis", 50);
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("requests=%d concurrency=%d pool-size=%d platform-threads=%d db=%dms other=%dms%n",
+                REQUESTS, CONCURRENCY, POOL_SIZE, PLATFORM_THREADS, DB_MILLIS, OTHER_MILLIS);
+        try (HikariDataSource pool = createPool()) {
+            DataSource limited = new ConnectionLimitingDataSource(pool, "bench", POOL_SIZE,
+                    Duration.ofSeconds(30), new SimpleMeterRegistry());
+            // 预热一轮，结果不计入
+            run("warmup", () -> Executors.newFixedThreadPool(PLATFORM_THREADS), pool, REQUESTS / 10, false);
+            run("platform", () -> Executors.newFixedThreadPool(PLATFORM_THREADS), pool, REQUESTS, true);
+            run("virtual", Executors::newVirtualThreadPerTaskExecutor, pool, REQUESTS, true);
+            run("virtual+limiter", Executors::newVirtualThreadPerTaskExecutor, limited, REQUESTS, true);
+        }
+    }
+
+    private static HikariDataSource createPool() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("bench");
+        pool.setJdbcUrl("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(POOL_SIZE);
+        pool.setMinimumIdle(POOL_SIZE);
+        pool.setConnectionTimeout(30_000);
+        return pool;
+    }
+
+    private static void run(String mode, ExecutorFactory executorFactory, DataSource dataSource,
+                            int requests, boolean report) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        CountDownLatch done = new CountDownLatch(requests);
+        long start = System.nanoTime();
+        try (ExecutorService executor = executorFactory.create()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                int index = i;
+                long submitted = System.nanoTime();
+                executor.execute(() -> {
+                    try {
+                        handleRequest(dataSource);
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - submitted;
+                        inFlight.release();
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (report) {
+            Arrays.sort(latencies);
+            System.out.printf("%-16s throughput %8.0f req/s  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms  errors %d%n",
+                    mode, requests / (elapsed / 1e9), millis(latencies, 0.50), millis(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1e6, errors.get());
+        }
+    }
+
+    private static void handleRequest(DataSource dataSource) throws Exception {
+        Thread.sleep(OTHER_MILLIS);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+            statement.setInt(1, DB_MILLIS);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+            }
+            // 持有连接期间模拟 SQL 在数据库端的耗时 (不在 H2 内部睡眠，避免驱动内部的锁影响虚拟线程)
+            Thread.sleep(DB_MILLIS);
+        }
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface ExecutorFactory {
+        ExecutorService create();
+    }
+}
@@ -0,0 +1,51 @@
+-- 基准测试使用的 H2 表结构 (MODE=MySQL)，列定义与 hr_db.sql (及 db/migration 迁移脚本) 中的 dept_inf、job_inf、employee_inf 保持一致
+DROP TABLE IF EXISTS employee_inf;
+DROP TABLE IF EXISTS dept_inf;
+DROP TABLE IF EXISTS job_inf;
+
+CREATE TABLE dept_inf (
+  dept_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  dept_name VARCHAR(50) NOT NULL,
+  dept_remark VARCHAR(300) NOT NULL,
+  version INT NOT NULL DEFAULT 0,
+  CONSTRAINT dept_name UNIQUE (dept_name)
+);
+
+CREATE TABLE job_inf (
+  job_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  job_name VARCHAR(50) NOT NULL,
+  job_remark VARCHAR(300) NOT NULL,
+  version INT NOT NULL DEFAULT 0,
+  CONSTRAINT job_name UNIQUE (job_name)
+);
+
+CREATE TABLE employee_inf (
+  emp_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  emp_dept_id INT DEFAULT NULL,
+  emp_job_id INT DEFAULT NULL,
+  emp_name VARCHAR(20) NOT NULL,
+  emp_card_id CHAR(10) NOT NULL,
+  emp_address VARCHAR(50) NOT NULL,
+  emp_post_code CHAR(6) DEFAULT NULL,
+  emp_tel VARCHAR(16) DEFAULT NULL,
+  emp_phone CHAR(11) DEFAULT NULL,
+  emp_qq VARCHAR(16) DEFAULT NULL,
+  emp_email VARCHAR(16) DEFAULT NULL,
+  emp_sex INT DEFAULT 1,
+  emp_party VARCHAR(16) DEFAULT NULL,
+  emp_birth DATETIME DEFAULT NULL,
+  emp_race VARCHAR(16) DEFAULT '汉族',
+  emp_edu VARCHAR(16) DEFAULT NULL,
+  emp_speciality VARCHAR(16) DEFAULT NULL,
+  emp_hobby VARCHAR(100) DEFAULT NULL,
+  emp_remark VARCHAR(500) DEFAULT NULL,
+  emp_create_date DATETIME DEFAULT NULL,
+  version INT NOT NULL DEFAULT 0,
+  CONSTRAINT employee_inf_ibfk_1 FOREIGN KEY (emp_dept_id) REFERENCES dept_inf (dept_id),
+  CONSTRAINT employee_inf_ibfk_2 FOREIGN KEY (emp_job_id) REFERENCES job_inf (job_id)
+);
+-- 与 db/migration/V4__employee_search_indexes.sql 一致
+CREATE INDEX idx_emp_dept_list ON employee_inf (emp_dept_id, emp_id, emp_sex, emp_job_id, emp_name, emp_phone, emp_card_id, emp_create_date);
+CREATE INDEX idx_emp_job_list ON employee_inf (emp_job_id, emp_id, emp_sex, emp_dept_id, emp_name, emp_phone, emp_card_id, emp_create_date);
+CREATE INDEX idx_emp_phone ON employee_inf (emp_phone);
+CREATE INDEX idx_emp_card_id ON employee_inf (emp_card_id);
@@ -15,6 +15,9 @@ File Encoding         : 65001
 Date: 2025-05-06 10:46:03
 */
 
+-- 示例数据 (表结构相当于迁移版本 3)。表结构的后续修改 (索引等) 由应用启动时的 Flyway 迁移
+-- (src/main/resources/db/migration) 完成：导入后第一次启动会把库基线化为版本 1，再依次执行之后的脚本。
+
 SET FOREIGN_KEY_CHECKS=0;
 
 -- ----------------------------
@@ -25,6 +28,7 @@ CREATE TABLE `dept_inf` (
   `dept_id` int(11) NOT NULL AUTO_INCREMENT COMMENT '主键，自增',
   `dept_name` varchar(50) NOT NULL COMMENT '部门名称，唯一,非空',
   `dept_remark` varchar(300) NOT NULL COMMENT '部门介绍',
+  `version` int(11) NOT NULL DEFAULT '0' COMMENT '乐观锁版本号，每次更新加1',
   PRIMARY KEY (`dept_id`),
   UNIQUE KEY `dept_name` (`dept_name`)
 ) ENGINE=InnoDB AUTO_INCREMENT=12 DEFAULT CHARSET=utf8 COMMENT='部门信息表';
@@ -32,15 +36,15 @@ CREATE TABLE `dept_inf` (
 -- ----------------------------
 -- Records of dept_inf
 -- ----------------------------
-INSERT INTO `dept_inf` VALUES ('1', '技术部', '技术部');
-INSERT INTO `dept_inf` VALUES ('2', '运营部', '运营部');
-INSERT INTO `dept_inf` VALUES ('3', '财务部', '财务部');
-INSERT INTO `dept_inf` VALUES ('4', '总公办', '总公办');
-INSERT INTO `dept_inf` VALUES ('5', '市场部', '市场部');
-INSERT INTO `dept_inf` VALUES ('6', '学生部', '学生部');
-INSERT INTO `dept_inf` VALUES ('7', '教学部', '教学部');
-INSERT INTO `dept_inf` VALUES ('10', 'hello', 'world');
-INSERT INTO `dept_inf` VALUES ('11', '钢琴社', '爱好弹吉他的同学的社团');
+INSERT INTO `dept_inf` VALUES ('1', '技术部', '技术部', '0');
+INSERT INTO `dept_inf` VALUES ('2', '运营部', '运营部', '0');
+INSERT INTO `dept_inf` VALUES ('3', '财务部', '财务部', '0');
+INSERT INTO `dept_inf` VALUES ('4', '总公办', '总公办', '0');
+INSERT INTO `dept_inf` VALUES ('5', '市场部', '市场部', '0');
+INSERT INTO `dept_inf` VALUES ('6', '学生部', '学生部', '0');
+INSERT INTO `dept_inf` VALUES ('7', '教学部', '教学部', '0');
+INSERT INTO `dept_inf` VALUES ('10', 'hello', 'world', '0');
+INSERT INTO `dept_inf` VALUES ('11', '钢琴社', '爱好弹吉他的同学的社团', '0');
 
 -- ----------------------------
 -- Table structure for `document_inf`
@@ -93,6 +97,7 @@ CREATE TABLE `employee_inf` (
   `emp_hobby` varchar(100) DEFAULT NULL COMMENT '爱好',
   `emp_remark` varchar(500) DEFAULT NULL COMMENT '记录',
   `emp_create_date` datetime DEFAULT NULL COMMENT '创建时间',
+  `version` int(11) NOT NULL DEFAULT '0' COMMENT '乐观锁版本号，每次更新加1',
   PRIMARY KEY (`emp_id`),
   KEY `emp_dept_id` (`emp_dept_id`),
   KEY `emp_job_id` (`emp_job_id`),
@@ -103,9 +108,32 @@ CREATE TABLE `employee_inf` (
 -- ----------------------------
 -- Records of employee_inf
 -- ----------------------------
-INSERT INTO `employee_inf` VALUES ('1', '1', '8', '爱丽丝', '4328011988', '广州天河', '510000', '020-77777777', '13712345678', '36760066', '36760066@qq.com', '2', '党员', '1980-01-01 00:00:00', '满族', '本科', '美声', '唱歌', '四大天王', '2016-01-01 00:00:00');
-INSERT INTO `employee_inf` VALUES ('2', '2', '1', '杰克', '22623', '江苏南京', '210000', '025-77777777', '13712345671', '36760061', '36760061@qq.com', '1', '党员', '1980-02-01 00:00:00', '汉族', '本科', null, null, '无', '2016-07-15 00:00:00');
-INSERT INTO `employee_inf` VALUES ('3', '1', '2', '宝宝', '4328011983', '江苏徐州', '221000', '0516-87777777', '13712345675', '36760065', '36760065@qq.com', '1', '群众', '1980-06-01 00:00:00', '满族', '本科', '计算机', '唱歌', '麦霸', '2017-01-01 00:00:00');
+INSERT INTO `employee_inf` VALUES ('1', '1', '8', '爱丽丝', '4328011988', '广州天河', '510000', '020-77777777', '13712345678', '36760066', '36760066@qq.com', '2', '党员', '1980-01-01 00:00:00', '满族', '本科', '美声', '唱歌', '四大天王', '2016-01-01 00:00:00', '0');
+INSERT INTO `employee_inf` VALUES ('2', '2', '1', '杰克', '22623', '江苏南京', '210000', '025-77777777', '13712345671', '36760061', '36760061@qq.com', '1', '党员', '1980-02-01 00:00:00', '汉族', '本科', null, null, '无', '2016-07-15 00:00:00', '0');
+INSERT INTO `employee_inf` VALUES ('3', '1', '2', '宝宝', '4328011983', '江苏徐州', '221000', '0516-87777777', '13712345675', '36760065', '36760065@qq.com', '1', '群众', '1980-06-01 00:00:00', '满族', '本科', '计算机', '唱歌', '麦霸', '2017-01-01 00:00:00', '0');
+
+-- ----------------------------
+-- Table structure for `emp_headcount`
+-- ----------------------------
+DROP TABLE IF EXISTS `emp_headcount`;
+CREATE TABLE `emp_headcount` (
+  `dimension` varchar(8) NOT NULL COMMENT '统计维度 dept-部门，job-岗位，sex-性别，edu-学历',
+  `dim_key` varchar(32) NOT NULL COMMENT '维度取值 (部门ID、岗位ID、性别、学历)，未填写为空字符串',
+  `headcount` int(11) NOT NULL DEFAULT '0' COMMENT '员工人数',
+  PRIMARY KEY (`dimension`,`dim_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='员工人数汇总表';
+
+-- ----------------------------
+-- Records of emp_headcount (由员工的增删改维护，应用启动时与 employee_inf 对账)
+-- ----------------------------
+INSERT INTO `emp_headcount` VALUES ('dept', '1', '2');
+INSERT INTO `emp_headcount` VALUES ('dept', '2', '1');
+INSERT INTO `emp_headcount` VALUES ('edu', '本科', '3');
+INSERT INTO `emp_headcount` VALUES ('job', '1', '1');
+INSERT INTO `emp_headcount` VALUES ('job', '2', '1');
+INSERT INTO `emp_headcount` VALUES ('job', '8', '1');
+INSERT INTO `emp_headcount` VALUES ('sex', '1', '2');
+INSERT INTO `emp_headcount` VALUES ('sex', '2', '1');
 
 -- ----------------------------
 -- Table structure for `job_inf`
@@ -115,6 +143,7 @@ CREATE TABLE `job_inf` (
   `job_id` int(11) NOT NULL AUTO_INCREMENT COMMENT '主键，自增',
   `job_name` varchar(50) NOT NULL COMMENT '岗位名称，唯一,非空',
   `job_remark` varchar(300) NOT NULL COMMENT '岗位介绍',
+  `version` int(11) NOT NULL DEFAULT '0' COMMENT '乐观锁版本号，每次更新加1',
   PRIMARY KEY (`job_id`),
   UNIQUE KEY `job_name` (`job_name`)
 ) ENGINE=InnoDB AUTO_INCREMENT=10 DEFAULT CHARSET=utf8 COMMENT='岗位信息表';
@@ -122,15 +151,15 @@ CREATE TABLE `job_inf` (
 -- ----------------------------
 -- Records of job_inf
 -- ----------------------------
-INSERT INTO `job_inf` VALUES ('1', '职员', '职员');
-INSERT INTO `job_inf` VALUES ('2', 'Java开发工程师', 'Java开发工程师');
-INSERT INTO `job_inf` VALUES ('3', 'Java中级开发工程师', 'Java中级开发工程师');
-INSERT INTO `job_inf` VALUES ('4', 'Java高级开发工程师', 'Java高级开发工程师');
-INSERT INTO `job_inf` VALUES ('5', '系统管理员', '系统管理员');
-INSERT INTO `job_inf` VALUES ('6', '架构师', '架构师');
-INSERT INTO `job_inf` VALUES ('7', '主管', '主管');
-INSERT INTO `job_inf` VALUES ('8', '经理', '经理');
-INSERT INTO `job_inf` VALUES ('9', '总经理', '总经理');
+INSERT INTO `job_inf` VALUES ('1', '职员', '职员', '0');
+INSERT INTO `job_inf` VALUES ('2', 'Java开发工程师', 'Java开发工程师', '0');
+INSERT INTO `job_inf` VALUES ('3', 'Java中级开发工程师', 'Java中级开发工程师', '0');
+INSERT INTO `job_inf` VALUES ('4', 'Java高级开发工程师', 'Java高级开发工程师', '0');
+INSERT INTO `job_inf` VALUES ('5', '系统管理员', '系统管理员', '0');
+INSERT INTO `job_inf` VALUES ('6', '架构师', '架构师', '0');
+INSERT INTO `job_inf` VALUES ('7', '主管', '主管', '0');
+INSERT INTO `job_inf` VALUES ('8', '经理', '经理', '0');
+INSERT INTO `job_inf` VALUES ('9', '总经理', '总经理', '0');
 
 -- ----------------------------
 -- Table structure for `notice_inf`
@@ -9,11 +9,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 
 @SpringBootApplication
 @MapperScan("org.example.hr.mapper")
+@EnableScheduling // 人数汇总表的定时对账
 public class HrApplication {
 	private static final Logger logger = LoggerFactory.getLogger(HrApplication.class);
 	// 通过构造器注入 Environment
@@ -0,0 +1,125 @@
+package org.example.hr.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.ibatis.builder.InitializingObject;
+import org.apache.ibatis.cache.Cache;
+import org.example.hr.util.TransactionHooks;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于 Caffeine 的 MyBatis 二级缓存，用于部门、岗位等参考数据的 Mapper 命名空间
+ * 按条目数上限 (maximumSize) 淘汰，写入后超过 expireAfterWrite 过期，并记录命中率、淘汰数等统计。
+ * 在 Mapper XML 中声明：
+ * <pre>
+ * &lt;cache type="org.example.hr.cache.CaffeineMyBatisCache"&gt;
+ *     &lt;property name="maximumSize" value="${referenceCacheMaximumSize}"/&gt;
+ *     &lt;property name="expireAfterWrite" value="${referenceCacheExpireAfterWrite}"/&gt;
+ * &lt;/cache&gt;
+ * </pre>
+ * 自定义缓存类型只会被 MyBatis 包装一层 LoggingCache (不做序列化拷贝)，缓存中的对象在多个请求间共享，
+ * 与 {@link ReferenceDataCache} 一样，调用方不应修改查询结果。
+ * <p>
+ * 命名空间内的 insert/update/delete 会清空缓存。mybatis-spring 在事务提交前 (beforeCommit) 就清空，
+ * 此时其他线程仍可能读到未提交前的旧数据并重新放入缓存，所以提交后再清空一次 ({@link TransactionHooks#afterCommit(Runnable, int)})。
+ * 从库读取的旧数据等其他残留由 expireAfterWrite 兜底。
+ */
+public class CaffeineMyBatisCache implements Cache, InitializingObject {
+
+    /**
+     * 已创建的缓存 (按命名空间)，供指标绑定使用
+     */
+    private static final Map<String, CaffeineMyBatisCache> INSTANCES = new ConcurrentHashMap<>();
+
+    private final String id;
+    private long maximumSize = 1000;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
+
+    /**
+     * @param id 缓存ID (Mapper 命名空间)，由 MyBatis 传入
+     */
+    public CaffeineMyBatisCache(String id) {
+        this.id = id;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @param expireAfterWrite 过期时间，支持 10m、30s 这样的简写或 ISO-8601 格式
+     */
+    public void setExpireAfterWrite(String expireAfterWrite) {
+        this.expireAfterWrite = DurationStyle.detectAndParse(expireAfterWrite);
+    }
+
+    /**
+     * 设置完属性后由 MyBatis 调用
+     */
+    @Override
+    public void initialize() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        INSTANCES.put(id, this);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        // TransactionalCache 会为未命中的查询放入 null，Caffeine 不接受 null 值
+        if (value == null) {
+            cache.invalidate(key);
+        } else {
+            cache.put(key, value);
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        return cache.asMap().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+        // 先于其他提交回调执行：部门/岗位服务在提交后重新加载 ReferenceDataCache 时不会读到这里残留的旧数据
+        TransactionHooks.afterCommit(cache::invalidateAll, Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public int getSize() {
+        return (int) Math.min(cache.estimatedSize(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return 底层的 Caffeine 缓存 (用于指标绑定和统计)
+     */
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * @param id 缓存ID (Mapper 命名空间)
+     * @return 该命名空间最近创建的缓存，不存在或不是本类型时返回null
+     */
+    public static CaffeineMyBatisCache get(String id) {
+        return INSTANCES.get(id);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.hr.cache;
+
+import org.example.hr.pojo.DeptInf;
+
+import java.time.Duration;
+
+/**
+ * 联表查询中的部门映射为共享实例，读取 employeeWithDetailsColumns 中的 d_version、dept_name、d_dept_remark 列
+ */
+public class InternedDeptTypeHandler extends InterningTypeHandler<DeptInf> {
+
+    public InternedDeptTypeHandler() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_WRITE);
+    }
+
+    public InternedDeptTypeHandler(long maximumSize, Duration expireAfterWrite) {
+        super("d_version", "dept_name", "d_dept_remark", maximumSize, expireAfterWrite);
+    }
+
+    @Override
+    protected DeptInf create(int id, String name, String remark, int version) {
+        return new SharedDeptInf(id, name, remark, version);
+    }
+
+    @Override
+    protected Integer idOf(DeptInf dept) {
+        return dept.getDeptId();
+    }
+
+    @Override
+    protected int versionOf(DeptInf dept) {
+        return dept.getVersion();
+    }
+
+    /**
+     * 共享的部门实例，不允许修改 (需要修改时复制为新的 DeptInf)
+     */
+    private static final class SharedDeptInf extends DeptInf {
+
+        private SharedDeptInf(Integer deptId, String deptName, String deptRemark, Integer version) {
+            super(deptId, deptName, deptRemark, version);
+        }
+
+        @Override
+        public void setDeptId(Integer deptId) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setDeptName(String deptName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setDeptRemark(String deptRemark) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setVersion(Integer version) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Shared department instance is read-only");
+        }
+    }
+}
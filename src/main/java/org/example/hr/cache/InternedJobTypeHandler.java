@@ -0,0 +1,68 @@
+package org.example.hr.cache;
+
+import org.example.hr.pojo.JobInf;
+
+import java.time.Duration;
+
+/**
+ * 联表查询中的岗位映射为共享实例，读取 employeeWithDetailsColumns 中的 j_version、job_name、j_job_remark 列
+ */
+public class InternedJobTypeHandler extends InterningTypeHandler<JobInf> {
+
+    public InternedJobTypeHandler() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_WRITE);
+    }
+
+    public InternedJobTypeHandler(long maximumSize, Duration expireAfterWrite) {
+        super("j_version", "job_name", "j_job_remark", maximumSize, expireAfterWrite);
+    }
+
+    @Override
+    protected JobInf create(int id, String name, String remark, int version) {
+        return new SharedJobInf(id, name, remark, version);
+    }
+
+    @Override
+    protected Integer idOf(JobInf job) {
+        return job.getJobId();
+    }
+
+    @Override
+    protected int versionOf(JobInf job) {
+        return job.getVersion();
+    }
+
+    /**
+     * 共享的岗位实例，不允许修改 (需要修改时复制为新的 JobInf)
+     */
+    private static final class SharedJobInf extends JobInf {
+
+        private SharedJobInf(Integer jobId, String jobName, String jobRemark, Integer version) {
+            super(jobId, jobName, jobRemark, version);
+        }
+
+        @Override
+        public void setJobId(Integer jobId) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setJobName(String jobName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setJobRemark(String jobRemark) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setVersion(Integer version) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Shared job instance is read-only");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.hr.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * 把联表查询中关联的参考数据 (部门、岗位) 映射为共享的不可变实例
+ * 嵌套的 association 映射为每一行创建一个新的关联对象，十万名员工就有十万个内容相同的部门对象；
+ * 这里按主键为每个部门/岗位只保留一个实例，每行只读取主键和乐观锁版本号两个整数列，
+ * 版本号与已有实例一致时直接返回该实例，不再读取名称等字符串列，也不创建新对象。
+ * <p>
+ * 实例由 {@link #create} 创建为只读副本 (setter 抛出 UnsupportedOperationException)，在多个查询结果、多个请求间共享。
+ * 失效与部门/岗位的内存快照一致：MyBatisConfig 把处理器订阅到 {@link TableVersions}，
+ * Service 的写操作提交后递增表版本号时调用 {@link #invalidate()} 清空全部实例 (删除的部门/岗位也随之移除)；
+ * 实例数量和存活时间有上限 (应用中与参考数据缓存相同：referenceCacheMaximumSize、referenceCacheExpireAfterWrite)，
+ * 绕过 Service 直接修改数据库时最迟在存活时间到期后读到新数据。
+ * <p>
+ * 在 ResultMap 中用于关联属性，column 为关联表的主键列 (LEFT JOIN 没有匹配时为 NULL，映射为null)：
+ * <pre>
+ * &lt;result property="department" column="d_dept_id" javaType="DeptInf" typeHandler="org.example.hr.cache.InternedDeptTypeHandler"/&gt;
+ * </pre>
+ * 应用中由 MyBatisConfig 创建并按类名注册 (不作为 DeptInf/JobInf 的默认处理器)；
+ * 没有注册时 (Mapper 切片测试、基准测试) MyBatis 用无参构造函数创建，使用默认上限，不随表版本号失效。
+ * 用于存储过程的 OUT 参数时，从 columnIndex 开始依次为主键、版本号、名称、说明。
+ * 作为参数使用时写入关联对象的主键。
+ * @param <T> 参考数据的实体类型
+ */
+public abstract class InterningTypeHandler<T> extends BaseTypeHandler<T> {
+
+    static final long DEFAULT_MAXIMUM_SIZE = 1000;
+    static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private final String versionColumn;
+    private final String nameColumn;
+    private final String remarkColumn;
+    private final Cache<Integer, T> instances;
+
+    /**
+     * @param versionColumn 关联表乐观锁版本号在结果集中的列名
+     * @param nameColumn 名称在结果集中的列名
+     * @param remarkColumn 说明在结果集中的列名
+     * @param maximumSize 最多保留的实例数
+     * @param expireAfterWrite 实例的存活时间
+     */
+    protected InterningTypeHandler(String versionColumn, String nameColumn, String remarkColumn,
+                                   long maximumSize, Duration expireAfterWrite) {
+        this.versionColumn = versionColumn;
+        this.nameColumn = nameColumn;
+        this.remarkColumn = remarkColumn;
+        this.instances = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).build();
+    }
+
+    /**
+     * 创建一个只读实例 (只在首次遇到或版本号变化时调用)
+     */
+    protected abstract T create(int id, String name, String remark, int version);
+
+    protected abstract Integer idOf(T entity);
+
+    protected abstract int versionOf(T entity);
+
+    @Override
+    public T getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        int id = rs.getInt(columnName);
+        if (rs.wasNull()) {
+            return null;
+        }
+        int version = rs.getInt(versionColumn);
+        T current = lookup(id, version);
+        return current != null ? current : intern(create(id, rs.getString(nameColumn), rs.getString(remarkColumn), version));
+    }
+
+    @Override
+    public T getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return getNullableResult(rs, rs.getMetaData().getColumnLabel(columnIndex));
+    }
+
+    @Override
+    public T getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        int id = cs.getInt(columnIndex);
+        if (cs.wasNull()) {
+            return null;
+        }
+        int version = cs.getInt(columnIndex + 1);
+        T current = lookup(id, version);
+        return current != null ? current
+                : intern(create(id, cs.getString(columnIndex + 2), cs.getString(columnIndex + 3), version));
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, T parameter, JdbcType jdbcType) throws SQLException {
+        ps.setInt(i, idOf(parameter));
+    }
+
+    /**
+     * 丢弃全部实例，之后的查询重新读取 (关联表修改提交后调用)
+     */
+    public void invalidate() {
+        instances.invalidateAll();
+    }
+
+    /**
+     * @return 与结果集中的版本号一致的已有实例，没有时返回null
+     */
+    private T lookup(int id, int version) {
+        T existing = instances.getIfPresent(id);
+        return existing != null && versionOf(existing) == version ? existing : null;
+    }
+
+    private T intern(T loaded) {
+        int version = versionOf(loaded);
+        // 并发查询读到不同版本时保留版本号较大的实例 (例如从库上的查询读到了修改前的旧版本)
+        instances.asMap().merge(idOf(loaded), loaded, (existing, candidate) -> versionOf(existing) > version ? existing : candidate);
+        return loaded;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.hr.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 查询结果缓存，按表版本号 ({@link TableVersions}) 失效
+ * 每个条目带有它读取的各表在查询前的版本号，版本号是键的一部分：任何一张表被修改后版本号递增，
+ * 读取了这张表的条目就再也不会命中，没有读取它的条目不受影响。失效的条目不再被访问，
+ * 由 expireAfterAccess 和容量淘汰回收。
+ * <p>
+ * 容量按结果的总行数 (maxRows) 限制，单个结果超过 maxRows 时不缓存。以下情况直接查询，不读也不写缓存：
+ * 在事务中 (需要读到本事务的修改)。依赖的表刚刚被修改、从库可能尚未同步时只查询不写入缓存。
+ * 缓存的列表不可修改，其中的对象在多个请求间共享，调用方不应修改。
+ * 指标：cache.gets (result=hit/miss)、cache.evictions 等 (cache=employeeSearch)，以及命中率 hr.search.result-cache.hit-ratio。
+ */
+@Component
+public class QueryResultCache {
+
+    private static final String CACHE_NAME = "employeeSearch";
+
+    private final TableVersions tableVersions;
+    private final long maxRows;
+    private final Cache<Key, List<?>> cache; // maxRows 为0时不缓存，为null
+
+    public QueryResultCache(TableVersions tableVersions,
+                            MeterRegistry meterRegistry,
+                            @Value("${hr.search.result-cache.max-rows:50000}") long maxRows,
+                            @Value("${hr.search.result-cache.expire-after-access:5m}") Duration expireAfterAccess) {
+        this.tableVersions = tableVersions;
+        this.maxRows = maxRows;
+        if (maxRows <= 0) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Key key, List<?> rows) -> Math.max(1, rows.size()))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("hr.search.result-cache.hit-ratio", cache, c -> c.stats().hitRate())
+                .description("Hit ratio of the employee search result cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 从缓存取查询结果，未命中时执行查询并放入缓存
+     * @param statement 查询名称 (Mapper 语句ID)
+     * @param criteria 规范化后的查询条件 (键需要有确定的 equals/hashCode)
+     * @param loader 执行查询
+     * @param tables 查询读取的表 ({@link TableVersions} 中的常量)
+     * @return 查询结果 (不可修改)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String statement, Map<String, Object> criteria, Supplier<List<T>> loader, String... tables) {
+        if (cache == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        // 先读版本号再查询：查询期间有写入时条目带着旧版本号，不会在写入之后命中
+        List<Long> versions = new ArrayList<>(tables.length);
+        for (String table : tables) {
+            versions.add(tableVersions.get(table));
+        }
+        boolean settled = tableVersions.isSettled(tables);
+        Key key = new Key(statement, criteria, versions);
+        List<?> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (List<T>) cached;
+        }
+        List<T> rows = Collections.unmodifiableList(loader.get());
+        if (settled && rows.size() <= maxRows) {
+            cache.put(key, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * @return 当前缓存的条目数 (估算值)
+     */
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    private record Key(String statement, Map<String, Object> criteria, List<Long> versions) {
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.hr.cache;
+
+/**
+ * 参考数据缓存的统计信息
+ * @param name 缓存名称
+ * @param hits 命中次数 (直接由内存快照返回)
+ * @param misses 未命中次数 (需要从数据库加载快照)
+ * @param size 当前快照中的条目数，快照未加载时为0
+ */
+public record ReferenceCacheStats(String name, long hits, long misses, int size) {
+}
@@ -0,0 +1,130 @@
+package org.example.hr.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 参考数据 (部门、岗位等很少变化的小表) 的内存缓存
+ * 整张表以不可变快照的形式保存，读操作直接查快照；任何写操作提交后调用 {@link #invalidate()}
+ * 丢弃快照，下一次读取时重新整表加载。快照中的对象在多个请求间共享，调用方不应修改。
+ * @param <T> 实体类型
+ */
+public class ReferenceDataCache<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final String name;
+    private final Supplier<List<T>> loader;
+    private final Function<T, Integer> idFunction;
+    private final Function<T, String> nameFunction;
+
+    /**
+     * 当前快照；失效时替换为一个新的空快照，
+     * 加载完成后只有在期间没有再次失效的情况下才会安装新快照，避免旧数据覆盖失效标记
+     */
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>(Snapshot.stale());
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param name 缓存名称 (用于日志和统计)
+     * @param loader 整表加载方法
+     * @param idFunction 取主键
+     * @param nameFunction 取名称
+     */
+    public ReferenceDataCache(String name, Supplier<List<T>> loader,
+                              Function<T, Integer> idFunction, Function<T, String> nameFunction) {
+        this.name = name;
+        this.loader = loader;
+        this.idFunction = idFunction;
+        this.nameFunction = nameFunction;
+    }
+
+    /**
+     * @return 全部数据 (不可修改的列表，保持数据库返回的顺序)
+     */
+    public List<T> getAll() {
+        return current().all;
+    }
+
+    /**
+     * @return 指定主键的数据，不存在时返回null
+     */
+    public T getById(Integer id) {
+        return id == null ? null : current().byId.get(id);
+    }
+
+    /**
+     * @return 指定名称的数据，不存在时返回null
+     */
+    public T getByName(String entityName) {
+        return entityName == null ? null : current().byName.get(entityName);
+    }
+
+    /**
+     * 丢弃当前快照，下一次读取时重新加载
+     */
+    public void invalidate() {
+        snapshot.set(Snapshot.stale());
+        logger.debug("Reference cache '{}' invalidated", name);
+    }
+
+    public ReferenceCacheStats getStats() {
+        Snapshot<T> current = snapshot.get();
+        return new ReferenceCacheStats(name, hits.sum(), misses.sum(), current.isStale() ? 0 : current.all.size());
+    }
+
+    private Snapshot<T> current() {
+        Snapshot<T> current = snapshot.get();
+        if (!current.isStale()) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        Snapshot<T> loaded = load();
+        snapshot.compareAndSet(current, loaded);
+        return loaded;
+    }
+
+    private Snapshot<T> load() {
+        List<T> rows = loader.get();
+        Map<Integer, T> byId = new HashMap<>(rows.size() * 2);
+        Map<String, T> byName = new HashMap<>(rows.size() * 2);
+        for (T row : rows) {
+            byId.put(idFunction.apply(row), row);
+            byName.put(nameFunction.apply(row), row);
+        }
+        logger.debug("Reference cache '{}' loaded {} entries", name, rows.size());
+        return new Snapshot<>(List.copyOf(rows), Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName));
+    }
+
+    private static final class Snapshot<T> {
+
+        private final List<T> all;
+        private final Map<Integer, T> byId;
+        private final Map<String, T> byName;
+
+        private Snapshot(List<T> all, Map<Integer, T> byId, Map<String, T> byName) {
+            this.all = all;
+            this.byId = byId;
+            this.byName = byName;
+        }
+
+        private boolean isStale() {
+            return all == null;
+        }
+
+        private static <T> Snapshot<T> stale() {
+            return new Snapshot<>(null, null, null);
+        }
+    }
+}
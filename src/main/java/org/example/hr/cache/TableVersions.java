@@ -0,0 +1,146 @@
+package org.example.hr.cache;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.hr.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 表版本计数器，用于列表页的条件 GET (ETag / Last-Modified)
+ * 每张表一个单调递增的版本号，由 Service 的写方法在事务提交后递增 ({@link #bump(String)})。
+ * 列表页的 ETag 由页面依赖的各表版本号和规范化后的查询条件组成，版本号不变时页面内容不会变化，
+ * 浏览器带着相同的 If-None-Match 再次请求时直接返回 304，不查询数据库也不渲染模板。
+ * <p>
+ * 版本号在提交后递增、在查询之前读取，页面内容至少与 ETag 中的版本一样新。
+ * 版本号只保存在内存中，ETag 带有进程启动时间，重启后旧的 ETag 全部失效；
+ * 多实例部署时各实例只感知自己执行的写操作，需要会话粘滞或改为共享的版本存储。
+ * 开启读写分离时，写入后的 hr.datasource.read-your-writes-window 内从库可能还没有同步，这段时间不做条件 GET。
+ */
+@Component
+public class TableVersions {
+
+    public static final String EMPLOYEE = "employee_inf";
+    public static final String DEPT = "dept_inf";
+    public static final String JOB = "job_inf";
+    public static final String HEADCOUNT = "emp_headcount";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long startedAt = System.currentTimeMillis();
+    private final ConcurrentMap<String, Version> versions = new ConcurrentHashMap<>();
+    private final long settleMillis;
+
+    public TableVersions(@Value("${hr.datasource.replica.enabled:false}") boolean replicaEnabled,
+                         @Value("${hr.datasource.read-your-writes-window:0s}") Duration replicaLagWindow) {
+        this.settleMillis = replicaEnabled ? replicaLagWindow.toMillis() : 0;
+    }
+
+    /**
+     * 当前事务提交后递增表的版本号；没有活动事务时立即递增
+     * @param table 表名 (本类中的常量)
+     */
+    public void bump(String table) {
+        TransactionHooks.afterCommit(() -> version(table).bump());
+    }
+
+    /**
+     * 订阅表的修改：每次版本号递增 (事务提交后) 调用一次 listener，用于丢弃由该表派生的内存数据
+     * @param table 表名 (本类中的常量)
+     * @param listener 在递增版本号的线程上执行，应当很快返回
+     */
+    public void subscribe(String table, Runnable listener) {
+        version(table).listeners.add(listener);
+    }
+
+    /**
+     * @return 表的当前版本号 (进程启动时为0)
+     */
+    public long get(String table) {
+        return version(table).counter.get();
+    }
+
+    /**
+     * 检查请求是否可以返回 304
+     * 响应一律带上 Cache-Control: private, no-cache，浏览器每次都会带着 ETag 回来验证，不会直接使用过期的页面。
+     * 以下情况不做条件 GET，总是重新渲染：请求带有重定向传来的 Flash 提示消息，
+     * 或依赖的表刚刚被修改、从库可能尚未同步。
+     * @param request 当前请求
+     * @param variant 页面的变体 (规范化后的查询条件、分页游标等)，没有时传空字符串
+     * @param tables 页面依赖的表
+     * @return true 表示已设置 304 响应，Controller 应直接返回 null
+     */
+    public boolean checkNotModified(ServletWebRequest request, String variant, String... tables) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request.getRequest());
+        if (flash != null && !flash.isEmpty()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        long lastModified = startedAt;
+        StringBuilder etag = new StringBuilder("W/\"").append(epoch);
+        for (String table : tables) {
+            Version version = version(table);
+            long counter = version.counter.get();
+            long changedAt = version.changedAt;
+            if (now - changedAt < settleMillis) {
+                return false;
+            }
+            lastModified = Math.max(lastModified, changedAt);
+            etag.append('-').append(Long.toString(counter, 36));
+        }
+        if (!variant.isEmpty()) {
+            etag.append('-').append(Integer.toHexString(variant.hashCode()));
+        }
+        return request.checkNotModified(etag.append('"').toString(), lastModified);
+    }
+
+    /**
+     * @param tables 表名
+     * @return 这些表最近一次修改是否已超过从库同步窗口 (未开启读写分离时总是 true)，
+     *         为 false 时从库上读到的数据可能比版本号旧，不应缓存
+     */
+    public boolean isSettled(String... tables) {
+        long now = System.currentTimeMillis();
+        for (String table : tables) {
+            if (now - version(table).changedAt < settleMillis) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Version version(String table) {
+        return versions.computeIfAbsent(table, key -> new Version(startedAt));
+    }
+
+    private static final class Version {
+
+        private final AtomicLong counter = new AtomicLong();
+        private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+        private volatile long changedAt;
+
+        private Version(long changedAt) {
+            this.changedAt = changedAt;
+        }
+
+        private void bump() {
+            // 先记录修改时间再递增版本号：读到新版本号的请求一定也能看到新的修改时间
+            changedAt = System.currentTimeMillis();
+            counter.incrementAndGet();
+            listeners.forEach(Runnable::run);
+        }
+    }
+}
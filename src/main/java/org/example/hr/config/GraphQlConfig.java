@@ -0,0 +1,31 @@
+package org.example.hr.config;
+
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * GraphQL 查询的深度和复杂度上限 (Spring Boot 自动把 Instrumentation Bean 加入 GraphQL 执行过程)
+ * 超过上限的查询在执行前被拒绝，不会占用数据库连接。
+ * 复杂度按字段计数：带 first 参数的分页字段 (employees) 的子字段按每页条数计算，
+ * 一个请求中用别名多次查询 employees 时复杂度累加，限制了单个请求能发起的查询数和读取的行数。
+ */
+@Configuration
+public class GraphQlConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(@Value("${hr.graphql.max-depth:10}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${hr.graphql.max-complexity:3100}") int maxComplexity) {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, (environment, childComplexity) ->
+                environment.getArguments().get("first") instanceof Integer first
+                        ? 1 + Math.max(first, 1) * childComplexity
+                        : 1 + childComplexity);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.hr.config;
+
+import org.apache.ibatis.type.TypeHandlerRegistry;
+import org.example.hr.cache.InternedDeptTypeHandler;
+import org.example.hr.cache.InternedJobTypeHandler;
+import org.example.hr.cache.TableVersions;
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.JobInf;
+import org.mybatis.spring.boot.autoconfigure.ConfigurationCustomizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 注册共享部门/岗位实例的 MyBatis 类型处理器
+ * 处理器在解析映射文件之前按类名注册到 TypeHandlerRegistry，映射文件中 typeHandler="..." 取到这里创建的实例；
+ * 实例上限使用参考数据缓存的配置，并订阅 TableVersions，部门/岗位修改提交后清空共享实例。
+ * 不声明为 TypeHandler Bean：自动配置会把它们注册为 DeptInf/JobInf 的默认处理器，
+ * 部门/岗位的 resultType 查询会被当作单列值映射。
+ */
+@Configuration
+public class MyBatisConfig {
+
+    @Bean
+    public ConfigurationCustomizer internedReferenceTypeHandlers(
+            TableVersions tableVersions,
+            @Value("${mybatis.configuration-properties.referenceCacheMaximumSize:1000}") long maximumSize,
+            @Value("${mybatis.configuration-properties.referenceCacheExpireAfterWrite:10m}") Duration expireAfterWrite) {
+        InternedDeptTypeHandler deptHandler = new InternedDeptTypeHandler(maximumSize, expireAfterWrite);
+        InternedJobTypeHandler jobHandler = new InternedJobTypeHandler(maximumSize, expireAfterWrite);
+        tableVersions.subscribe(TableVersions.DEPT, deptHandler::invalidate);
+        tableVersions.subscribe(TableVersions.JOB, jobHandler::invalidate);
+        return configuration -> {
+            TypeHandlerRegistry registry = configuration.getTypeHandlerRegistry();
+            registry.register((Class<DeptInf>) null, null, deptHandler);
+            registry.register((Class<JobInf>) null, null, jobHandler);
+        };
+    }
+}
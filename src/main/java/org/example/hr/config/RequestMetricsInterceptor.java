@@ -0,0 +1,108 @@
+package org.example.hr.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 请求指标拦截器
+ * 按处理器 (Controller 方法) 记录：
+ * <ul>
+ *     <li>hr.http.requests —— 请求耗时 Timer，发布百分位直方图，可在 Prometheus 中计算 P95/P99</li>
+ *     <li>hr.http.responses —— 按状态码计数</li>
+ *     <li>hr.http.requests.active —— 正在处理中的请求数</li>
+ * </ul>
+ * 慢请求日志是可选的：hr.web.slow-request-threshold 大于0时，耗时超过阈值的请求才会记录一条 WARN 日志。
+ * 流式导出等异步请求在异步处理结束后的再次分派中统计，计时覆盖整个异步过程。
+ */
+@Component
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".START";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final ConcurrentMap<String, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry,
+                                     @Value("${hr.web.slow-request-threshold:0ms}") Duration slowRequestThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowRequestThreshold.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) == null) { // 异步请求的再次分派沿用第一次的开始时间
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            active(handlerName(handler)).incrementAndGet();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        long elapsed = System.nanoTime() - start;
+        String handlerName = handlerName(handler);
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+
+        active(handlerName).decrementAndGet();
+        Timer.builder("hr.http.requests")
+                .description("Request latency by handler")
+                .tags("handler", handlerName, "method", request.getMethod())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        Counter.builder("hr.http.responses")
+                .description("Responses by handler and status code")
+                .tags("handler", handlerName, "status", String.valueOf(status))
+                .register(meterRegistry)
+                .increment();
+
+        if (slowThresholdNanos > 0 && elapsed >= slowThresholdNanos) {
+            logger.warn("Slow request: {} {} handler={} status={} took {} ms",
+                    request.getMethod(), request.getRequestURI(), handlerName, status, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private AtomicInteger active(String handlerName) {
+        return activeRequests.computeIfAbsent(handlerName, name -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("hr.http.requests.active", counter, AtomicInteger::get)
+                    .description("Requests currently being handled")
+                    .tag("handler", name)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    /**
+     * @return 处理器名称，Controller 方法为 "类名.方法名"，其它处理器 (静态资源等) 为类名
+     */
+    private static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return handler.getClass().getSimpleName();
+    }
+}
@@ -1,33 +1,46 @@
 package org.example.hr.config;
 
+import org.example.hr.datasource.ReadYourWritesInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.format.datetime.DateFormatter;
-import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private static final Logger logger = LoggerFactory.getLogger(WebMvcConfig.class);
 
+    private final RequestMetricsInterceptor requestMetricsInterceptor;
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor; // 仅在开启读写分离时存在
+
+    public WebMvcConfig(RequestMetricsInterceptor requestMetricsInterceptor,
+                        ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor) {
+        this.requestMetricsInterceptor = requestMetricsInterceptor;
+        this.readYourWritesInterceptor = readYourWritesInterceptor;
+    }
+
     /**
      * 添加自定义拦截器
      * @param registry 拦截器注册表
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new LoggingInterceptor())
+        registry.addInterceptor(requestMetricsInterceptor)
                 .addPathPatterns("/**") // 拦截所有路径
                 .excludePathPatterns("/css/**", "/js/**", "/images/**", "/error"); // 排除静态资源和错误页
-        logger.info("LoggingInterceptor registered.");
+        logger.info("RequestMetricsInterceptor registered.");
+        readYourWritesInterceptor.ifAvailable(interceptor -> {
+            registry.addInterceptor(interceptor)
+                    .addPathPatterns("/**")
+                    .excludePathPatterns("/css/**", "/js/**", "/images/**", "/error");
+            logger.info("ReadYourWritesInterceptor registered.");
+        });
     }
 
     /**
@@ -54,36 +67,4 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
     }
-
-    /**
-     * 简单的日志拦截器示例
-     */
-    static class LoggingInterceptor implements HandlerInterceptor {
-        private static final Logger interceptorLogger = LoggerFactory.getLogger(LoggingInterceptor.class);
-
-        @Override
-        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-            long startTime = System.currentTimeMillis();
-            request.setAttribute("startTime", startTime);
-            interceptorLogger.info("Request URL::{}:: Start Time={}", request.getRequestURL(), System.currentTimeMillis());
-            return true; // 继续执行后续的拦截器和处理器
-        }
-
-        @Override
-        public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-            interceptorLogger.info("Request URL::{}:: Sent to Handler :: Current Time={}", request.getRequestURL(), System.currentTimeMillis());
-            // 可以在这里修改 ModelAndView
-        }
-
-        @Override
-        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-            long startTime = (Long) request.getAttribute("startTime");
-            long endTime = System.currentTimeMillis();
-            interceptorLogger.info("Request URL::{}:: End Time={}:: Time Taken={}",
-                    request.getRequestURL(), endTime, (endTime - startTime));
-            if (ex != null) {
-                interceptorLogger.error("Request URL::{}:: Exception occurred: {}", request.getRequestURL(), ex.getMessage());
-            }
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package org.example.hr.controller;
+
+import org.example.hr.monitor.SlowQueryLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.time.Duration;
+
+/**
+ * 运维管理页面
+ */
+@Controller
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final SlowQueryLog slowQueryLog;
+    private final Duration slowQueryThreshold;
+
+    @Autowired
+    public AdminController(SlowQueryLog slowQueryLog,
+                           @Value("${hr.mybatis.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        this.slowQueryLog = slowQueryLog;
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    /**
+     * 显示最近捕获的慢查询
+     */
+    @GetMapping("/slow-queries")
+    public String listSlowQueries(Model model) {
+        model.addAttribute("slowQueries", slowQueryLog.recent());
+        model.addAttribute("totalSlowQueries", slowQueryLog.getTotal());
+        model.addAttribute("capacity", slowQueryLog.getCapacity());
+        model.addAttribute("thresholdMillis", slowQueryThreshold.toMillis());
+        model.addAttribute("pageTitle", "慢查询");
+        return "admin/slow-queries";
+    }
+
+    /**
+     * 清空慢查询记录
+     */
+    @PostMapping("/slow-queries/clear")
+    public String clearSlowQueries(RedirectAttributes redirectAttributes) {
+        slowQueryLog.clear();
+        redirectAttributes.addFlashAttribute("successMessage", "慢查询记录已清空！");
+        return "redirect:/admin/slow-queries";
+    }
+}
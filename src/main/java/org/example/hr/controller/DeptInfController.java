@@ -1,12 +1,17 @@
 package org.example.hr.controller;
 
+import org.example.hr.cache.TableVersions;
+import org.example.hr.exception.BusinessException;
 import org.example.hr.pojo.DeptInf;
 import org.example.hr.service.impl.DeptInfServicelmpl;
+import org.example.hr.service.impl.HeadcountServicelmpl;
+import org.example.hr.stats.HeadcountDimension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
@@ -19,22 +24,33 @@ public class DeptInfController {
     private static final Logger logger = LoggerFactory.getLogger(DeptInfController.class);
 
     private final DeptInfServicelmpl deptInfService;
+    private final HeadcountServicelmpl headcountService;
+    private final TableVersions tableVersions;
 
     @Autowired
-    public DeptInfController(DeptInfServicelmpl deptInfService) {
+    public DeptInfController(DeptInfServicelmpl deptInfService, HeadcountServicelmpl headcountService,
+                             TableVersions tableVersions) {
         this.deptInfService = deptInfService;
+        this.headcountService = headcountService;
+        this.tableVersions = tableVersions;
     }
 
     /**
      * 显示部门列表页面
      * @param model 用于向视图传递数据
-     * @return 部门列表视图的逻辑名称
+     * @param webRequest 用于条件 GET (If-None-Match / If-Modified-Since)
+     * @return 部门列表视图的逻辑名称，未修改时返回null (304)
      */
     @GetMapping("/list")
-    public String listDepartments(Model model) {
+    public String listDepartments(Model model, ServletWebRequest webRequest) {
+        // 部门表和人数汇总都没有变化时返回 304，不查询也不渲染
+        if (tableVersions.checkNotModified(webRequest, "", TableVersions.DEPT, TableVersions.HEADCOUNT)) {
+            return null;
+        }
         logger.info("Request to list all departments");
         List<DeptInf> depts = deptInfService.getAllDepts();
         model.addAttribute("departments", depts);
+        model.addAttribute("headcounts", headcountService.getHeadcounts(HeadcountDimension.DEPT)); // 各部门人数 (读汇总表)
         model.addAttribute("pageTitle", "部门列表"); // 设置页面标题
         return "departments/department-list"; // Thymeleaf模板路径: templates/departments/department-list.html
     }
@@ -86,11 +102,17 @@ public class DeptInfController {
     @PostMapping("/save")
     public String saveDepartment(@ModelAttribute("department") DeptInf deptInf, RedirectAttributes redirectAttributes) {
         logger.info("Request to save new department: {}", deptInf.getDeptName());
-        boolean success = deptInfService.addDept(deptInf);
+        boolean success;
+        try {
+            success = deptInfService.addDept(deptInf);
+        } catch (BusinessException e) { // 名称重复、已被他人修改、仍有员工等业务错误
+            redirectAttributes.addFlashAttribute("errorMessage", "添加部门失败：" + e.getMessage());
+            return "redirect:/departments/list";
+        }
         if (success) {
             redirectAttributes.addFlashAttribute("successMessage", "部门 '" + deptInf.getDeptName() + "' 添加成功！");
         } else {
-            redirectAttributes.addFlashAttribute("errorMessage", "添加部门 '" + deptInf.getDeptName() + "' 失败，可能名称已存在或输入无效。");
+            redirectAttributes.addFlashAttribute("errorMessage", "添加部门 '" + deptInf.getDeptName() + "' 失败，请检查输入信息。");
         }
         return "redirect:/departments/list";
     }
@@ -108,11 +130,17 @@ public class DeptInfController {
                                    RedirectAttributes redirectAttributes) {
         logger.info("Request to update department ID {}: {}", deptId, deptInf.getDeptName());
         deptInf.setDeptId(deptId); // 确保ID被设置到要更新的对象上
-        boolean success = deptInfService.updateDept(deptInf);
+        boolean success;
+        try {
+            success = deptInfService.updateDept(deptInf);
+        } catch (BusinessException e) { // 名称重复、已被他人修改、仍有员工等业务错误
+            redirectAttributes.addFlashAttribute("errorMessage", "更新部门失败：" + e.getMessage());
+            return "redirect:/departments/list";
+        }
         if (success) {
             redirectAttributes.addFlashAttribute("successMessage", "部门 '" + deptInf.getDeptName() + "' 更新成功！");
         } else {
-            redirectAttributes.addFlashAttribute("errorMessage", "更新部门 '" + deptInf.getDeptName() + "' 失败，可能名称冲突或部门不存在。");
+            redirectAttributes.addFlashAttribute("errorMessage", "更新部门 '" + deptInf.getDeptName() + "' 失败，部门可能已被删除。");
             // return "redirect:/departments/edit/" + deptId; // 或者返回表单页并显示错误
         }
         return "redirect:/departments/list";
@@ -133,11 +161,17 @@ public class DeptInfController {
             return "redirect:/departments/list";
         }
 
-        boolean success = deptInfService.deleteDeptById(deptId);
+        boolean success;
+        try {
+            success = deptInfService.deleteDeptById(deptId);
+        } catch (BusinessException e) { // 名称重复、已被他人修改、仍有员工等业务错误
+            redirectAttributes.addFlashAttribute("errorMessage", "删除部门失败：" + e.getMessage());
+            return "redirect:/departments/list";
+        }
         if (success) {
             redirectAttributes.addFlashAttribute("successMessage", "部门 '" + deptToDelete.getDeptName() + "' 删除成功！");
         } else {
-            redirectAttributes.addFlashAttribute("errorMessage", "删除部门 '" + deptToDelete.getDeptName() + "' 失败。可能该部门下仍有员工，或部门不存在。");
+            redirectAttributes.addFlashAttribute("errorMessage", "删除部门 '" + deptToDelete.getDeptName() + "' 失败，部门可能已被删除。");
         }
         return "redirect:/departments/list";
     }
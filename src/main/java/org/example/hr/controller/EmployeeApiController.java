@@ -0,0 +1,71 @@
+package org.example.hr.controller;
+
+import org.example.hr.pojo.EmployeeListItem;
+import org.example.hr.pojo.KeysetPage;
+import org.example.hr.service.impl.EmployeeInfServicelmpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 员工列表 JSON 接口
+ * 查询条件和游标分页参数与列表页 (/employees/list) 相同，返回精简的员工列表行
+ */
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeApiController {
+
+    private final EmployeeInfServicelmpl employeeInfServicelmpl;
+
+    @Autowired
+    public EmployeeApiController(EmployeeInfServicelmpl employeeInfServicelmpl) {
+        this.employeeInfServicelmpl = employeeInfServicelmpl;
+    }
+
+    /**
+     * 按条件游标分页查询员工列表
+     * @return 当前页数据及翻页游标 (firstId 作为 before、lastId 作为 after 请求相邻页)
+     */
+    @GetMapping
+    public KeysetPage<EmployeeListItem> listEmployees(
+            @RequestParam(required = false) String empName,
+            @RequestParam(required = false) String empPhone,
+            @RequestParam(required = false) String empCardId,
+            @RequestParam(required = false) Integer empSex,
+            @RequestParam(required = false) Integer deptId,
+            @RequestParam(required = false) Integer jobId,
+            @RequestParam(required = false) String empEdu,
+            @RequestParam(required = false) String empParty,
+            @RequestParam(required = false) String empRace,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(required = false) Integer size) {
+        Map<String, Object> params = EmployeeInfController.buildSearchParams(empName, empPhone, empCardId, empSex, deptId, jobId, empEdu, empParty, empRace);
+        return employeeInfServicelmpl.findEmployeesPage(params, after, before, EmployeeInfController.normalizePageSize(size));
+    }
+
+    /**
+     * 分面统计：当前条件下性别、部门、岗位、学历、政治面貌、民族每个取值的员工数
+     * 统计某个字段时不使用该字段自身的条件
+     * @return 参数名 -> (取值 -> 员工数)
+     */
+    @GetMapping("/facets")
+    public Map<String, Map<Object, Integer>> facets(
+            @RequestParam(required = false) String empName,
+            @RequestParam(required = false) String empPhone,
+            @RequestParam(required = false) String empCardId,
+            @RequestParam(required = false) Integer empSex,
+            @RequestParam(required = false) Integer deptId,
+            @RequestParam(required = false) Integer jobId,
+            @RequestParam(required = false) String empEdu,
+            @RequestParam(required = false) String empParty,
+            @RequestParam(required = false) String empRace) {
+        Map<String, Object> params = EmployeeInfController.buildSearchParams(empName, empPhone, empCardId, empSex, deptId, jobId,
+                empEdu, empParty, empRace);
+        return employeeInfServicelmpl.getAttributeFacets(params);
+    }
+}
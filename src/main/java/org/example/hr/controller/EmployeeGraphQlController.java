@@ -0,0 +1,149 @@
+package org.example.hr.controller;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import org.dataloader.DataLoader;
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.JobInf;
+import org.example.hr.pojo.KeysetPage;
+import org.example.hr.service.impl.DeptInfServicelmpl;
+import org.example.hr.service.impl.EmployeeInfServicelmpl;
+import org.example.hr.service.impl.JobInfServicelmpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 员工/部门/岗位的 GraphQL 只读接口 (schema 见 graphql/schema.graphqls)
+ * 员工查询只取客户端选择的字段，不联表；department/job 由按请求创建的 DataLoader 收集同一请求中所有员工的部门/岗位ID，
+ * 各执行一次 IN 查询，代替每名员工查询一次。查询深度和复杂度的上限见 GraphQlConfig
+ */
+@Controller
+public class EmployeeGraphQlController {
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final EmployeeInfServicelmpl employeeInfServicelmpl;
+    private final DeptInfServicelmpl deptInfService;
+    private final JobInfServicelmpl jobInfServicelmpl;
+
+    @Autowired
+    public EmployeeGraphQlController(EmployeeInfServicelmpl employeeInfServicelmpl,
+                                     DeptInfServicelmpl deptInfService,
+                                     JobInfServicelmpl jobInfServicelmpl,
+                                     BatchLoaderRegistry batchLoaderRegistry) {
+        this.employeeInfServicelmpl = employeeInfServicelmpl;
+        this.deptInfService = deptInfService;
+        this.jobInfServicelmpl = jobInfServicelmpl;
+        // 每个请求新建 DataLoader：同一请求内相同的ID只加载一次，不跨请求缓存
+        batchLoaderRegistry.forTypePair(Integer.class, DeptInf.class).registerMappedBatchLoader((deptIds, environment) ->
+                Mono.fromSupplier(() -> byId(deptInfService.getDeptsByIds(deptIds), DeptInf::getDeptId)));
+        batchLoaderRegistry.forTypePair(Integer.class, JobInf.class).registerMappedBatchLoader((jobIds, environment) ->
+                Mono.fromSupplier(() -> byId(jobInfServicelmpl.getJobsByIds(jobIds), JobInf::getJobId)));
+    }
+
+    /**
+     * 员工查询条件，字段与列表页的查询参数相同
+     */
+    public record EmployeeFilter(String empName, String empPhone, String empCardId, Integer empSex, Integer deptId,
+                                 Integer jobId, String empEdu, String empParty, String empRace) {
+
+        Map<String, Object> toSearchParams() {
+            return EmployeeInfController.buildSearchParams(empName, empPhone, empCardId, empSex, deptId, jobId, empEdu, empParty, empRace);
+        }
+    }
+
+    /**
+     * 按条件游标分页查询员工，只查询 items 中选择的字段
+     */
+    @QueryMapping
+    public KeysetPage<EmployeeInf> employees(@Argument EmployeeFilter filter, @Argument Integer after, @Argument Integer first,
+                                             DataFetchingFieldSelectionSet selectionSet) {
+        Map<String, Object> params = filter == null ? new HashMap<>() : filter.toSearchParams();
+        return employeeInfServicelmpl.findEmployeeFieldsPage(params, fieldNames(selectionSet.getFields("items/*")),
+                after, EmployeeInfController.normalizePageSize(first));
+    }
+
+    /**
+     * 根据ID查询员工，只查询选择的字段
+     */
+    @QueryMapping
+    public EmployeeInf employee(@Argument Integer empId, DataFetchingFieldSelectionSet selectionSet) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("empIds", List.of(empId));
+        List<EmployeeInf> items = employeeInfServicelmpl.findEmployeeFieldsPage(params,
+                fieldNames(selectionSet.getImmediateFields()), null, 1).getItems();
+        return items.isEmpty() ? null : items.get(0);
+    }
+
+    @QueryMapping
+    public List<DeptInf> departments() {
+        return deptInfService.getAllDepts();
+    }
+
+    @QueryMapping
+    public List<JobInf> jobs() {
+        return jobInfServicelmpl.getAllJobs();
+    }
+
+    /**
+     * 员工所在部门，由 DataLoader 合并为一次批量查询
+     */
+    @SchemaMapping(typeName = "Employee")
+    public CompletableFuture<DeptInf> department(EmployeeInf employee, DataLoader<Integer, DeptInf> loader) {
+        DeptInf department = employee.getDepartment();
+        return department == null || department.getDeptId() == null
+                ? CompletableFuture.completedFuture(null) : loader.load(department.getDeptId());
+    }
+
+    /**
+     * 员工所在岗位，由 DataLoader 合并为一次批量查询
+     */
+    @SchemaMapping(typeName = "Employee")
+    public CompletableFuture<JobInf> job(EmployeeInf employee, DataLoader<Integer, JobInf> loader) {
+        JobInf job = employee.getJob();
+        return job == null || job.getJobId() == null
+                ? CompletableFuture.completedFuture(null) : loader.load(job.getJobId());
+    }
+
+    @SchemaMapping(typeName = "Employee")
+    public String empBirth(EmployeeInf employee) {
+        return format(employee.getEmpBirth(), DATE_FORMATTER);
+    }
+
+    @SchemaMapping(typeName = "Employee")
+    public String empCreateDate(EmployeeInf employee) {
+        return format(employee.getEmpCreateDate(), DATE_TIME_FORMATTER);
+    }
+
+    private static Set<String> fieldNames(List<SelectedField> fields) {
+        return fields.stream().map(SelectedField::getName).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Integer, T> byId(List<T> rows, Function<T, Integer> idOf) {
+        return rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private static String format(Date date, DateTimeFormatter formatter) {
+        return date == null ? null : formatter.format(date.toInstant());
+    }
+}
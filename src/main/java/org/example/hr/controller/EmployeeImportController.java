@@ -0,0 +1,90 @@
+package org.example.hr.controller;
+
+import org.example.hr.exception.BusinessException;
+import org.example.hr.pojo.EmployeeImportResult;
+import org.example.hr.service.impl.EmployeeImportServicelmpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+@Controller
+@RequestMapping("/employees/import")
+public class EmployeeImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportController.class);
+
+    private final EmployeeImportServicelmpl employeeImportServicelmpl;
+
+    @Autowired
+    public EmployeeImportController(EmployeeImportServicelmpl employeeImportServicelmpl) {
+        this.employeeImportServicelmpl = employeeImportServicelmpl;
+    }
+
+    /**
+     * 显示批量导入页面
+     */
+    @GetMapping
+    public String showImportForm(Model model) {
+        model.addAttribute("pageTitle", "批量导入员工");
+        return "employees/employee-import";
+    }
+
+    /**
+     * 处理上传的 CSV 文件，导入结果通过 flash 属性带回导入页面
+     */
+    @PostMapping
+    public String importEmployees(@RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes) {
+        if (file == null || file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "请选择要导入的CSV文件！");
+            return "redirect:/employees/import";
+        }
+        try (InputStream in = file.getInputStream()) {
+            EmployeeImportResult result = employeeImportServicelmpl.importEmployees(in);
+            redirectAttributes.addFlashAttribute("importResult", result);
+            if (result.getFailedRows() == 0) {
+                redirectAttributes.addFlashAttribute("successMessage",
+                        "导入完成，共导入 " + result.getImportedRows() + " 名员工！");
+            } else {
+                redirectAttributes.addFlashAttribute("errorMessage",
+                        "导入完成，成功 " + result.getImportedRows() + " 行，失败 " + result.getFailedRows() + " 行，请下载错误报告查看原因。");
+            }
+        } catch (BusinessException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "导入失败：" + e.getMessage());
+        } catch (IOException e) {
+            logger.error("Error reading uploaded import file: {}", file.getOriginalFilename(), e);
+            redirectAttributes.addFlashAttribute("errorMessage", "读取上传文件失败！");
+        }
+        return "redirect:/employees/import";
+    }
+
+    /**
+     * 下载导入错误报告
+     */
+    @GetMapping("/report/{importId}")
+    public ResponseEntity<Resource> downloadErrorReport(@PathVariable String importId) {
+        Path report = employeeImportServicelmpl.getErrorReport(importId);
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("import-errors-" + importId + ".csv").build().toString())
+                .contentType(new MediaType("text", "csv"))
+                .body(new FileSystemResource(report));
+    }
+}
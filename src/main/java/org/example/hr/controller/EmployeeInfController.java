@@ -1,8 +1,17 @@
 package org.example.hr.controller;
 
+import org.example.hr.cache.TableVersions;
+import org.example.hr.exception.BusinessException;
+import org.example.hr.export.EmployeeExportColumns;
+import org.example.hr.export.EmployeeExportFormat;
+import org.example.hr.export.RowWriter;
 import org.example.hr.pojo.DeptInf;
 import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.EmployeeListItem;
 import org.example.hr.pojo.JobInf;
+import org.example.hr.pojo.KeysetPage;
+import org.example.hr.pojo.SearchFacet;
+import org.example.hr.search.EmployeeAttribute;
 import org.example.hr.service.impl.DeptInfServicelmpl;
 import org.example.hr.service.impl.EmployeeInfServicelmpl;
 import org.example.hr.service.impl.JobInfServicelmpl;
@@ -10,15 +19,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.TreeMap;
 
 @Controller
 @RequestMapping("/employees")
@@ -26,17 +49,23 @@ public class EmployeeInfController {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeInfController.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 20; // 员工列表默认每页条数
+    private static final int MAX_PAGE_SIZE = 100;    // 员工列表每页条数上限
+
     private final EmployeeInfServicelmpl employeeInfServicelmpl;
     private final DeptInfServicelmpl deptInfService;
     private final JobInfServicelmpl jobInfServicelmpl;
+    private final TableVersions tableVersions;
 
     @Autowired
     public EmployeeInfController(EmployeeInfServicelmpl employeeInfServicelmpl,
                                  DeptInfServicelmpl deptInfService,
-                                 JobInfServicelmpl jobInfServicelmpl) {
+                                 JobInfServicelmpl jobInfServicelmpl,
+                                 TableVersions tableVersions) {
         this.employeeInfServicelmpl = employeeInfServicelmpl;
         this.deptInfService = deptInfService;
         this.jobInfServicelmpl = jobInfServicelmpl;
+        this.tableVersions = tableVersions;
     }
 
     /**
@@ -51,7 +80,8 @@ public class EmployeeInfController {
 
     /**
      * 显示员工列表页面 (包含部门和岗位名称)
-     * 也支持根据条件进行搜索
+     * 也支持根据条件进行搜索，结果按 emp_id 游标分页 (after: 向后翻页游标, before: 向前翻页游标)
+     * 员工、部门、岗位表都没有变化时按 ETag 返回 304
      */
     @GetMapping("/list")
     public String listEmployees(
@@ -61,11 +91,98 @@ public class EmployeeInfController {
             @RequestParam(required = false) Integer empSex,
             @RequestParam(required = false) Integer deptId,
             @RequestParam(required = false) Integer jobId,
-            Model model) {
+            @RequestParam(required = false) String empEdu,
+            @RequestParam(required = false) String empParty,
+            @RequestParam(required = false) String empRace,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(required = false) Integer size,
+            Model model,
+            ServletWebRequest webRequest) {
+
+        logger.info("Request to list employees with criteria - Name: {}, Phone: {}, CardID: {}, Sex: {}, DeptID: {}, JobID: {}, After: {}, Before: {}",
+                empName, empPhone, empCardId, empSex, deptId, jobId, after, before);
+
+        Map<String, Object> params = buildSearchParams(empName, empPhone, empCardId, empSex, deptId, jobId, empEdu, empParty, empRace);
+        int pageSize = normalizePageSize(size);
+
+        // 页面由查询条件、游标和页大小决定，条件按键排序后参与 ETag；部门和岗位名称来自另外两张表
+        String variant = new TreeMap<>(params) + "|" + after + "|" + before + "|" + pageSize;
+        if (tableVersions.checkNotModified(webRequest, variant, TableVersions.EMPLOYEE, TableVersions.DEPT, TableVersions.JOB)) {
+            return null;
+        }
+
+        KeysetPage<EmployeeListItem> page = employeeInfServicelmpl.findEmployeesPage(params, after, before, pageSize);
+
+        model.addAttribute("employees", page.getItems());
+        model.addAttribute("page", page);
+        if (page.isHasPrevious() && page.getFirstId() != null) {
+            model.addAttribute("previousPageLink", buildPageLink(params, "before", page.getFirstId(), pageSize));
+            model.addAttribute("firstPageLink", buildPageLink(params, null, null, pageSize));
+        }
+        if (page.isHasNext() && page.getLastId() != null) {
+            model.addAttribute("nextPageLink", buildPageLink(params, "after", page.getLastId(), pageSize));
+        }
+        model.addAttribute("facets", buildFacets(params, pageSize));
+        model.addAttribute("exportCsvLink", buildExportLink(params, EmployeeExportFormat.CSV));
+        model.addAttribute("exportXlsxLink", buildExportLink(params, EmployeeExportFormat.XLSX));
+        model.addAttribute("pageTitle", "员工列表");
+        // 将搜索条件也传回给视图，以便在搜索框中保留
+        model.addAttribute("searchParams", params);
+        loadFormDependencies(model); // 加载部门和岗位列表，用于搜索表单的下拉框
 
-        logger.info("Request to list employees with criteria - Name: {}, Phone: {}, CardID: {}, Sex: {}, DeptID: {}, JobID: {}",
-                empName, empPhone, empCardId, empSex, deptId, jobId);
+        return "employees/employee-list";
+    }
 
+    /**
+     * 导出符合条件的员工信息 (CSV 或 XLSX)
+     * 数据通过数据库游标逐行读取并直接写入响应流，不在内存中保留整个结果集
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(required = false) String empName,
+            @RequestParam(required = false) String empPhone,
+            @RequestParam(required = false) String empCardId,
+            @RequestParam(required = false) Integer empSex,
+            @RequestParam(required = false) Integer deptId,
+            @RequestParam(required = false) Integer jobId,
+            @RequestParam(required = false) String empEdu,
+            @RequestParam(required = false) String empParty,
+            @RequestParam(required = false) String empRace,
+            @RequestParam(required = false) String format) {
+
+        Map<String, Object> params = buildSearchParams(empName, empPhone, empCardId, empSex, deptId, jobId, empEdu, empParty, empRace);
+        EmployeeExportFormat exportFormat = EmployeeExportFormat.fromParam(format);
+        logger.info("Request to export employees as {} with criteria: {}", exportFormat, params);
+
+        StreamingResponseBody body = out -> {
+            RowWriter writer = exportFormat.open(out);
+            writer.writeRow(EmployeeExportColumns.headers());
+            employeeInfServicelmpl.exportEmployees(params, employee -> {
+                try {
+                    writer.writeRow(EmployeeExportColumns.values(employee));
+                } catch (IOException e) {
+                    // 客户端中断下载等情况，终止游标读取
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+        };
+
+        String fileName = "employees-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    /**
+     * 将搜索表单的参数整理为查询条件Map，忽略空值
+     */
+    static Map<String, Object> buildSearchParams(String empName, String empPhone, String empCardId,
+                                                 Integer empSex, Integer deptId, Integer jobId,
+                                                 String empEdu, String empParty, String empRace) {
         Map<String, Object> params = new HashMap<>();
         if (empName != null && !empName.trim().isEmpty()) params.put("empName", empName.trim());
         if (empPhone != null && !empPhone.trim().isEmpty()) params.put("empPhone", empPhone.trim());
@@ -73,21 +190,94 @@ public class EmployeeInfController {
         if (empSex != null) params.put("empSex", empSex);
         if (deptId != null) params.put("deptId", deptId);
         if (jobId != null) params.put("jobId", jobId);
+        if (empEdu != null && !empEdu.trim().isEmpty()) params.put("empEdu", empEdu.trim());
+        if (empParty != null && !empParty.trim().isEmpty()) params.put("empParty", empParty.trim());
+        if (empRace != null && !empRace.trim().isEmpty()) params.put("empRace", empRace.trim());
+        return params;
+    }
 
-        List<EmployeeInf> employees;
-        if (params.isEmpty()) {
-            employees = employeeInfServicelmpl.getAllEmployeesWithDetails();
-        } else {
-            employees = employeeInfServicelmpl.findEmployeesByCriteria(params);
+    /**
+     * 将请求的每页条数限制在 [1, MAX_PAGE_SIZE] 之间
+     */
+    static int normalizePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
         }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
 
-        model.addAttribute("employees", employees);
-        model.addAttribute("pageTitle", "员工列表");
-        // 将搜索条件也传回给视图，以便在搜索框中保留
-        model.addAttribute("searchParams", params);
-        loadFormDependencies(model); // 加载部门和岗位列表，用于搜索表单的下拉框
+    /**
+     * 将分面统计整理为页面上的筛选项：点击取值在当前条件上设置该字段 (替换原有取值)，回到第一页
+     */
+    private List<SearchFacet> buildFacets(Map<String, Object> params, int pageSize) {
+        Map<String, Map<Object, Integer>> counts = employeeInfServicelmpl.getAttributeFacets(params);
+        List<SearchFacet> facets = new ArrayList<>();
+        for (EmployeeAttribute attribute : EmployeeAttribute.values()) {
+            Map<Object, Integer> byValue = counts.getOrDefault(attribute.getParam(), Map.of());
+            if (byValue.isEmpty()) {
+                continue;
+            }
+            Object selected = params.get(attribute.getParam());
+            List<SearchFacet.Option> options = new ArrayList<>();
+            byValue.forEach((value, headcount) -> {
+                Map<String, Object> refined = new HashMap<>(params);
+                refined.put(attribute.getParam(), value);
+                options.add(new SearchFacet.Option(facetLabel(attribute, value), headcount,
+                        buildPageLink(refined, null, null, pageSize), value.equals(selected)));
+            });
+            options.sort(Comparator.comparingInt(SearchFacet.Option::getHeadcount).reversed());
+            String clearLink = null;
+            if (selected != null) {
+                Map<String, Object> cleared = new HashMap<>(params);
+                cleared.remove(attribute.getParam());
+                clearLink = buildPageLink(cleared, null, null, pageSize);
+            }
+            facets.add(new SearchFacet(attribute.getLabel(), clearLink, options));
+        }
+        return facets;
+    }
 
-        return "employees/employee-list";
+    /**
+     * @return 分面取值在页面上的名称
+     */
+    private String facetLabel(EmployeeAttribute attribute, Object value) {
+        return switch (attribute) {
+            case DEPT -> {
+                DeptInf dept = deptInfService.getDeptById((Integer) value);
+                yield dept != null ? dept.getDeptName() : "部门" + value;
+            }
+            case JOB -> {
+                JobInf job = jobInfServicelmpl.getJobById((Integer) value);
+                yield job != null ? job.getJobName() : "岗位" + value;
+            }
+            case SEX -> Integer.valueOf(1).equals(value) ? "男" : (Integer.valueOf(2).equals(value) ? "女" : "未知");
+            default -> value.toString();
+        };
+    }
+
+    /**
+     * 生成按当前搜索条件导出的链接
+     */
+    private String buildExportLink(Map<String, Object> params, EmployeeExportFormat format) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/employees/export");
+        params.forEach(builder::queryParam);
+        builder.queryParam("format", format.getExtension());
+        return builder.encode().build().toUriString();
+    }
+
+    /**
+     * 生成保留当前搜索条件的翻页链接 (相对于应用上下文路径)，cursorName 为null时生成第一页链接
+     */
+    private String buildPageLink(Map<String, Object> params, String cursorName, Integer cursor, int pageSize) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/employees/list");
+        params.forEach(builder::queryParam);
+        if (cursorName != null) {
+            builder.queryParam(cursorName, cursor);
+        }
+        if (pageSize != DEFAULT_PAGE_SIZE) {
+            builder.queryParam("size", pageSize);
+        }
+        return builder.encode().build().toUriString();
     }
 
     /**
@@ -164,7 +354,13 @@ public class EmployeeInfController {
         employeeInf.setEmpId(empId);
         employeeInf.setEmpBirth(empBirthDate);
 
-        boolean success = employeeInfServicelmpl.updateEmployee(employeeInf);
+        boolean success;
+        try {
+            success = employeeInfServicelmpl.updateEmployee(employeeInf);
+        } catch (BusinessException e) { // 编辑期间已被他人修改：重新打开编辑页，显示最新数据
+            redirectAttributes.addFlashAttribute("errorMessage", "更新员工失败：" + e.getMessage());
+            return "redirect:/employees/edit/" + empId;
+        }
         if (success) {
             redirectAttributes.addFlashAttribute("successMessage", "员工 '" + employeeInf.getEmpName() + "' 更新成功！");
             return "redirect:/employees/list";
@@ -187,17 +383,11 @@ public class EmployeeInfController {
     @GetMapping("/delete/{empId}")
     public String deleteEmployee(@PathVariable("empId") Integer empId, RedirectAttributes redirectAttributes) {
         logger.info("Request to delete employee ID: {}", empId);
-        EmployeeInf empToDelete = employeeInfServicelmpl.getEmployeeByIdWithDetails(empId);
-        if (empToDelete == null) {
-            redirectAttributes.addFlashAttribute("errorMessage", "删除失败：未找到ID为 " + empId + " 的员工。");
-            return "redirect:/employees/list";
-        }
-
-        boolean success = employeeInfServicelmpl.deleteEmployeeById(empId);
-        if (success) {
-            redirectAttributes.addFlashAttribute("successMessage", "员工 '" + empToDelete.getEmpName() + "' 删除成功！");
+        EmployeeInf deleted = employeeInfServicelmpl.deleteEmployeeById(empId); // 返回被删除员工的姓名，不再预先查询
+        if (deleted != null) {
+            redirectAttributes.addFlashAttribute("successMessage", "员工 '" + deleted.getEmpName() + "' 删除成功！");
         } else {
-            redirectAttributes.addFlashAttribute("errorMessage", "删除员工 '" + empToDelete.getEmpName() + "' 失败。");
+            redirectAttributes.addFlashAttribute("errorMessage", "删除失败：未找到ID为 " + empId + " 的员工，或删除时发生错误。");
         }
         return "redirect:/employees/list";
     }
@@ -0,0 +1,34 @@
+package org.example.hr.controller;
+
+import org.example.hr.service.impl.HeadcountServicelmpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+
+@Controller
+public class HomeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(HomeController.class);
+
+    private final HeadcountServicelmpl headcountService;
+
+    @Autowired
+    public HomeController(HeadcountServicelmpl headcountService) {
+        this.headcountService = headcountService;
+    }
+
+    /**
+     * 显示首页及人数统计
+     * @param model 用于向视图传递各维度的分组人数
+     * @return 首页视图的逻辑名称
+     */
+    @GetMapping("/")
+    public String index(Model model) {
+        logger.debug("Request to show index with headcount dashboard");
+        model.addAttribute("dashboard", headcountService.getDashboard());
+        return "index";
+    }
+}
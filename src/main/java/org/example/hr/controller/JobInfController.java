@@ -1,12 +1,17 @@
 package org.example.hr.controller;
 
+import org.example.hr.cache.TableVersions;
+import org.example.hr.exception.BusinessException;
 import org.example.hr.pojo.JobInf;
 import org.example.hr.service.impl.JobInfServicelmpl;
+import org.example.hr.service.impl.HeadcountServicelmpl;
+import org.example.hr.stats.HeadcountDimension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
@@ -19,22 +24,33 @@ public class JobInfController {
     private static final Logger logger = LoggerFactory.getLogger(JobInfController.class);
 
     private final JobInfServicelmpl jobInfServicelmpl;
+    private final HeadcountServicelmpl headcountService;
+    private final TableVersions tableVersions;
 
     @Autowired
-    public JobInfController(JobInfServicelmpl jobInfServicelmpl) {
+    public JobInfController(JobInfServicelmpl jobInfServicelmpl, HeadcountServicelmpl headcountService,
+                            TableVersions tableVersions) {
         this.jobInfServicelmpl = jobInfServicelmpl;
+        this.headcountService = headcountService;
+        this.tableVersions = tableVersions;
     }
 
     /**
      * 显示岗位列表页面
      * @param model 用于向视图传递数据
-     * @return 岗位列表视图的逻辑名称
+     * @param webRequest 用于条件 GET (If-None-Match / If-Modified-Since)
+     * @return 岗位列表视图的逻辑名称，未修改时返回null (304)
      */
     @GetMapping("/list")
-    public String listJobs(Model model) {
+    public String listJobs(Model model, ServletWebRequest webRequest) {
+        // 岗位表和人数汇总都没有变化时返回 304，不查询也不渲染
+        if (tableVersions.checkNotModified(webRequest, "", TableVersions.JOB, TableVersions.HEADCOUNT)) {
+            return null;
+        }
         logger.info("Request to list all jobs");
         List<JobInf> jobs = jobInfServicelmpl.getAllJobs();
         model.addAttribute("jobs", jobs);
+        model.addAttribute("headcounts", headcountService.getHeadcounts(HeadcountDimension.JOB)); // 各岗位人数 (读汇总表)
         model.addAttribute("pageTitle", "岗位列表");
         return "jobs/job-list"; // Thymeleaf模板路径: templates/jobs/job-list.html
     }
@@ -86,11 +102,17 @@ public class JobInfController {
     @PostMapping("/save")
     public String saveJob(@ModelAttribute("job") JobInf jobInf, RedirectAttributes redirectAttributes) {
         logger.info("Request to save new job: {}", jobInf.getJobName());
-        boolean success = jobInfServicelmpl.addJob(jobInf);
+        boolean success;
+        try {
+            success = jobInfServicelmpl.addJob(jobInf);
+        } catch (BusinessException e) { // 名称重复、已被他人修改、仍有员工等业务错误
+            redirectAttributes.addFlashAttribute("errorMessage", "添加岗位失败：" + e.getMessage());
+            return "redirect:/jobs/list";
+        }
         if (success) {
             redirectAttributes.addFlashAttribute("successMessage", "岗位 '" + jobInf.getJobName() + "' 添加成功！");
         } else {
-            redirectAttributes.addFlashAttribute("errorMessage", "添加岗位 '" + jobInf.getJobName() + "' 失败，可能名称已存在或输入无效。");
+            redirectAttributes.addFlashAttribute("errorMessage", "添加岗位 '" + jobInf.getJobName() + "' 失败，请检查输入信息。");
         }
         return "redirect:/jobs/list";
     }
@@ -108,11 +130,17 @@ public class JobInfController {
                             RedirectAttributes redirectAttributes) {
         logger.info("Request to update job ID {}: {}", jobId, jobInf.getJobName());
         jobInf.setJobId(jobId);
-        boolean success = jobInfServicelmpl.updateJob(jobInf);
+        boolean success;
+        try {
+            success = jobInfServicelmpl.updateJob(jobInf);
+        } catch (BusinessException e) { // 名称重复、已被他人修改、仍有员工等业务错误
+            redirectAttributes.addFlashAttribute("errorMessage", "更新岗位失败：" + e.getMessage());
+            return "redirect:/jobs/list";
+        }
         if (success) {
             redirectAttributes.addFlashAttribute("successMessage", "岗位 '" + jobInf.getJobName() + "' 更新成功！");
         } else {
-            redirectAttributes.addFlashAttribute("errorMessage", "更新岗位 '" + jobInf.getJobName() + "' 失败，可能名称冲突或岗位不存在。");
+            redirectAttributes.addFlashAttribute("errorMessage", "更新岗位 '" + jobInf.getJobName() + "' 失败，岗位可能已被删除。");
         }
         return "redirect:/jobs/list";
     }
@@ -132,11 +160,17 @@ public class JobInfController {
             return "redirect:/jobs/list";
         }
 
-        boolean success = jobInfServicelmpl.deleteJobById(jobId);
+        boolean success;
+        try {
+            success = jobInfServicelmpl.deleteJobById(jobId);
+        } catch (BusinessException e) { // 名称重复、已被他人修改、仍有员工等业务错误
+            redirectAttributes.addFlashAttribute("errorMessage", "删除岗位失败：" + e.getMessage());
+            return "redirect:/jobs/list";
+        }
         if (success) {
             redirectAttributes.addFlashAttribute("successMessage", "岗位 '" + jobToDelete.getJobName() + "' 删除成功！");
         } else {
-            redirectAttributes.addFlashAttribute("errorMessage", "删除岗位 '" + jobToDelete.getJobName() + "' 失败。可能该岗位下仍有员工，或岗位不存在。");
+            redirectAttributes.addFlashAttribute("errorMessage", "删除岗位 '" + jobToDelete.getJobName() + "' 失败，岗位可能已被删除。");
         }
         return "redirect:/jobs/list";
     }
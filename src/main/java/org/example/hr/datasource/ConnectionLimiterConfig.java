@@ -0,0 +1,45 @@
+package org.example.hr.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 连接并发限制配置 (hr.datasource.limiter.enabled=true 时生效，默认跟随 spring.threads.virtual.enabled)
+ * 单数据源模式下把 Spring Boot 自动配置的连接池包装为 {@link ConnectionLimitingDataSource}；
+ * 读写分离模式下由 {@link DataSourceRoutingConfig} 分别包装主库和从库连接池。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hr.datasource.limiter", name = "enabled", havingValue = "true")
+public class ConnectionLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${hr.datasource.limiter.acquire-timeout:30s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof HikariDataSource pool) {
+                    return limit(pool, acquireTimeout, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * @return 许可数等于连接池最大连接数的限流数据源
+     */
+    static ConnectionLimitingDataSource limit(HikariDataSource pool, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        String poolName = pool.getPoolName() != null ? pool.getPoolName() : "dataSource";
+        return new ConnectionLimitingDataSource(pool, poolName, pool.getMaximumPoolSize(), acquireTimeout, meterRegistry);
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.hr.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 在连接池前面限制并发连接数的数据源
+ * 许可数等于连接池大小，线程先在公平信号量上排队，拿到许可后才向连接池借连接，连接关闭时归还许可。
+ * <p>
+ * 开启虚拟线程后请求线程数不再受 Tomcat 线程池限制，成百上千个请求会同时向 Hikari 借连接；
+ * 在信号量上等待的虚拟线程只是被挂起 (不占用载体线程)，排队成本远低于在连接池内部等待，
+ * 等待超时 (hr.datasource.limiter.acquire-timeout) 后抛出 SQLTransientConnectionException，与连接池超时的表现一致。
+ * <p>
+ * 指标：hr.datasource.limiter.waiting (排队线程数)、hr.datasource.limiter.available (剩余许可)、
+ * hr.datasource.limiter.timeouts (等待超时次数)，均按 pool 标签区分。
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final String poolName;
+    private final Counter timeouts;
+
+    public ConnectionLimitingDataSource(DataSource target, String poolName, int maxConnections,
+                                        Duration acquireTimeout, MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.poolName = poolName;
+        Gauge.builder("hr.datasource.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a connection permit")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Gauge.builder("hr.datasource.limiter.available", permits, Semaphore::availablePermits)
+                .description("Connection permits currently available")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("hr.datasource.limiter.timeouts")
+                .description("Connection requests that timed out waiting for a permit")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(poolName + " - Connection is not available, request timed out after "
+                        + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + "ms waiting for a permit ("
+                        + permits.getQueueLength() + " waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(poolName + " - Interrupted while waiting for a connection permit", e);
+        }
+    }
+
+    /**
+     * @return 关闭时归还许可的连接代理 (重复关闭只归还一次)
+     */
+    private Connection limited(Connection target) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new PermitReleasingInvocationHandler(target));
+    }
+
+    private final class PermitReleasingInvocationHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingInvocationHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getTargetConnection":
+                    return target;
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
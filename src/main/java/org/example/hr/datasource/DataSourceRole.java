@@ -0,0 +1,17 @@
+package org.example.hr.datasource;
+
+/**
+ * 读写分离路由的目标数据源
+ */
+public enum DataSourceRole {
+
+    /**
+     * 主库：所有写操作、读写事务
+     */
+    PRIMARY,
+
+    /**
+     * 从库：只读事务和事务外的读操作
+     */
+    REPLICA
+}
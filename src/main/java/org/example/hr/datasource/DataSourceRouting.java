@@ -0,0 +1,88 @@
+package org.example.hr.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的读写分离路由上下文
+ * 业务代码可以用 {@link #onPrimary(Supplier)} 强制后续读操作走主库 (例如写入后需要立即读到自己写的数据)；
+ * 路由数据源在把读写事务路由到主库时调用 {@link #markWrite()}，供 Web 层记录"读己之写"窗口。
+ * 未开启读写分离时这些方法没有副作用。
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Integer> FORCE_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> WRITE_PERFORMED = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * 在主库上执行一段操作 (可嵌套)
+     * @param action 要执行的操作
+     * @return 操作的返回值
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        try (Scope ignored = primaryScope()) {
+            return action.get();
+        }
+    }
+
+    /**
+     * 在主库上执行一段没有返回值的操作
+     */
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 开始一段强制走主库的范围，调用方必须在同一线程上关闭返回的 Scope
+     * @return 关闭时恢复之前的路由状态
+     */
+    public static Scope primaryScope() {
+        Integer depth = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(depth == null ? 1 : depth + 1);
+        return () -> {
+            if (depth == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(depth);
+            }
+        };
+    }
+
+    /**
+     * @return 当前线程是否被强制路由到主库
+     */
+    public static boolean isPrimaryForced() {
+        return FORCE_PRIMARY.get() != null;
+    }
+
+    /**
+     * 记录当前线程执行过写操作
+     */
+    static void markWrite() {
+        WRITE_PERFORMED.set(Boolean.TRUE);
+    }
+
+    /**
+     * 取出并清除当前线程的写操作标记
+     * @return 自上次调用以来当前线程是否执行过写操作
+     */
+    public static boolean consumeWriteMark() {
+        boolean written = WRITE_PERFORMED.get() != null;
+        WRITE_PERFORMED.remove();
+        return written;
+    }
+
+    /**
+     * 强制走主库的范围
+     */
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.hr.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 读写分离数据源配置 (hr.datasource.replica.enabled=true 时生效)
+ * 主库连接池沿用 spring.datasource.* 配置，从库连接池使用 hr.datasource.replica.* 配置；
+ * 两个连接池都注册为 Bean，Spring Boot 会为它们分别暴露 hikaricp_* 指标 (按 pool 标签区分)。
+ * 未开启时由 Spring Boot 自动配置单一数据源，行为与之前相同。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hr.datasource.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * 主库连接池 (表结构迁移也在主库上执行，不经过路由)
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("hr-primary");
+        return dataSource;
+    }
+
+    /**
+     * 从库连接池，属性直接绑定到 HikariDataSource (jdbc-url、username、password、maximum-pool-size 等)
+     */
+    @Bean
+    @ConfigurationProperties("hr.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("hr-replica");
+        return dataSource;
+    }
+
+    /**
+     * 应用实际使用的数据源：延迟获取连接的路由数据源
+     * 开启连接并发限制时，主库和从库连接池各自包装一个 {@link ConnectionLimitingDataSource}
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${hr.datasource.limiter.enabled:false}") boolean limiterEnabled,
+                                 @Value("${hr.datasource.limiter.acquire-timeout:30s}") Duration acquireTimeout) {
+        DataSource primary = primaryDataSource;
+        DataSource replica = replicaDataSource;
+        if (limiterEnabled) {
+            primary = ConnectionLimiterConfig.limit(primaryDataSource, acquireTimeout, meterRegistry);
+            replica = ConnectionLimiterConfig.limit(replicaDataSource, acquireTimeout, meterRegistry);
+        }
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(
+            @Value("${hr.datasource.read-your-writes-window:0s}") Duration window) {
+        return new ReadYourWritesInterceptor(window);
+    }
+}
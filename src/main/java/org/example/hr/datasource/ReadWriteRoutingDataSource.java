@@ -0,0 +1,59 @@
+package org.example.hr.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 读写分离路由数据源
+ * 读写事务路由到主库；只读事务 (@Transactional(readOnly = true)) 和事务外的读操作路由到从库；
+ * 当前线程被 {@link DataSourceRouting#onPrimary} 强制时一律走主库。
+ * <p>
+ * 事务管理器在事务开始时就会获取连接，而只读标记在获取连接之后才设置，
+ * 因此必须由 LazyConnectionDataSourceProxy 包装，推迟到执行第一条语句时再决定路由。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryCounter = routingCounter(meterRegistry, DataSourceRole.PRIMARY);
+        this.replicaCounter = routingCounter(meterRegistry, DataSourceRole.REPLICA);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRole role = currentRole();
+        (role == DataSourceRole.PRIMARY ? primaryCounter : replicaCounter).increment();
+        return role;
+    }
+
+    /**
+     * @return 当前线程下一次获取连接应使用的数据源
+     */
+    static DataSourceRole currentRole() {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            DataSourceRouting.markWrite();
+            return DataSourceRole.PRIMARY;
+        }
+        if (DataSourceRouting.isPrimaryForced()) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, DataSourceRole role) {
+        return Counter.builder("hr.datasource.routing")
+                .description("Connections obtained through the read/write routing data source")
+                .tag("target", role.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
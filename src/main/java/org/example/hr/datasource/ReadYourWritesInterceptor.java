@@ -0,0 +1,75 @@
+package org.example.hr.datasource;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.time.Duration;
+
+/**
+ * "读己之写"拦截器
+ * 请求中执行过写操作时在会话里记录写入时间；同一会话在随后的窗口期内的请求全部走主库，
+ * 避免从库复制延迟导致用户刚保存的数据在重定向后的列表页里看不到。
+ * 主库范围绑定在处理请求的线程上：流式导出等异步请求在第一次分派结束时 ({@link #afterConcurrentHandlingStarted}) 关闭范围，
+ * 异步处理结束后的再次分派不再打开；异步线程中执行的查询 (导出的游标读取) 不受窗口期影响，按事务类型路由。
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    static final String LAST_WRITE_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".LAST_WRITE";
+    private static final String SCOPE_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".SCOPE";
+
+    private final long windowMillis;
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        DataSourceRouting.consumeWriteMark(); // 清除线程上可能残留的标记
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true; // 异步结果的再次分派只写出响应，不再打开主库范围
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null && session.getAttribute(LAST_WRITE_ATTRIBUTE) instanceof Long lastWrite
+                && System.currentTimeMillis() - lastWrite < windowMillis) {
+            request.setAttribute(SCOPE_ATTRIBUTE, DataSourceRouting.primaryScope());
+        }
+        return true;
+    }
+
+    /**
+     * 在视图渲染 (或重定向) 之前记录写入时间，此时响应尚未提交，仍可以创建会话
+     */
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (DataSourceRouting.consumeWriteMark()) {
+            request.getSession().setAttribute(LAST_WRITE_ATTRIBUTE, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 异步请求的第一次分派结束时不会调用 afterCompletion，在这里关闭主库范围，
+     * 避免 FORCE_PRIMARY 残留在归还给线程池的 Tomcat 线程上
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        closeScope(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        closeScope(request);
+    }
+
+    private static void closeScope(HttpServletRequest request) {
+        DataSourceRouting.consumeWriteMark();
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof DataSourceRouting.Scope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.hr.export;
+
+import org.example.hr.pojo.EmployeeInf;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 员工导出文件的列定义 (表头与取值方式)
+ * 导出文件中同时包含部门/岗位的ID和名称，ID 列可直接用于批量导入。
+ */
+public final class EmployeeExportColumns {
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("员工ID", EmployeeInf::getEmpId),
+            new Column("姓名", EmployeeInf::getEmpName),
+            new Column("身份证号", EmployeeInf::getEmpCardId),
+            new Column("性别", e -> e.getEmpSex() == null ? null : (e.getEmpSex() == 1 ? "男" : (e.getEmpSex() == 2 ? "女" : "未知"))),
+            new Column("部门ID", e -> e.getDepartment() == null ? null : e.getDepartment().getDeptId()),
+            new Column("部门", e -> e.getDepartment() == null ? null : e.getDepartment().getDeptName()),
+            new Column("岗位ID", e -> e.getJob() == null ? null : e.getJob().getJobId()),
+            new Column("岗位", e -> e.getJob() == null ? null : e.getJob().getJobName()),
+            new Column("地址", EmployeeInf::getEmpAddress),
+            new Column("邮编", EmployeeInf::getEmpPostCode),
+            new Column("固话", EmployeeInf::getEmpTel),
+            new Column("手机", EmployeeInf::getEmpPhone),
+            new Column("QQ", EmployeeInf::getEmpQq),
+            new Column("邮箱", EmployeeInf::getEmpEmail),
+            new Column("政治面貌", EmployeeInf::getEmpParty),
+            new Column("生日", e -> formatDate(e.getEmpBirth(), DATE_FORMATTER)),
+            new Column("民族", EmployeeInf::getEmpRace),
+            new Column("学历", EmployeeInf::getEmpEdu),
+            new Column("专业", EmployeeInf::getEmpSpeciality),
+            new Column("爱好", EmployeeInf::getEmpHobby),
+            new Column("备注", EmployeeInf::getEmpRemark),
+            new Column("创建时间", e -> formatDate(e.getEmpCreateDate(), DATE_TIME_FORMATTER))
+    );
+
+    private static final List<String> HEADERS = COLUMNS.stream().map(Column::header).toList();
+
+    private EmployeeExportColumns() {
+    }
+
+    /**
+     * @return 导出文件的表头
+     */
+    public static List<String> headers() {
+        return HEADERS;
+    }
+
+    /**
+     * 按列定义取出一个员工的各列值
+     * @param employee 员工对象
+     * @return 与表头顺序一致的单元格值
+     */
+    public static List<Object> values(EmployeeInf employee) {
+        List<Object> values = new ArrayList<>(COLUMNS.size());
+        for (Column column : COLUMNS) {
+            values.add(column.extractor().apply(employee));
+        }
+        return values;
+    }
+
+    private static String formatDate(Date date, DateTimeFormatter formatter) {
+        return date == null ? null : formatter.format(date.toInstant());
+    }
+
+    private record Column(String header, Function<EmployeeInf, Object> extractor) {
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.hr.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 员工导出支持的文件格式
+ */
+public enum EmployeeExportFormat {
+
+    CSV("text/csv;charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    EmployeeExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * 在给定输出流上创建对应格式的写出器
+     * @param out 目标输出流 (写出器不负责关闭)
+     * @return 行写出器
+     * @throws IOException 写出文件头失败
+     */
+    public RowWriter open(OutputStream out) throws IOException {
+        return this == XLSX ? new XlsxRowWriter(out, "员工信息") : new CsvRowWriter(out);
+    }
+
+    /**
+     * 根据请求参数解析导出格式，无法识别时默认为 CSV
+     * @param value 请求参数值，如 "csv"、"xlsx"
+     * @return 导出格式
+     */
+    public static EmployeeExportFormat fromParam(String value) {
+        if (value != null) {
+            for (EmployeeExportFormat format : values()) {
+                if (format.extension.equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+        }
+        return CSV;
+    }
+}
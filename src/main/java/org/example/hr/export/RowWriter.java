@@ -0,0 +1,24 @@
+package org.example.hr.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 表格数据的逐行写出器
+ * 实现类只在内存中保留当前行，写出的数据直接进入底层输出流，适合大批量导出。
+ */
+public interface RowWriter {
+
+    /**
+     * 写出一行数据
+     * @param cells 单元格的值 (Number 按数值写出，其他类型按字符串写出，null 为空单元格)
+     * @throws IOException 写出失败
+     */
+    void writeRow(List<?> cells) throws IOException;
+
+    /**
+     * 写出文件尾并刷新底层输出流 (不关闭底层输出流)
+     * @throws IOException 写出失败
+     */
+    void finish() throws IOException;
+}
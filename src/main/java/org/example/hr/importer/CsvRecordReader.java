@@ -0,0 +1,107 @@
+package org.example.hr.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流式 CSV 记录读取器 (RFC 4180, UTF-8)
+ * 每次只解析一条记录，支持双引号包裹的字段、字段内的逗号/换行以及转义的双引号，
+ * 并跳过文件开头的 BOM。
+ */
+public class CsvRecordReader implements Closeable {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder(64);
+    private long lineNumber = 1;
+    private boolean eof;
+
+    public CsvRecordReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    /**
+     * 读取下一条记录
+     * @return 记录的各字段值，到达文件末尾时返回null
+     * @throws IOException 读取失败
+     */
+    public List<String> next() throws IOException {
+        if (eof) {
+            return null;
+        }
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean any = false;
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                eof = true;
+                if (!any && field.length() == 0 && record.isEmpty()) {
+                    return null;
+                }
+                record.add(field.toString());
+                return record;
+            }
+            any = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int nextChar = reader.read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (nextChar != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                lineNumber++;
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * @return 下一条记录开始处的行号 (从1开始)
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.hr.importer;
+
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.JobInf;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 将导入 CSV 的一行记录转换为员工对象并做字段校验
+ * 列通过表头名称定位，表头与员工导出文件一致 (见 EmployeeExportColumns)，
+ * 导出文件中的"员工ID"、"部门"、"岗位"、"创建时间"等只读列在导入时被忽略。
+ * 部门和岗位只按ID引用，ID 在导入开始时一次性加载到内存中校验。
+ */
+public class EmployeeCsvRowMapper {
+
+    /**
+     * 可导入的文本列：表头 -> (字段最大长度, 赋值方法)，长度与 employee_inf 表定义一致
+     */
+    private static final Map<String, TextColumn> TEXT_COLUMNS = Map.ofEntries(
+            Map.entry("姓名", new TextColumn(20, true, EmployeeInf::setEmpName)),
+            Map.entry("身份证号", new TextColumn(10, true, EmployeeInf::setEmpCardId)),
+            Map.entry("地址", new TextColumn(50, true, EmployeeInf::setEmpAddress)),
+            Map.entry("邮编", new TextColumn(6, false, EmployeeInf::setEmpPostCode)),
+            Map.entry("固话", new TextColumn(16, false, EmployeeInf::setEmpTel)),
+            Map.entry("手机", new TextColumn(11, false, EmployeeInf::setEmpPhone)),
+            Map.entry("QQ", new TextColumn(16, false, EmployeeInf::setEmpQq)),
+            Map.entry("邮箱", new TextColumn(16, false, EmployeeInf::setEmpEmail)),
+            Map.entry("政治面貌", new TextColumn(16, false, EmployeeInf::setEmpParty)),
+            Map.entry("民族", new TextColumn(16, false, EmployeeInf::setEmpRace)),
+            Map.entry("学历", new TextColumn(16, false, EmployeeInf::setEmpEdu)),
+            Map.entry("专业", new TextColumn(16, false, EmployeeInf::setEmpSpeciality)),
+            Map.entry("爱好", new TextColumn(100, false, EmployeeInf::setEmpHobby)),
+            Map.entry("备注", new TextColumn(500, false, EmployeeInf::setEmpRemark))
+    );
+
+    private static final String SEX_HEADER = "性别";
+    private static final String BIRTH_HEADER = "生日";
+    private static final String DEPT_ID_HEADER = "部门ID";
+    private static final String JOB_ID_HEADER = "岗位ID";
+
+    private final Map<String, Integer> headerIndex = new HashMap<>();
+    private final Set<Integer> deptIds;
+    private final Set<Integer> jobIds;
+
+    /**
+     * @param headers CSV 表头
+     * @param deptIds 数据库中存在的部门ID
+     * @param jobIds 数据库中存在的岗位ID
+     * @throws IllegalArgumentException 缺少必需的列时
+     */
+    public EmployeeCsvRowMapper(List<String> headers, Set<Integer> deptIds, Set<Integer> jobIds) {
+        for (int i = 0; i < headers.size(); i++) {
+            headerIndex.putIfAbsent(headers.get(i).trim(), i);
+        }
+        List<String> missing = new ArrayList<>();
+        TEXT_COLUMNS.forEach((header, column) -> {
+            if (column.required() && !headerIndex.containsKey(header)) {
+                missing.add(header);
+            }
+        });
+        for (String header : List.of(DEPT_ID_HEADER, JOB_ID_HEADER)) {
+            if (!headerIndex.containsKey(header)) {
+                missing.add(header);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("导入文件缺少必需的列: " + String.join(", ", missing));
+        }
+        this.deptIds = deptIds;
+        this.jobIds = jobIds;
+    }
+
+    /**
+     * 将一行记录转换为员工对象
+     * @param record CSV 记录
+     * @param errors 收集该行的校验错误
+     * @return 员工对象；存在校验错误时返回null
+     */
+    public EmployeeInf map(List<String> record, List<String> errors) {
+        EmployeeInf employee = new EmployeeInf();
+        TEXT_COLUMNS.forEach((header, column) -> {
+            String value = value(record, header);
+            if (value == null) {
+                if (column.required()) {
+                    errors.add(header + "不能为空");
+                }
+            } else if (value.length() > column.maxLength()) {
+                errors.add(header + "长度不能超过" + column.maxLength());
+            } else {
+                column.setter().accept(employee, value);
+            }
+        });
+
+        String sex = value(record, SEX_HEADER);
+        if (sex != null) {
+            switch (sex) {
+                case "男", "1" -> employee.setEmpSex(1);
+                case "女", "2" -> employee.setEmpSex(2);
+                default -> errors.add("性别只能为 男/女 或 1/2");
+            }
+        }
+
+        String birth = value(record, BIRTH_HEADER);
+        if (birth != null) {
+            try {
+                employee.setEmpBirth(Date.from(LocalDate.parse(birth).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            } catch (DateTimeParseException e) {
+                errors.add("生日格式应为 yyyy-MM-dd");
+            }
+        }
+
+        Integer deptId = parseReference(record, DEPT_ID_HEADER, deptIds, errors);
+        if (deptId != null) {
+            employee.setDepartment(new DeptInf(deptId, null, null));
+        }
+        Integer jobId = parseReference(record, JOB_ID_HEADER, jobIds, errors);
+        if (jobId != null) {
+            employee.setJob(new JobInf(jobId, null, null));
+        }
+        return errors.isEmpty() ? employee : null;
+    }
+
+    /**
+     * @return 记录是否为空行 (所有字段均为空白)
+     */
+    public static boolean isBlank(List<String> record) {
+        for (String value : record) {
+            if (value != null && !value.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Integer parseReference(List<String> record, String header, Set<Integer> validIds, List<String> errors) {
+        String value = value(record, header);
+        if (value == null) {
+            errors.add(header + "不能为空");
+            return null;
+        }
+        try {
+            Integer id = Integer.valueOf(value);
+            if (!validIds.contains(id)) {
+                errors.add(header + " " + id + " 不存在");
+                return null;
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            errors.add(header + "必须为整数");
+            return null;
+        }
+    }
+
+    /**
+     * 按表头取出字段值，去除首尾空白，空字符串视为null
+     */
+    private String value(List<String> record, String header) {
+        Integer index = headerIndex.get(header);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private record TextColumn(int maxLength, boolean required, BiConsumer<EmployeeInf, String> setter) {
+    }
+}
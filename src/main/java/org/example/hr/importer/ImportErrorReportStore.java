@@ -0,0 +1,70 @@
+package org.example.hr.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 导入错误报告的临时文件存储
+ * 报告按导入标识登记，只保留最近的若干份，淘汰时删除对应的临时文件。
+ */
+@Component
+public class ImportErrorReportStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportErrorReportStore.class);
+
+    private final Map<String, Path> reports;
+    private Path directory;
+
+    public ImportErrorReportStore(@Value("${hr.import.max-reports:50}") int maxReports) {
+        this.reports = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Path> eldest) {
+                if (size() <= maxReports) {
+                    return false;
+                }
+                deleteQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 为一次导入创建并登记报告文件
+     * @param importId 导入标识
+     * @return 报告文件路径
+     * @throws IOException 创建临时文件失败
+     */
+    public synchronized Path create(String importId) throws IOException {
+        if (directory == null || !Files.isDirectory(directory)) {
+            directory = Files.createTempDirectory("hr-import-reports");
+        }
+        Path report = Files.createTempFile(directory, "import-errors-", ".csv");
+        reports.put(importId, report);
+        return report;
+    }
+
+    /**
+     * @param importId 导入标识
+     * @return 报告文件路径，不存在或已被淘汰时返回null
+     */
+    public synchronized Path find(String importId) {
+        Path report = reports.get(importId);
+        return report != null && Files.exists(report) ? report : null;
+    }
+
+    private static void deleteQuietly(Path report) {
+        try {
+            Files.deleteIfExists(report);
+        } catch (IOException e) {
+            logger.warn("Failed to delete import error report: {}", report, e);
+        }
+    }
+}
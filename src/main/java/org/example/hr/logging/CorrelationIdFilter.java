@@ -0,0 +1,95 @@
+package org.example.hr.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 请求关联ID过滤器
+ * 每个请求在 MDC 中放入 requestId (沿用上游传入的 X-Request-Id，否则生成一个)，并在响应头中返回，
+ * 同一请求产生的所有日志都带有这个ID，JSON 日志中作为独立字段输出。
+ * <p>
+ * 同时按 hr.logging.sql-sample-rate 决定本请求是否输出逐条 SQL 的 DEBUG 日志，
+ * 抽中时在 MDC 中放入 sqlSampled 标记，由 {@link SqlLogSamplingTurboFilter} 据此放行。
+ * 流式导出等异步请求在再次分派时恢复同一个ID和抽样结果。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_REQUEST_ID = "requestId";
+    public static final String MDC_SQL_SAMPLED = "sqlSampled";
+
+    private static final String REQUEST_ID_ATTRIBUTE = CorrelationIdFilter.class.getName() + ".REQUEST_ID";
+    private static final String SQL_SAMPLED_ATTRIBUTE = CorrelationIdFilter.class.getName() + ".SQL_SAMPLED";
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    private final double sqlSampleRate;
+
+    public CorrelationIdFilter(@Value("${hr.logging.sql-sample-rate:1.0}") double sqlSampleRate) {
+        this.sqlSampleRate = sqlSampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = (String) request.getAttribute(REQUEST_ID_ATTRIBUTE);
+        Boolean sqlSampled = (Boolean) request.getAttribute(SQL_SAMPLED_ATTRIBUTE);
+        if (requestId == null) { // 第一次分派
+            requestId = requestId(request.getHeader(HEADER));
+            sqlSampled = sqlSampleRate >= 1.0 || (sqlSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sqlSampleRate);
+            request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+            request.setAttribute(SQL_SAMPLED_ATTRIBUTE, sqlSampled);
+            response.setHeader(HEADER, requestId);
+        }
+        MDC.put(MDC_REQUEST_ID, requestId);
+        if (sqlSampled) {
+            MDC.put(MDC_SQL_SAMPLED, "true");
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_REQUEST_ID);
+            MDC.remove(MDC_SQL_SAMPLED);
+        }
+    }
+
+    /**
+     * @return 上游传入的合法ID，否则新生成的16位十六进制ID
+     */
+    private static String requestId(String header) {
+        if (header != null && !header.isEmpty() && header.length() <= MAX_REQUEST_ID_LENGTH && isSafe(header)) {
+            return header;
+        }
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * 只接受字母、数字和 - _ . 组成的ID，避免日志注入
+     */
+    private static boolean isSafe(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '-' || c == '_' || c == '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.hr.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * SQL 日志抽样过滤器 (logback TurboFilter，在 logback-spring.xml 的 prod 配置中启用)
+ * MyBatis 以 Mapper 语句ID为 logger 名输出每条 SQL、参数和结果行数的 DEBUG 日志。
+ * 本过滤器对这些 logger 的 DEBUG/TRACE 日志只在 MDC 带有 sqlSampled 标记的请求中放行
+ * (标记由 {@link CorrelationIdFilter} 按 hr.logging.sql-sample-rate 设置)，其余一律拒绝。
+ * <p>
+ * TurboFilter 在创建日志事件之前执行，被拒绝时 isDebugEnabled() 直接返回 false，
+ * MyBatis 不会拼接 SQL 和参数字符串，未抽中的请求几乎没有额外开销。
+ * 请求之外的线程 (启动、定时任务) 没有标记，不输出 SQL 日志。
+ */
+public class SqlLogSamplingTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "org.example.hr.mapper.";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.levelInt > Level.DEBUG_INT || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(CorrelationIdFilter.MDC_SQL_SAMPLED) != null ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    /**
+     * @param loggerPrefix 受抽样控制的 logger 名前缀，默认是 Mapper 包
+     */
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public String getLoggerPrefix() {
+        return loggerPrefix;
+    }
+}
@@ -1,10 +1,15 @@
 package org.example.hr.mapper;
 
+import org.apache.ibatis.annotations.CacheNamespaceRef;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select; // 用于注解SQL
 import org.example.hr.pojo.DeptInf;
+import java.util.Collection;
 import java.util.List;
 
 // 在 HrApplication.java 中已经配置了 @MapperScan("org.example.hr.mapper")，所以这里不需要 @Mapper
+// 注解声明的语句 (findByName) 与 DeptInfMapper.xml 共用同一个二级缓存
+@CacheNamespaceRef(DeptInfMapper.class)
 public interface DeptInfMapper {
 
     /**
@@ -20,12 +25,19 @@ public interface DeptInfMapper {
      */
     DeptInf findById(Integer deptId);
 
+    /**
+     * 根据多个部门ID批量查询部门信息
+     * @param ids 部门ID (不能为空)
+     * @return 存在的部门，顺序不保证与 ids 一致
+     */
+    List<DeptInf> findByIds(@Param("ids") Collection<Integer> ids);
+
     /**
      * 根据部门名称查询部门信息 (使用注解SQL示例)
      * @param deptName 部门名称
      * @return 对应的部门信息，如果不存在则返回null
      */
-    @Select("SELECT dept_id, dept_name, dept_remark FROM dept_inf WHERE dept_name = #{deptName}")
+    @Select("SELECT dept_id, dept_name, dept_remark, version FROM dept_inf WHERE dept_name = #{deptName}")
     DeptInf findByName(String deptName);
 
     /**
@@ -37,8 +49,9 @@ public interface DeptInfMapper {
 
     /**
      * 更新部门信息
+     * 版本号加1；deptInf.version 不为null时只在版本号一致时更新 (乐观锁)
      * @param deptInf 待更新的部门对象 (deptId必须存在且有效)
-     * @return 受影响的行数
+     * @return 受影响的行数，0 表示部门不存在或版本号已过期
      */
     int update(DeptInf deptInf);
 
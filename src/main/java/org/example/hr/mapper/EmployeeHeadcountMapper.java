@@ -0,0 +1,42 @@
+package org.example.hr.mapper;
+
+import org.example.hr.pojo.Headcount;
+
+import java.util.List;
+
+/**
+ * 员工人数汇总表 (emp_headcount) 的数据访问
+ */
+public interface EmployeeHeadcountMapper {
+
+    /**
+     * 查询汇总表中人数不为0的全部分组 (首页统计使用，行数等于分组数，不扫描员工表)
+     * @return 汇总行，按维度和取值排序
+     */
+    List<Headcount> findAll();
+
+    /**
+     * 查询并锁定汇总表的全部行 (对账时阻塞并发的人数增减，直到对账事务提交)
+     * @return 汇总行
+     */
+    List<Headcount> findAllForUpdate();
+
+    /**
+     * 从员工表按各维度分组统计实际人数 (对账使用，会扫描员工表)
+     * @return 实际人数，NULL 取值记为空字符串
+     */
+    List<Headcount> countActual();
+
+    /**
+     * 按增减量调整汇总行，分组不存在时插入
+     * @param deltas 增减量 (headcount 为增减的人数)，不能为空
+     * @return 受影响的行数
+     */
+    int adjust(List<Headcount> deltas);
+
+    /**
+     * 删除人数为0的汇总行
+     * @return 删除的行数
+     */
+    int deleteEmpty();
+}
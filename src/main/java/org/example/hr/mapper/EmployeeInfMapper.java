@@ -1,6 +1,11 @@
 package org.example.hr.mapper;
 
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
+import org.example.hr.pojo.EmployeeFacetCount;
 import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.EmployeeListItem;
 import java.util.List;
 import java.util.Map; // 用于动态条件查询
 
@@ -26,6 +31,19 @@ public interface EmployeeInfMapper {
      */
     List<EmployeeInf> findAllWithDetails();
 
+    /**
+     * 游标分页查询员工信息 (包含部门和岗位详情)
+     * afterId 与 beforeId 同时只应传一个：传 afterId 时按 emp_id 升序取其后的记录，
+     * 传 beforeId 时按 emp_id 降序取其前的记录 (调用方需自行反转)
+     * @param afterId 上一页最后一条记录的ID (不含)，可为null
+     * @param beforeId 下一页第一条记录的ID (不含)，可为null
+     * @param limit 最多返回的行数
+     * @return 员工列表
+     */
+    List<EmployeeInf> findAllWithDetailsPage(@Param("afterId") Integer afterId,
+                                             @Param("beforeId") Integer beforeId,
+                                             @Param("limit") int limit);
+
     /**
      * 根据员工ID查询员工信息，并包含其部门和岗位详情 (关联查询)
      * @param empId 员工ID
@@ -33,6 +51,14 @@ public interface EmployeeInfMapper {
      */
     EmployeeInf findByIdWithDetails(Integer empId);
 
+    /**
+     * 锁定员工行 (SELECT ... FOR UPDATE) 并读取部门ID、岗位ID、性别、学历等低基数字段，用于修改/删除时维护人数汇总和属性索引
+     * 必须在事务内调用
+     * @param empId 员工ID
+     * @return 只填充 empId、empName、version、department.deptId、job.jobId、empSex、empEdu、empParty、empRace 的员工对象，不存在时返回null
+     */
+    EmployeeInf lockForUpdate(Integer empId);
+
     /**
      * 新增员工信息
      * @param employeeInf 待新增的员工对象
@@ -42,8 +68,9 @@ public interface EmployeeInfMapper {
 
     /**
      * 更新员工信息 (会使用动态SQL)
+     * 版本号加1；employeeInf.version 不为null时只在版本号一致时更新 (乐观锁)
      * @param employeeInf 待更新的员工对象
-     * @return 受影响的行数
+     * @return 受影响的行数，0 表示员工不存在或版本号已过期
      */
     int update(EmployeeInf employeeInf);
 
@@ -56,11 +83,62 @@ public interface EmployeeInfMapper {
 
     /**
      * 根据动态条件查询员工信息 (示例)
-     * @param params 包含查询条件的Map，例如: empName, deptId, jobId
+     * @param params 包含查询条件的Map，例如: empName, deptId, jobId;
+     *               可选的游标分页参数: afterId / beforeId / limit (含义同 findAllWithDetailsPage)
+     *               可选的候选主键集合: empIds (由姓名索引或属性位图索引解析，空集合表示没有匹配)
      * @return 符合条件的员工列表 (包含详情)
      */
     List<EmployeeInf> findByCriteria(Map<String, Object> params);
 
+    /**
+     * 根据动态条件游标分页查询员工列表行 (精简投影，只包含列表展示的字段)
+     * @param params 查询条件及游标分页参数，同 findByCriteria；不传条件时查询全部员工
+     * @return 员工列表行
+     */
+    List<EmployeeListItem> findListByCriteria(Map<String, Object> params);
+
+    /**
+     * 根据动态条件游标分页查询员工，只取指定的列 (不联表，部门/岗位只填ID)
+     * @param params 查询条件及游标分页参数，同 findByCriteria；columns 为要查询的员工表列名 (emp_id 总会查询)
+     * @return 员工列表，未查询的字段为null
+     */
+    List<EmployeeInf> findColumnsByCriteria(Map<String, Object> params);
+
+    /**
+     * 以游标方式流式读取所有员工信息 (包含部门和岗位详情)，用于大批量导出
+     * 必须在事务内消费并关闭游标
+     * @return 员工游标
+     */
+    Cursor<EmployeeInf> streamAllWithDetails();
+
+    /**
+     * 以游标方式流式读取符合条件的员工信息 (包含部门和岗位详情)，用于大批量导出
+     * 必须在事务内消费并关闭游标
+     * @param params 查询条件，同 findByCriteria
+     * @return 员工游标
+     */
+    Cursor<EmployeeInf> streamByCriteria(Map<String, Object> params);
+
+    /**
+     * 逐行扫描所有员工的ID和姓名 (只填充 empId 和 empName)，用于重建姓名索引
+     * @param handler 逐行处理结果
+     */
+    void scanNames(ResultHandler<EmployeeInf> handler);
+
+    /**
+     * 逐行扫描所有员工的ID和低基数字段 (填充 empId、department.deptId、job.jobId、empSex、empEdu、empParty、empRace)，
+     * 用于重建属性位图索引
+     * @param handler 逐行处理结果
+     */
+    void scanAttributes(ResultHandler<EmployeeInf> handler);
+
+    /**
+     * 按性别、部门、岗位、学历、政治面貌、民族分组统计员工人数 (一次扫描)，用于搜索页的分面统计
+     * @param params 查询条件，键同 findByCriteria；调用方通常只传入非分组字段的条件
+     * @return 每个取值组合一行
+     */
+    List<EmployeeFacetCount> countFacets(Map<String, Object> params);
+
     /**
      * 根据部门ID统计员工数量 (用于删除部门/岗位前的检查)
      * @param deptId 部门ID
@@ -1,10 +1,15 @@
 package org.example.hr.mapper;
 
+import org.apache.ibatis.annotations.CacheNamespaceRef;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.example.hr.pojo.JobInf;
+import java.util.Collection;
 import java.util.List;
 
 // 由于 HrApplication 中有 @MapperScan("org.example.hr.mapper")，这里无需 @Mapper
+// 注解声明的语句 (findByName) 与 JobInfMapper.xml 共用同一个二级缓存
+@CacheNamespaceRef(JobInfMapper.class)
 public interface JobInfMapper {
     /**
      * 查询所有岗位信息
@@ -17,12 +22,18 @@ public interface JobInfMapper {
      * @return 对应的岗位信息，如果不存在则返回null
      */
     JobInf findById(Integer jobId);
+    /**
+     * 根据多个岗位ID批量查询岗位信息
+     * @param ids 岗位ID (不能为空)
+     * @return 存在的岗位，顺序不保证与 ids 一致
+     */
+    List<JobInf> findByIds(@Param("ids") Collection<Integer> ids);
     /**
      * 根据岗位名称查询岗位信息 (可以使用注解或XML实现)
      * @param jobName 岗位名称
      * @return 对应的岗位信息，如果不存在则返回null
      */
-    @Select("SELECT job_id, job_name, job_remark FROM job_inf WHERE job_name = #{jobName}")
+    @Select("SELECT job_id, job_name, job_remark, version FROM job_inf WHERE job_name = #{jobName}")
     JobInf findByName(String jobName);
     /**
      * 新增岗位信息
@@ -32,8 +43,9 @@ public interface JobInfMapper {
     int insert(JobInf jobInf);
     /**
      * 更新岗位信息
+     * 版本号加1；jobInf.version 不为null时只在版本号一致时更新 (乐观锁)
      * @param jobInf 待更新的岗位对象 (jobId必须存在且有效)
-     * @return 受影响的行数
+     * @return 受影响的行数，0 表示岗位不存在或版本号已过期
      */
     int update(JobInf jobInf);
     /**
@@ -0,0 +1,43 @@
+package org.example.hr.monitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.example.hr.cache.CaffeineMyBatisCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * MyBatis 二级缓存指标
+ * 为每个使用 {@link CaffeineMyBatisCache} 的 Mapper 命名空间注册 Caffeine 缓存指标 (cache 标签为命名空间)：
+ * cache.gets (result=hit/miss)、cache.puts、cache.evictions、cache.size 等，Prometheus 从 /actuator/prometheus 抓取。
+ */
+@Component
+public class MyBatisCacheMetrics implements MeterBinder {
+
+    /**
+     * 注入 SqlSessionFactory 保证 Mapper XML (以及其中声明的缓存) 已经解析完成
+     */
+    private final SqlSessionFactory sqlSessionFactory;
+
+    public MyBatisCacheMetrics(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String namespace : sqlSessionFactory.getConfiguration().getCacheNames()) {
+            CaffeineMyBatisCache cache = CaffeineMyBatisCache.get(namespace);
+            if (cache != null) {
+                CaffeineCacheMetrics.monitor(registry, cache.getNativeCache(), simpleName(namespace));
+            }
+        }
+    }
+
+    /**
+     * org.example.hr.mapper.DeptInfMapper -> DeptInfMapper，与 hr.mybatis.statement 的语句标签一致
+     */
+    private static String simpleName(String namespace) {
+        return namespace.substring(namespace.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,437 @@
+package org.example.hr.monitor;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.example.hr.search.EmployeeAttribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 执行计划守卫
+ * 对 org.example.hr.mapper 下的每条查询、更新、删除语句 (Mapper XML 和 @Select 注解) 执行 EXPLAIN，
+ * 员工搜索语句按表单条件的每种组合 (以及列表页的翻页方向) 展开，找出以下问题：
+ * <ul>
+ *     <li>在大表 (行数达到 large-table-rows) 上做全表扫描或全索引扫描 (type=ALL/index)，
+ *         且预估扫描行数超过表行数的 max-scan-fraction</li>
+ *     <li>需要额外排序 (Using filesort) 的行数达到 max-filesort-rows</li>
+ * </ul>
+ * 有意读取整表的语句 (导出、重建索引、对账等) 在 allowed-statements 中列出，
+ * 格式为 Mapper.语句、Mapper.语句[条件组合]，或 Mapper.语句[attributes] (只带低基数字段条件的全部组合)。插入语句不会扫描已有数据，不做检查。
+ * <p>
+ * 参数取值来自数据库中的真实数据 (部门、岗位等低基数字段取人数居中的取值)，执行计划与生产数据的分布一致；
+ * 只支持 MySQL 的 EXPLAIN 输出，表行数和列值分布越接近生产，结果越有意义。
+ * hr.db.plan-guard.mode：off 不检查；report 在应用启动完成后检查并记录日志；fail 发现问题时终止启动。
+ * 测试 QueryPlanGuardTests 在造好数据的库上执行同样的检查。
+ */
+@Component
+public class QueryPlanGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanGuard.class);
+
+    private static final String MAPPER_PACKAGE = "org.example.hr.mapper.";
+    /**
+     * 带员工搜索条件 (criteriaCondition) 的语句
+     */
+    private static final Set<String> CRITERIA_STATEMENTS = Set.of(
+            "EmployeeInfMapper.findByCriteria", "EmployeeInfMapper.findListByCriteria", "EmployeeInfMapper.streamByCriteria",
+            "EmployeeInfMapper.countFacets", "EmployeeInfMapper.findColumnsByCriteria");
+    /**
+     * 列表页和 GraphQL 接口使用的游标分页语句，按首页、向后翻页、向前翻页分别检查
+     */
+    private static final Set<String> PAGED_STATEMENTS = Set.of(
+            "EmployeeInfMapper.findListByCriteria", "EmployeeInfMapper.findAllWithDetailsPage",
+            "EmployeeInfMapper.findColumnsByCriteria");
+    /**
+     * 搜索表单的条件 (与 EmployeeInfController.buildSearchParams 一致)
+     */
+    private static final List<String> CRITERIA = List.of("empName", "empPhone", "empCardId", "empSex", "deptId", "jobId",
+            "empEdu", "empParty", "empRace");
+    /**
+     * allowed-statements 中代表"只带低基数字段条件 (或不带条件) 的全部组合"的写法，例如 EmployeeInfMapper.findByCriteria[attributes]
+     */
+    private static final String ATTRIBUTES_ONLY = "attributes";
+    /**
+     * 列表页默认每页条数加1 (EmployeeInfService.findEmployeesPage 多取一行判断是否有下一页)
+     */
+    private static final int PAGE_LIMIT = 21;
+    private static final Pattern TABLE_ALIAS = Pattern.compile(
+            "\\b(?:FROM|JOIN|UPDATE)\\s+`?(\\w+)`?(?:\\s+(?:AS\\s+)?(?!(?:WHERE|LEFT|RIGHT|INNER|JOIN|ON|ORDER|GROUP|LIMIT|SET|FOR|UNION)\\b)(\\w+))?",
+            Pattern.CASE_INSENSITIVE);
+
+    public enum Mode {
+        OFF, REPORT, FAIL
+    }
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final DataSource dataSource;
+    private final Mode mode;
+    private final double maxScanFraction;
+    private final long largeTableRows;
+    private final long maxFilesortRows;
+    private final Set<String> allowedStatements;
+
+    public QueryPlanGuard(SqlSessionFactory sqlSessionFactory, DataSource dataSource,
+                          @Value("${hr.db.plan-guard.mode:off}") Mode mode,
+                          @Value("${hr.db.plan-guard.max-scan-fraction:0.2}") double maxScanFraction,
+                          @Value("${hr.db.plan-guard.large-table-rows:10000}") long largeTableRows,
+                          @Value("${hr.db.plan-guard.max-filesort-rows:1000}") long maxFilesortRows,
+                          @Value("${hr.db.plan-guard.allowed-statements:}") Set<String> allowedStatements) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.dataSource = dataSource;
+        this.mode = mode;
+        this.maxScanFraction = maxScanFraction;
+        this.largeTableRows = largeTableRows;
+        this.maxFilesortRows = maxFilesortRows;
+        this.allowedStatements = allowedStatements;
+    }
+
+    /**
+     * 应用启动完成后按 hr.db.plan-guard.mode 检查
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        Report report;
+        try {
+            report = check();
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Query plan guard failed: {}", e.getMessage());
+            return;
+        }
+        for (Finding finding : report.violations()) {
+            logger.warn("Query plan violation: {}", finding);
+        }
+        logger.info("Query plan guard: {} plans explained, {} violations, {} allowed full scans",
+                report.explained(), report.violations().size(), report.allowed().size());
+        if (mode == Mode.FAIL && !report.violations().isEmpty()) {
+            throw new IllegalStateException(report.violations().size() + " mapper statements have inefficient plans, first: "
+                    + report.violations().get(0));
+        }
+    }
+
+    /**
+     * 对所有语句执行 EXPLAIN
+     * @return 检查结果；数据库不是 MySQL 时不做检查，返回空结果
+     */
+    public Report check() throws SQLException {
+        List<Finding> violations = new ArrayList<>();
+        List<Finding> allowed = new ArrayList<>();
+        int explained = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                logger.info("Query plan guard skipped: EXPLAIN output of {} is not supported", product);
+                return new Report(0, violations, allowed);
+            }
+            Map<String, Long> tableRows = tableRows(connection);
+            SampleParameters samples = SampleParameters.load(connection);
+            for (MappedStatement statement : statements()) {
+                String name = shortName(statement.getId());
+                for (Map.Entry<String, Object> variant : variants(name, samples).entrySet()) {
+                    for (Finding finding : explain(connection, statement, name, variant.getKey(), variant.getValue(), tableRows)) {
+                        boolean isAllowed = allowedStatements.contains(name)
+                                || allowedStatements.contains(name + "[" + variant.getKey() + "]")
+                                || (allowedStatements.contains(name + "[" + ATTRIBUTES_ONLY + "]") && isAttributesOnly(variant.getKey()));
+                        (isAllowed ? allowed : violations).add(finding);
+                    }
+                    explained++;
+                }
+            }
+        }
+        return new Report(explained, violations, allowed);
+    }
+
+    /**
+     * @return 需要检查的语句 (不含插入语句和 selectKey)，按ID排序
+     */
+    private List<MappedStatement> statements() {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        Map<String, MappedStatement> statements = new TreeMap<>();
+        // getMappedStatements() 中同一语句会以完整ID和简称各出现一次
+        for (Object value : configuration.getMappedStatements()) {
+            if (value instanceof MappedStatement statement && statement.getId().startsWith(MAPPER_PACKAGE)
+                    && !statement.getId().endsWith("!selectKey")
+                    && statement.getSqlCommandType() != SqlCommandType.INSERT) {
+                statements.put(statement.getId(), statement);
+            }
+        }
+        return new ArrayList<>(statements.values());
+    }
+
+    /**
+     * @return 变体名称到参数对象的映射；普通语句只有一个变体 (名称为空字符串)
+     */
+    private Map<String, Object> variants(String statement, SampleParameters samples) {
+        Map<String, Object> variants = new LinkedHashMap<>();
+        if (CRITERIA_STATEMENTS.contains(statement)) {
+            for (int mask = 0; mask < 1 << CRITERIA.size(); mask++) {
+                Map<String, Object> params = new HashMap<>();
+                StringJoiner shape = new StringJoiner("+");
+                for (int i = 0; i < CRITERIA.size(); i++) {
+                    if ((mask & 1 << i) != 0) {
+                        params.put(CRITERIA.get(i), samples.get(CRITERIA.get(i)));
+                        shape.add(CRITERIA.get(i));
+                    }
+                }
+                if (params.containsKey("empName")) {
+                    // 姓名索引就绪时，姓名条件会附带候选主键 (见 EmployeeInfService.resolveIndexedCriteria)
+                    params.put("empIds", samples.get("empIds"));
+                }
+                addPageVariants(variants, statement, mask == 0 ? "none" : shape.toString(), params, samples);
+            }
+        } else {
+            addPageVariants(variants, statement, "", samples, samples);
+        }
+        return variants;
+    }
+
+    private void addPageVariants(Map<String, Object> variants, String statement, String shape,
+                                 Map<String, Object> params, SampleParameters samples) {
+        if (!PAGED_STATEMENTS.contains(statement)) {
+            variants.put(shape, params);
+            return;
+        }
+        String prefix = shape.isEmpty() ? "" : shape + ",";
+        Map<String, Object> first = new HashMap<>(params);
+        first.put("afterId", null);
+        first.put("beforeId", null);
+        first.put("limit", PAGE_LIMIT);
+        variants.put(prefix + "first", first);
+        Map<String, Object> after = new HashMap<>(first);
+        after.put("afterId", samples.get("empId"));
+        variants.put(prefix + "after", after);
+        Map<String, Object> before = new HashMap<>(first);
+        before.put("beforeId", samples.get("empId"));
+        variants.put(prefix + "before", before);
+    }
+
+    private List<Finding> explain(Connection connection, MappedStatement statement, String name, String variant,
+                                  Object params, Map<String, Long> tableRows) throws SQLException {
+        BoundSql boundSql = statement.getBoundSql(params);
+        Map<String, String> aliases = aliases(boundSql.getSql());
+        List<Finding> findings = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+            new DefaultParameterHandler(statement, params, boundSql).setParameters(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String alias = rs.getString("table");
+                    String table = aliases.getOrDefault(alias, alias);
+                    long total = table == null ? 0 : tableRows.getOrDefault(table.toLowerCase(Locale.ROOT), 0L);
+                    String type = rs.getString("type");
+                    long rows = parseRows(rs.getString("rows"));
+                    String extra = rs.getString("Extra");
+                    String problem = null;
+                    if (total >= largeTableRows && ("ALL".equals(type) || "index".equals(type))
+                            && rows > total * maxScanFraction) {
+                        problem = "full scan";
+                    } else if (extra != null && extra.contains("Using filesort") && rows >= maxFilesortRows) {
+                        problem = "filesort";
+                    }
+                    if (problem != null) {
+                        findings.add(new Finding(name, variant, table, type, rs.getString("key"), rows, total, extra, problem));
+                    }
+                }
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * @return 当前库各表的预估行数 (information_schema，表名小写)
+     */
+    private static Map<String, Long> tableRows(Connection connection) throws SQLException {
+        Map<String, Long> rows = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT TABLE_NAME, TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE()")) {
+            while (rs.next()) {
+                rows.put(rs.getString(1).toLowerCase(Locale.ROOT), rs.getLong(2));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 从 SQL 中解析表别名 (EXPLAIN 的 table 列显示别名)
+     */
+    private static Map<String, String> aliases(String sql) {
+        Map<String, String> aliases = new HashMap<>();
+        Matcher matcher = TABLE_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            String table = matcher.group(1);
+            aliases.put(table, table);
+            if (matcher.group(2) != null) {
+                aliases.put(matcher.group(2), table);
+            }
+        }
+        return aliases;
+    }
+
+    /**
+     * rows 列一般是整数，MariaDB 使用 rowid 过滤时带有过滤比例，例如 "1 (33%)"
+     */
+    private static long parseRows(String rows) {
+        if (rows == null) {
+            return 0;
+        }
+        int end = 0;
+        while (end < rows.length() && Character.isDigit(rows.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? 0 : Long.parseLong(rows.substring(0, end));
+    }
+
+    /**
+     * @param variant 变体名称，例如 deptId+empSex 或 deptId+empSex,after
+     * @return 条件组合是否只包含低基数字段 ({@link EmployeeAttribute}) 或不带条件
+     */
+    private static boolean isAttributesOnly(String variant) {
+        String shape = variant.split(",")[0];
+        if (shape.isEmpty()) {
+            return false; // 普通语句
+        }
+        if (shape.equals("none")) {
+            return true;
+        }
+        for (String criterion : shape.split("\\+")) {
+            if (Arrays.stream(EmployeeAttribute.values()).noneMatch(attribute -> attribute.getParam().equals(criterion))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * org.example.hr.mapper.EmployeeInfMapper.findByCriteria -> EmployeeInfMapper.findByCriteria
+     */
+    private static String shortName(String id) {
+        return id.substring(MAPPER_PACKAGE.length());
+    }
+
+    /**
+     * 检查结果
+     * @param explained 执行 EXPLAIN 的次数 (语句 × 变体)
+     * @param violations 有问题的执行计划
+     * @param allowed 在 allowed-statements 中列出、不算作问题的执行计划
+     */
+    public record Report(int explained, List<Finding> violations, List<Finding> allowed) {
+    }
+
+    /**
+     * EXPLAIN 中有问题的一行
+     * @param statement Mapper 语句，例如 EmployeeInfMapper.findByCriteria
+     * @param variant 条件组合及翻页方向，例如 deptId+empSex,after；普通语句为空字符串
+     * @param table 表名
+     * @param type 访问方式
+     * @param key 使用的索引，未使用索引时为null
+     * @param rows 预估扫描行数
+     * @param tableRows 表的预估行数
+     * @param extra EXPLAIN 的 Extra 列
+     * @param problem full scan 或 filesort
+     */
+    public record Finding(String statement, String variant, String table, String type, String key,
+                          long rows, long tableRows, String extra, String problem) {
+
+        @Override
+        public String toString() {
+            return statement + (variant.isEmpty() ? "" : "[" + variant + "]") + " " + problem + " on " + table
+                    + ": type=" + type + " key=" + key + " rows=" + rows + "/" + tableRows + " extra=" + extra;
+        }
+    }
+
+    /**
+     * EXPLAIN 使用的参数：按属性名取值的 Map，取不到的属性按名称给出示例值
+     * 部门、岗位、学历、政治面貌、民族取人数居中的取值，员工ID取主键范围的中点，手机号、身份证号取库中已有的值。
+     */
+    private static final class SampleParameters extends HashMap<String, Object> {
+
+        private static SampleParameters load(Connection connection) throws SQLException {
+            SampleParameters samples = new SampleParameters();
+            samples.put("deptId", medianFrequencyValue(connection, "emp_dept_id", 1));
+            samples.put("jobId", medianFrequencyValue(connection, "emp_job_id", 1));
+            samples.put("empEdu", medianFrequencyValue(connection, "emp_edu", "本科"));
+            samples.put("empParty", medianFrequencyValue(connection, "emp_party", "群众"));
+            samples.put("empRace", medianFrequencyValue(connection, "emp_race", "汉族"));
+            samples.put("empSex", 1);
+            samples.put("empName", "张");
+            samples.put("empIds", List.of(1, 2, 3));
+            samples.put("ids", List.of(1, 2, 3));
+            samples.put("limit", PAGE_LIMIT);
+            samples.put("afterId", null);
+            samples.put("beforeId", null);
+            samples.put("version", 0);
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT (MIN(emp_id) + MAX(emp_id)) DIV 2, MIN(emp_phone), MIN(emp_card_id) FROM employee_inf")) {
+                rs.next();
+                samples.put("empId", rs.getObject(1) == null ? 1 : rs.getInt(1));
+                samples.put("empPhone", rs.getString(2) == null ? "13800000000" : rs.getString(2));
+                samples.put("empCardId", rs.getString(3) == null ? "4400000000" : rs.getString(3));
+            }
+            return samples;
+        }
+
+        /**
+         * @return 按人数排序后位于中间的取值，列中没有取值时返回 fallback
+         */
+        private static Object medianFrequencyValue(Connection connection, String column, Object fallback) throws SQLException {
+            List<Object> values = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT " + column + " FROM employee_inf WHERE " + column
+                         + " IS NOT NULL GROUP BY " + column + " ORDER BY COUNT(*), " + column)) {
+                while (rs.next()) {
+                    values.add(rs.getObject(1));
+                }
+            }
+            return values.isEmpty() ? fallback : values.get(values.size() / 2);
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (containsKey(key)) {
+                return super.get(key);
+            }
+            String name = String.valueOf(key);
+            if (name.equals("department") || name.equals("job")) {
+                return this;
+            }
+            if (name.endsWith("Id")) {
+                return get("empId");
+            }
+            if (name.endsWith("Date") || name.endsWith("Birth")) {
+                return new Date();
+            }
+            return "x";
+        }
+    }
+}
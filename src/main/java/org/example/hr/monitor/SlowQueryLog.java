@@ -0,0 +1,64 @@
+package org.example.hr.monitor;
+
+import org.example.hr.pojo.SlowQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 慢查询环形缓冲区
+ * 只保留最近的 hr.mybatis.slow-query-buffer-size 条记录，写满后覆盖最旧的记录，内存占用有上限。
+ */
+@Component
+public class SlowQueryLog {
+
+    private final SlowQuery[] buffer;
+    private int next;    // 下一条记录写入的位置
+    private int size;
+    private long total;  // 自启动 (或上次清空) 以来记录的慢查询总数
+
+    public SlowQueryLog(@Value("${hr.mybatis.slow-query-buffer-size:100}") int capacity) {
+        this.buffer = new SlowQuery[Math.max(1, capacity)];
+    }
+
+    public synchronized void add(SlowQuery slowQuery) {
+        buffer[next] = slowQuery;
+        next = (next + 1) % buffer.length;
+        if (size < buffer.length) {
+            size++;
+        }
+        total++;
+    }
+
+    /**
+     * @return 缓冲区中的记录，最新的在前
+     */
+    public synchronized List<SlowQuery> recent() {
+        List<SlowQuery> result = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            result.add(buffer[(next - i + buffer.length) % buffer.length]);
+        }
+        return result;
+    }
+
+    /**
+     * @return 自启动 (或上次清空) 以来记录的慢查询总数，包括已被覆盖的
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(buffer, null);
+        next = 0;
+        size = 0;
+        total = 0;
+    }
+}
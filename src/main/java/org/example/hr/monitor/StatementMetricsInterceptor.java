@@ -0,0 +1,219 @@
+package org.example.hr.monitor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+import org.example.hr.pojo.SlowQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 语句耗时统计插件
+ * 拦截 Executor.query / queryCursor / update，按 Mapper 语句 (例如 EmployeeInfMapper.findByCriteria) 记录：
+ * <ul>
+ *     <li>hr.mybatis.statement —— 执行耗时 Timer (百分位直方图)</li>
+ *     <li>hr.mybatis.rows —— 返回/影响的行数分布</li>
+ * </ul>
+ * 耗时超过 hr.mybatis.slow-query-threshold 的语句连同 SQL、绑定参数和应用内的调用位置写入 {@link SlowQueryLog}。
+ * 只有慢语句才会重新生成 BoundSql 和遍历调用栈，正常路径上只有计时开销。
+ * 作为 Spring Bean 注册后由 MyBatis 自动配置加入插件链。
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementMetricsInterceptor.class);
+
+    private static final String APPLICATION_PACKAGE = "org.example.hr.";
+    /**
+     * 查找调用位置时跳过的基础设施包 (插件自身、路由、缓存、工具类)
+     */
+    private static final List<String> INFRASTRUCTURE_PACKAGES = List.of(
+            APPLICATION_PACKAGE + "monitor.", APPLICATION_PACKAGE + "datasource.",
+            APPLICATION_PACKAGE + "cache.", APPLICATION_PACKAGE + "util.");
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryLog slowQueryLog;
+    private final long slowThresholdNanos;
+    private final ConcurrentMap<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public StatementMetricsInterceptor(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog,
+                                       @Value("${hr.mybatis.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+        this.slowThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            // 执行失败 (例如超时) 的语句同样计时，行数记为未知
+            record(ms, invocation.getArgs()[1], System.nanoTime() - start, rowCount(invocation, result));
+        }
+    }
+
+    private void record(MappedStatement ms, Object parameter, long elapsed, int rows) {
+        StatementMeters statementMeters = meters.computeIfAbsent(ms.getId(), id -> new StatementMeters(ms));
+        statementMeters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            statementMeters.rows.record(rows);
+        }
+        if (slowThresholdNanos > 0 && elapsed >= slowThresholdNanos) {
+            recordSlowQuery(ms, parameter, statementMeters.name, elapsed, rows);
+        }
+    }
+
+    /**
+     * @return 查询返回的行数或更新影响的行数；以下情况行数未知，返回 -1：
+     *         游标查询 (只统计打开游标的耗时)、使用 ResultHandler 的查询、BATCH 执行器在 flush 之前的更新
+     */
+    private static int rowCount(Invocation invocation, Object result) {
+        Object[] args = invocation.getArgs();
+        if (args.length == 4 && args[3] != null) {
+            return -1;
+        }
+        if (result instanceof List<?> list) {
+            return list.size();
+        }
+        if (result instanceof Integer count && count >= 0) {
+            return count;
+        }
+        return -1;
+    }
+
+    private void recordSlowQuery(MappedStatement ms, Object parameter, String statement, long elapsedNanos, int rows) {
+        try {
+            BoundSql boundSql = ms.getBoundSql(parameter);
+            SlowQuery slowQuery = new SlowQuery(new Date(), statement, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows,
+                    boundSql.getSql().replaceAll("\\s+", " ").trim(), parameters(ms.getConfiguration(), boundSql, parameter),
+                    caller(), Thread.currentThread().getName());
+            slowQueryLog.add(slowQuery);
+            logger.warn("Slow statement {} took {} ms, rows {}, caller {}",
+                    statement, slowQuery.getElapsedMillis(), rows, slowQuery.getCaller());
+        } catch (RuntimeException e) {
+            logger.debug("Failed to capture slow statement {}", statement, e);
+        }
+    }
+
+    /**
+     * 按 DefaultParameterHandler 的规则取出每个占位符绑定的值
+     */
+    private static String parameters(Configuration configuration, BoundSql boundSql, Object parameter) {
+        TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        MetaObject metaObject = null;
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (typeHandlerRegistry.hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(property);
+            }
+            String text = String.valueOf(value);
+            joiner.add(text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * @return 调用栈中离本插件最近的应用代码位置 (Mapper 代理、框架代码、基础设施类和 lambda 被跳过)
+     */
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(StatementMetricsInterceptor::isApplicationFrame)
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    private static boolean isApplicationFrame(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        if (!className.startsWith(APPLICATION_PACKAGE) || frame.getMethodName().startsWith("lambda$")) {
+            return false;
+        }
+        for (String infrastructurePackage : INFRASTRUCTURE_PACKAGES) {
+            if (className.startsWith(infrastructurePackage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 一个 Mapper 语句对应的指标
+     */
+    private final class StatementMeters {
+
+        private final String name;
+        private final Timer timer;
+        private final DistributionSummary rows;
+
+        private StatementMeters(MappedStatement ms) {
+            // 语句ID形如 org.example.hr.mapper.EmployeeInfMapper.findByCriteria，去掉包名
+            String id = ms.getId();
+            int methodDot = id.lastIndexOf('.');
+            int classDot = methodDot > 0 ? id.lastIndexOf('.', methodDot - 1) : -1;
+            this.name = id.substring(classDot + 1);
+            String type = ms.getSqlCommandType().name().toLowerCase();
+            this.timer = Timer.builder("hr.mybatis.statement")
+                    .description("Mapper statement execution time")
+                    .tags("statement", name, "type", type)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.rows = DistributionSummary.builder("hr.mybatis.rows")
+                    .description("Rows returned or affected by a mapper statement")
+                    .tags("statement", name, "type", type)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -29,4 +29,14 @@ public class DeptInf {
      * 对应数据库字段: dept_remark
      */
     private String deptRemark;
+
+    /**
+     * 乐观锁版本号，每次更新加1
+     * 对应数据库字段: version
+     */
+    private Integer version;
+
+    public DeptInf(Integer deptId, String deptName, String deptRemark) {
+        this(deptId, deptName, deptRemark, null);
+    }
 }
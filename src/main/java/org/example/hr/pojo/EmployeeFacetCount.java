@@ -0,0 +1,25 @@
+package org.example.hr.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 员工表按低基数字段 (性别、部门、岗位、学历、政治面貌、民族) 分组统计的一行
+ * 各字段的取值放在 employee 中 (只填充这几个字段)，便于按 EmployeeAttribute 读取
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFacetCount {
+
+    /**
+     * 分组的字段取值
+     */
+    private EmployeeInf employee;
+
+    /**
+     * 该分组的员工人数
+     */
+    private int headcount;
+}
@@ -0,0 +1,39 @@
+package org.example.hr.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 员工批量导入结果汇总
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportResult {
+
+    /**
+     * 本次导入的标识，用于下载错误报告
+     */
+    private String importId;
+
+    /**
+     * 读取到的数据行数 (不含表头和空行)
+     */
+    private int totalRows;
+
+    /**
+     * 成功导入的行数
+     */
+    private int importedRows;
+
+    /**
+     * 校验或写入失败的行数
+     */
+    private int failedRows;
+
+    /**
+     * 是否生成了可下载的错误报告
+     */
+    private boolean reportAvailable;
+}
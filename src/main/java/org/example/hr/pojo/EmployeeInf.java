@@ -121,6 +121,12 @@ public class EmployeeInf {
      */
     private Date empCreateDate;
 
+    /**
+     * 乐观锁版本号，每次更新加1；编辑表单提交时带回读取时的版本，与数据库不一致说明已被其他人修改
+     * 对应数据库字段: version
+     */
+    private Integer version;
+
     // --- 关联对象 ---
     /**
      * 员工所属部门信息
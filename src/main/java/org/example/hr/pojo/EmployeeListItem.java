@@ -0,0 +1,67 @@
+package org.example.hr.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.Date;
+
+/**
+ * 员工列表行 (列表页和 /api/employees 使用的精简投影)
+ * 只包含列表展示的字段，部门和岗位只取名称，不加载地址、备注、爱好等大字段，也不创建关联的 DeptInf/JobInf 对象。
+ * 完整的员工信息通过 EmployeeInfMapper.findByIdWithDetails 按主键加载。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeListItem {
+
+    /**
+     * 员工ID
+     */
+    private Integer empId;
+
+    /**
+     * 员工姓名
+     */
+    private String empName;
+
+    /**
+     * 性别 (1:男, 2:女)
+     */
+    private Integer empSex;
+
+    /**
+     * 手机号码
+     */
+    private String empPhone;
+
+    /**
+     * 身份证号
+     */
+    private String empCardId;
+
+    /**
+     * 部门ID
+     */
+    private Integer deptId;
+
+    /**
+     * 部门名称
+     */
+    private String deptName;
+
+    /**
+     * 岗位ID
+     */
+    private Integer jobId;
+
+    /**
+     * 岗位名称
+     */
+    private String jobName;
+
+    /**
+     * 建档日期
+     */
+    private Date empCreateDate;
+}
@@ -0,0 +1,33 @@
+package org.example.hr.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 员工人数汇总 (对应数据库表 emp_headcount)
+ * 同一结构也用于表示人数的增减量
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Headcount {
+
+    /**
+     * 统计维度 (dept / job / sex / edu)
+     * 对应数据库字段: dimension
+     */
+    private String dimension;
+
+    /**
+     * 维度取值 (部门ID、岗位ID、性别、学历)，未填写时为空字符串
+     * 对应数据库字段: dim_key
+     */
+    private String dimKey;
+
+    /**
+     * 员工人数
+     * 对应数据库字段: headcount
+     */
+    private int headcount;
+}
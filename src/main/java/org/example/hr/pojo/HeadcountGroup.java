@@ -0,0 +1,29 @@
+package org.example.hr.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 首页人数统计中的一个分组 (例如 "技术部 12人")
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadcountGroup {
+
+    /**
+     * 分组名称 (部门名称、岗位名称、性别、学历)
+     */
+    private String label;
+
+    /**
+     * 员工人数
+     */
+    private int headcount;
+
+    /**
+     * 占员工总数的百分比 (0~100)
+     */
+    private int percent;
+}
@@ -29,4 +29,14 @@ public class JobInf {
      * 对应数据库字段: job_remark
      */
     private String jobRemark;
-}
\ No newline at end of file
+
+    /**
+     * 乐观锁版本号，每次更新加1
+     * 对应数据库字段: version
+     */
+    private Integer version;
+
+    public JobInf(Integer jobId, String jobName, String jobRemark) {
+        this(jobId, jobName, jobRemark, null);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.hr.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+/**
+ * 基于游标 (keyset) 的分页结果
+ * 以当前页首尾记录的主键作为翻页游标，翻页时只扫描 emp_id 大于/小于游标的行，
+ * 不随总行数增长而变慢。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    /**
+     * 当前页数据 (按主键升序)
+     */
+    private List<T> items;
+
+    /**
+     * 当前页第一条记录的主键，用作"上一页"游标
+     */
+    private Integer firstId;
+
+    /**
+     * 当前页最后一条记录的主键，用作"下一页"游标
+     */
+    private Integer lastId;
+
+    /**
+     * 是否存在上一页
+     */
+    private boolean hasPrevious;
+
+    /**
+     * 是否存在下一页
+     */
+    private boolean hasNext;
+
+    /**
+     * 每页条数
+     */
+    private int pageSize;
+}
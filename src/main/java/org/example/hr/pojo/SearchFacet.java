@@ -0,0 +1,59 @@
+package org.example.hr.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+/**
+ * 员工搜索页的一个分面 (例如 "部门")，列出当前条件下该字段各取值的人数，点击取值即在当前条件上增加或替换该字段的条件
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacet {
+
+    /**
+     * 字段名称 (部门、岗位、性别、学历等)
+     */
+    private String label;
+
+    /**
+     * 去掉该字段条件的链接；当前条件中没有该字段时为null
+     */
+    private String clearLink;
+
+    /**
+     * 各取值，按人数从多到少排列
+     */
+    private List<Option> options;
+
+    /**
+     * 分面中的一个取值 (例如 "技术部 12人")
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Option {
+
+        /**
+         * 取值在页面上的名称
+         */
+        private String label;
+
+        /**
+         * 在其他字段的条件下取该值的员工人数
+         */
+        private int headcount;
+
+        /**
+         * 按该取值筛选的链接 (回到第一页)
+         */
+        private String link;
+
+        /**
+         * 是否为当前条件中选中的取值
+         */
+        private boolean active;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.hr.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.Date;
+
+/**
+ * 慢查询记录 (内存中保存，供管理页面查看)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQuery {
+
+    /**
+     * 发生时间
+     */
+    private Date time;
+
+    /**
+     * Mapper 语句，例如 EmployeeInfMapper.findByCriteria
+     */
+    private String statement;
+
+    /**
+     * 耗时 (毫秒)
+     */
+    private long elapsedMillis;
+
+    /**
+     * 返回或影响的行数，未知时为 -1
+     */
+    private int rows;
+
+    /**
+     * 执行的 SQL (已压缩空白)
+     */
+    private String sql;
+
+    /**
+     * 绑定的参数值，按占位符顺序
+     */
+    private String parameters;
+
+    /**
+     * 调用方 (应用代码中最近的调用位置)
+     */
+    private String caller;
+
+    /**
+     * 执行线程
+     */
+    private String thread;
+}
@@ -0,0 +1,93 @@
+package org.example.hr.search;
+
+import org.example.hr.pojo.EmployeeInf;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 建立位图索引的员工低基数字段
+ * 参数名与员工查询条件 (findByCriteria 的 params) 中的键一致。
+ * 字符串取值按 {@link #keyOf(Object)} 规范化后比较，与数据库 utf8 排序规则下 e.emp_edu = #{empEdu} 的结果一致。
+ */
+public enum EmployeeAttribute {
+
+    SEX("empSex", "性别", EmployeeInf::getEmpSex),
+    DEPT("deptId", "部门", employee -> employee.getDepartment() == null ? null : employee.getDepartment().getDeptId()),
+    JOB("jobId", "岗位", employee -> employee.getJob() == null ? null : employee.getJob().getJobId()),
+    EDU("empEdu", "学历", EmployeeInf::getEmpEdu),
+    PARTY("empParty", "政治面貌", EmployeeInf::getEmpParty),
+    RACE("empRace", "民族", EmployeeInf::getEmpRace);
+
+    private final String param;
+    private final String label;
+    private final Function<EmployeeInf, Object> getter;
+
+    EmployeeAttribute(String param, String label, Function<EmployeeInf, Object> getter) {
+        this.param = param;
+        this.label = label;
+        this.getter = getter;
+    }
+
+    /**
+     * @return 查询条件中的参数名
+     */
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * @return 页面上显示的字段名称
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return 员工在该字段上的取值，可能为null
+     */
+    public Object valueOf(EmployeeInf employee) {
+        return getter.apply(employee);
+    }
+
+    /**
+     * 取值在索引中的键
+     * 学历、政治面貌、民族列的排序规则不区分大小写、比较时忽略末尾空格 (PAD SPACE)，
+     * 字符串去掉末尾空白并转为小写后再比较；其他类型原样返回。
+     * @param value 员工的取值或查询条件中的取值
+     * @return 规范化后的键，value 为null时返回null
+     */
+    public static Object keyOf(Object value) {
+        return value instanceof String text ? text.stripTrailing().toLowerCase(Locale.ROOT) : value;
+    }
+
+    /**
+     * @param criteria 查询条件
+     * @return 条件中该字段规范化后的取值 (单个键或键的集合，见 {@link #keyOf(Object)})；没有该字段的条件 (null 或空字符串) 时返回null
+     */
+    public Object conditionOf(Map<String, ?> criteria) {
+        Object condition = criteria == null ? null : criteria.get(param);
+        if (condition == null || "".equals(condition)) {
+            return null;
+        }
+        return condition instanceof Collection<?> alternatives
+                ? alternatives.stream().map(EmployeeAttribute::keyOf).collect(Collectors.toSet())
+                : keyOf(condition);
+    }
+
+    /**
+     * @param condition {@link #conditionOf(Map)} 返回的条件，为null时不限制
+     * @param value 员工在该字段上的取值 (未规范化)
+     * @return 取值是否满足条件 (条件为集合时满足其中之一即可)
+     */
+    public static boolean accepts(Object condition, Object value) {
+        if (condition == null) {
+            return true;
+        }
+        Object key = keyOf(value);
+        return condition instanceof Collection<?> alternatives ? alternatives.contains(key) : condition.equals(key);
+    }
+}
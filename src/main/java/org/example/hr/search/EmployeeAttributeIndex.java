@@ -0,0 +1,399 @@
+package org.example.hr.search;
+
+import org.example.hr.datasource.DataSourceRouting;
+import org.example.hr.mapper.EmployeeInfMapper;
+import org.example.hr.pojo.EmployeeFacetCount;
+import org.example.hr.pojo.EmployeeInf;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 员工低基数字段 (性别、部门、岗位、学历、政治面貌、民族) 的压缩位图索引 (进程内)
+ * 每个字段的每个取值对应一个 RoaringBitmap，保存取该值的员工ID。组合条件在位图上求交集
+ * (同一字段的多个取值求并集)，得到按主键升序的候选员工ID，数据库只需按主键取回这些行；
+ * 同一组位图还可以计算当前条件下各字段取值的人数 (分面统计)。
+ * <p>
+ * 与 {@link EmployeeNameIndex} 一样，索引在应用启动后整表重建，员工增删改在事务提交后同步更新，
+ * 只感知经由本进程写入的数据 (多实例部署时应关闭)。索引尚未就绪时返回null，调用方应退回数据库条件查询。
+ */
+@Component
+public class EmployeeAttributeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeAttributeIndex.class);
+
+    private final EmployeeInfMapper employeeInfMapper;
+    private final boolean enabled;
+    private final int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps;              // 尚未构建时为null
+    private List<Change> pending;         // 重建期间发生的修改，重建完成后补放到新索引上
+
+    public EmployeeAttributeIndex(EmployeeInfMapper employeeInfMapper,
+                                  @Value("${hr.search.attribute-index.enabled:true}") boolean enabled,
+                                  @Value("${hr.search.attribute-index.max-candidates:1000}") int maxCandidates) {
+        this.employeeInfMapper = employeeInfMapper;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * 应用启动完成后构建索引；数据库不可用时只记录警告，查询退回数据库条件查询
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("Employee attribute index is disabled");
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to build employee attribute index, searches fall back to SQL conditions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库整表重建索引
+     * 重建期间索引保持可用，期间发生的修改会记录下来并在切换前应用到新索引上；索引被关闭时不做任何事
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Bitmaps rebuilt = new Bitmaps();
+        try {
+            DataSourceRouting.onPrimary(() -> employeeInfMapper.scanAttributes(context -> rebuilt.put(context.getResultObject())));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        rebuilt.optimize();
+        lock.writeLock().lock();
+        try {
+            for (Change change : pending) {
+                change.applyTo(rebuilt);
+            }
+            pending = null;
+            bitmaps = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Employee attribute index built: {} employees, {} bytes in {} ms",
+                rebuilt.all.getCardinality(), rebuilt.sizeInBytes(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 新增或更新一名员工
+     * @param employee 员工 (需要 empId 和各索引字段的最新取值)
+     */
+    public void put(EmployeeInf employee) {
+        if (employee == null || employee.getEmpId() == null) {
+            return;
+        }
+        apply(new Change(employee.getEmpId(), employee));
+    }
+
+    /**
+     * 删除一名员工
+     */
+    public void remove(Integer empId) {
+        if (empId != null) {
+            apply(new Change(empId, null));
+        }
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (bitmaps != null) {
+                change.applyTo(bitmaps);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按查询条件中的索引字段求候选员工ID
+     * 条件值可以是单个值或集合 (同一字段的多个取值为"或")，不同字段之间为"且"；条件中的其他键被忽略
+     * @param criteria 查询条件 (参数名见 {@link EmployeeAttribute#getParam()})
+     * @return 满足所有索引字段条件的员工ID (调用方可修改的副本)；索引不可用或条件中没有索引字段时返回null
+     */
+    public RoaringBitmap match(Map<String, ?> criteria) {
+        lock.readLock().lock();
+        try {
+            if (bitmaps == null) {
+                return null;
+            }
+            RoaringBitmap result = null;
+            for (EmployeeAttribute attribute : EmployeeAttribute.values()) {
+                RoaringBitmap filter = bitmaps.filter(attribute, criteria);
+                if (filter != null) {
+                    result = result == null ? filter.clone() : RoaringBitmap.and(result, filter);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 分面统计：当前条件下各索引字段每个取值的员工数
+     * 统计某个字段时不使用该字段自身的条件 (只应用其他字段的条件)，页面可以据此展示同一字段的其他可选取值
+     * @param criteria 查询条件
+     * @param restrict 其他条件 (例如姓名) 解析出的候选员工ID，没有时为null
+     * @return 字段 -> (取值 -> 员工数)，只包含员工数大于0的取值；索引不可用时返回null
+     */
+    public Map<EmployeeAttribute, Map<Object, Integer>> facets(Map<String, ?> criteria, RoaringBitmap restrict) {
+        lock.readLock().lock();
+        try {
+            if (bitmaps == null) {
+                return null;
+            }
+            Map<EmployeeAttribute, RoaringBitmap> filters = new EnumMap<>(EmployeeAttribute.class);
+            for (EmployeeAttribute attribute : EmployeeAttribute.values()) {
+                RoaringBitmap filter = bitmaps.filter(attribute, criteria);
+                if (filter != null) {
+                    filters.put(attribute, filter);
+                }
+            }
+            Map<EmployeeAttribute, Map<Object, Integer>> facets = new EnumMap<>(EmployeeAttribute.class);
+            for (EmployeeAttribute attribute : EmployeeAttribute.values()) {
+                RoaringBitmap base = restrict;
+                for (Map.Entry<EmployeeAttribute, RoaringBitmap> filter : filters.entrySet()) {
+                    if (filter.getKey() != attribute) {
+                        base = base == null ? filter.getValue() : RoaringBitmap.and(base, filter.getValue());
+                    }
+                }
+                Map<Object, Integer> counts = new TreeMap<>();
+                Map<Object, Object> labels = bitmaps.labels.get(attribute);
+                for (Map.Entry<Object, RoaringBitmap> value : bitmaps.values.get(attribute).entrySet()) {
+                    int count = base == null ? value.getValue().getCardinality() : RoaringBitmap.andCardinality(value.getValue(), base);
+                    if (count > 0) {
+                        counts.put(labels.get(value.getKey()), count);
+                    }
+                }
+                facets.put(attribute, counts);
+            }
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 由数据库分组统计的结果计算分面统计，规则与 {@link #facets(Map, RoaringBitmap)} 相同 (统计某个字段时不使用该字段自身的条件)
+     * 分组的行数只取决于各字段取值的组合数，与员工数无关，在内存中逐行累加即可
+     * @param groups 按全部索引字段分组的人数 (只应用了非索引字段的条件)
+     * @param criteria 查询条件
+     * @return 字段 -> (取值 -> 员工数)，只包含员工数大于0且非null的取值
+     */
+    public static Map<EmployeeAttribute, Map<Object, Integer>> facetsOf(List<EmployeeFacetCount> groups, Map<String, ?> criteria) {
+        EmployeeAttribute[] attributes = EmployeeAttribute.values();
+        Object[] conditions = new Object[attributes.length];
+        for (EmployeeAttribute attribute : attributes) {
+            conditions[attribute.ordinal()] = attribute.conditionOf(criteria);
+        }
+        Map<EmployeeAttribute, Map<Object, Integer>> facets = new EnumMap<>(EmployeeAttribute.class);
+        Map<EmployeeAttribute, Map<Object, Object>> labels = new EnumMap<>(EmployeeAttribute.class);
+        for (EmployeeAttribute attribute : attributes) {
+            facets.put(attribute, new TreeMap<>());
+            labels.put(attribute, new HashMap<>());
+        }
+        for (EmployeeFacetCount group : groups) {
+            // 不满足条件的字段个数：为0时计入所有字段，为1时只计入这个字段自身
+            int rejected = 0;
+            EmployeeAttribute rejectedBy = null;
+            for (EmployeeAttribute attribute : attributes) {
+                if (!EmployeeAttribute.accepts(conditions[attribute.ordinal()], attribute.valueOf(group.getEmployee()))) {
+                    rejected++;
+                    rejectedBy = attribute;
+                }
+            }
+            for (EmployeeAttribute attribute : attributes) {
+                Object value = attribute.valueOf(group.getEmployee());
+                if (value != null && group.getHeadcount() > 0 && (rejected == 0 || (rejected == 1 && rejectedBy == attribute))) {
+                    // 大小写或末尾空格不同的取值合并为一项，显示第一次遇到的写法
+                    Object label = labels.get(attribute).computeIfAbsent(EmployeeAttribute.keyOf(value), key -> value);
+                    facets.get(attribute).merge(label, group.getHeadcount(), Integer::sum);
+                }
+            }
+        }
+        return facets;
+    }
+
+    /**
+     * 在升序的候选ID上按游标截取一页
+     * @param ids 候选员工ID
+     * @param afterId 只取大于该值的ID，可为null
+     * @param beforeId 只取小于该值的ID (优先于 afterId)，可为null
+     * @param limit 最多取的个数
+     * @return 升序的员工ID
+     */
+    public static List<Integer> window(RoaringBitmap ids, Integer afterId, Integer beforeId, int limit) {
+        List<Integer> page = new ArrayList<>(limit);
+        if (beforeId != null) {
+            // rank(x) 为不大于 x 的元素个数，select(i) 为第 i 小的元素 (从0开始)
+            int end = (int) ids.rankLong(beforeId - 1);
+            for (int i = Math.max(0, end - limit); i < end; i++) {
+                page.add(ids.select(i));
+            }
+        } else {
+            int from = afterId == null ? 0 : (int) ids.rankLong(afterId);
+            int to = (int) Math.min(ids.getLongCardinality(), (long) from + limit);
+            for (int i = from; i < to; i++) {
+                page.add(ids.select(i));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * @return 不分页的查询使用候选ID的上限，超过时由数据库按条件查询
+     */
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    /**
+     * @return 索引是否已构建
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return bitmaps != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Change(int empId, EmployeeInf employee) {
+
+        private void applyTo(Bitmaps bitmaps) {
+            if (employee == null) {
+                bitmaps.remove(empId);
+            } else {
+                bitmaps.put(employee);
+            }
+        }
+    }
+
+    /**
+     * 各字段取值的位图，由外层的读写锁保护
+     */
+    private static final class Bitmaps {
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<EmployeeAttribute, Map<Object, RoaringBitmap>> values = new EnumMap<>(EmployeeAttribute.class); // 按规范化后的键
+        private final Map<EmployeeAttribute, Map<Object, Object>> labels = new EnumMap<>(EmployeeAttribute.class); // 键 -> 分面显示的取值
+
+        private Bitmaps() {
+            for (EmployeeAttribute attribute : EmployeeAttribute.values()) {
+                values.put(attribute, new HashMap<>());
+                labels.put(attribute, new HashMap<>());
+            }
+        }
+
+        private void put(EmployeeInf employee) {
+            int empId = employee.getEmpId();
+            remove(empId);
+            all.add(empId);
+            for (EmployeeAttribute attribute : EmployeeAttribute.values()) {
+                Object value = attribute.valueOf(employee);
+                if (value != null) {
+                    Object key = EmployeeAttribute.keyOf(value);
+                    values.get(attribute).computeIfAbsent(key, k -> new RoaringBitmap()).add(empId);
+                    labels.get(attribute).putIfAbsent(key, value);
+                }
+            }
+        }
+
+        private void remove(int empId) {
+            if (!all.checkedRemove(empId)) {
+                return;
+            }
+            // 每个字段只有少量取值，逐个位图删除即可，不需要记录员工原来的取值
+            for (EmployeeAttribute attribute : EmployeeAttribute.values()) {
+                Map<Object, Object> labelsByKey = labels.get(attribute);
+                values.get(attribute).entrySet().removeIf(entry -> {
+                    if (entry.getValue().checkedRemove(empId) && entry.getValue().isEmpty()) {
+                        labelsByKey.remove(entry.getKey());
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+
+        /**
+         * @return 字段条件对应的员工ID (只读，不可修改)；条件中没有该字段时返回null
+         */
+        private RoaringBitmap filter(EmployeeAttribute attribute, Map<String, ?> criteria) {
+            Object condition = attribute.conditionOf(criteria);
+            if (condition == null) {
+                return null;
+            }
+            Map<Object, RoaringBitmap> byValue = values.get(attribute);
+            if (!(condition instanceof Collection<?> alternatives)) {
+                RoaringBitmap ids = byValue.get(condition);
+                return ids == null ? new RoaringBitmap() : ids;
+            }
+            RoaringBitmap union = new RoaringBitmap();
+            for (Object alternative : alternatives) {
+                RoaringBitmap ids = byValue.get(alternative);
+                if (ids != null) {
+                    union.or(ids);
+                }
+            }
+            return union;
+        }
+
+        private void optimize() {
+            all.runOptimize();
+            for (Map<Object, RoaringBitmap> byValue : values.values()) {
+                byValue.values().forEach(RoaringBitmap::runOptimize);
+            }
+        }
+
+        private long sizeInBytes() {
+            long size = all.getLongSizeInBytes();
+            for (Map<Object, RoaringBitmap> byValue : values.values()) {
+                for (RoaringBitmap ids : byValue.values()) {
+                    size += ids.getLongSizeInBytes();
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package org.example.hr.search;
+
+import org.example.hr.datasource.DataSourceRouting;
+import org.example.hr.mapper.EmployeeInfMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 员工姓名的 n-gram 倒排索引 (进程内)
+ * 为每个姓名建立单字 (unigram) 和双字 (bigram) 到员工ID的倒排表，
+ * 子串查询时取查询词所有双字倒排表的交集，再用保存的姓名原文校验，得到精确的候选ID集合，
+ * 由数据库按主键取回这些行，从而避免 LIKE '%...%' 的全表扫描。
+ * <p>
+ * 索引在应用启动后整表重建，员工增删改在事务提交后同步更新。
+ * 索引尚未就绪 (例如启动时数据库不可用) 或匹配数超过上限时返回null，调用方应退回 LIKE 查询。
+ * 索引只感知经由本进程写入的数据。
+ */
+@Component
+public class EmployeeNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeNameIndex.class);
+
+    private final EmployeeInfMapper employeeInfMapper;
+    private final boolean enabled;
+    private final int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings postings;      // 尚未构建时为null
+    private List<Entry> pending;    // 重建期间发生的修改，重建完成后补放到新索引上
+
+    public EmployeeNameIndex(EmployeeInfMapper employeeInfMapper,
+                             @Value("${hr.search.name-index.enabled:true}") boolean enabled,
+                             @Value("${hr.search.name-index.max-candidates:1000}") int maxCandidates) {
+        this.employeeInfMapper = employeeInfMapper;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * 应用启动完成后构建索引；数据库不可用时只记录警告，查询退回 LIKE
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("Employee name index is disabled");
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to build employee name index, name search falls back to LIKE: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库整表重建索引
+     * 重建期间索引保持可用，期间发生的修改会记录下来并在切换前应用到新索引上
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Postings rebuilt = new Postings();
+        try {
+            DataSourceRouting.onPrimary(() -> employeeInfMapper.scanNames(context -> {
+                var employee = context.getResultObject();
+                rebuilt.put(employee.getEmpId(), employee.getEmpName());
+            }));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Entry entry : pending) {
+                rebuilt.put(entry.empId(), entry.empName());
+            }
+            pending = null;
+            postings = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Employee name index built: {} employees, {} grams in {} ms",
+                rebuilt.names.size(), rebuilt.grams.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 新增或更新一名员工的姓名
+     * @param empId 员工ID
+     * @param empName 姓名，为null时等同于删除
+     */
+    public void put(Integer empId, String empName) {
+        if (empId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (postings != null) {
+                postings.put(empId, empName);
+            }
+            if (pending != null) {
+                pending.add(new Entry(empId, empName));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除一名员工
+     */
+    public void remove(Integer empId) {
+        put(empId, null);
+    }
+
+    /**
+     * 查询姓名包含指定子串的员工ID (大小写不敏感，与 LIKE 的匹配结果一致)
+     * @param keyword 子串
+     * @return 匹配的员工ID；索引不可用或匹配数超过上限时返回null，调用方应退回 LIKE 查询
+     */
+    public List<Integer> search(String keyword) {
+        if (keyword == null || keyword.isEmpty() || keyword.indexOf('%') >= 0 || keyword.indexOf('_') >= 0) {
+            return null; // 含 LIKE 通配符的查询词语义不同，交给数据库处理
+        }
+        String normalized = normalize(keyword);
+        lock.readLock().lock();
+        try {
+            if (postings == null) {
+                return null;
+            }
+            return postings.search(normalized, maxCandidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 索引是否已构建
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return postings != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return 姓名的所有单字和双字 (按 Unicode 码点切分)
+     */
+    private static Set<String> grams(String normalized) {
+        int[] codePoints = normalized.codePoints().toArray();
+        Set<String> grams = new LinkedHashSet<>(codePoints.length * 2);
+        for (int i = 0; i < codePoints.length; i++) {
+            grams.add(new String(codePoints, i, 1));
+            if (i + 1 < codePoints.length) {
+                grams.add(new String(codePoints, i, 2));
+            }
+        }
+        return grams;
+    }
+
+    private record Entry(Integer empId, String empName) {
+    }
+
+    /**
+     * 倒排表，由外层的读写锁保护
+     */
+    private static final class Postings {
+
+        private final Map<Integer, String> names = new HashMap<>();   // 员工ID -> 规范化后的姓名
+        private final Map<String, Set<Integer>> grams = new HashMap<>();
+
+        private void put(Integer empId, String empName) {
+            String previous = names.remove(empId);
+            if (previous != null) {
+                for (String gram : grams(previous)) {
+                    Set<Integer> ids = grams.get(gram);
+                    if (ids != null && ids.remove(empId) && ids.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+            if (empName == null || empName.isEmpty()) {
+                return;
+            }
+            String normalized = normalize(empName);
+            names.put(empId, normalized);
+            for (String gram : grams(normalized)) {
+                grams.computeIfAbsent(gram, key -> new HashSet<>(4)).add(empId);
+            }
+        }
+
+        private List<Integer> search(String normalized, int maxCandidates) {
+            int[] codePoints = normalized.codePoints().toArray();
+            List<Set<Integer>> lists = new ArrayList<>();
+            if (codePoints.length == 1) {
+                lists.add(grams.get(normalized));
+            } else {
+                for (int i = 0; i + 1 < codePoints.length; i++) {
+                    lists.add(grams.get(new String(codePoints, i, 2)));
+                }
+            }
+            if (lists.contains(null)) {
+                return List.of();
+            }
+            // 从最短的倒排表出发求交集，再用姓名原文校验 (双字交集对三字以上的查询词可能有误报)
+            lists.sort(Comparator.comparingInt(Set::size));
+            List<Integer> result = new ArrayList<>();
+            for (Integer empId : lists.get(0)) {
+                if (containsAll(lists, empId) && names.get(empId).contains(normalized)) {
+                    if (result.size() >= maxCandidates) {
+                        return null;
+                    }
+                    result.add(empId);
+                }
+            }
+            result.sort(null);
+            return result;
+        }
+
+        private static boolean containsAll(List<Set<Integer>> lists, Integer empId) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(empId)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
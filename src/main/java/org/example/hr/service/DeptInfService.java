@@ -1,16 +1,25 @@
 package org.example.hr.service;
 
+import org.example.hr.cache.ReferenceCacheStats;
+import org.example.hr.cache.ReferenceDataCache;
+import org.example.hr.cache.TableVersions;
+import org.example.hr.datasource.DataSourceRouting;
+import org.example.hr.exception.BusinessException;
 import org.example.hr.mapper.DeptInfMapper;
 import org.example.hr.pojo.DeptInf;
 import org.example.hr.service.impl.DeptInfServicelmpl;
+import org.example.hr.util.TransactionHooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // 用于事务管理
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 
 @Service // 标记为Spring的Service组件
 public class DeptInfService implements DeptInfServicelmpl {
@@ -18,16 +27,22 @@ public class DeptInfService implements DeptInfServicelmpl {
     private static final Logger logger = LoggerFactory.getLogger(DeptInfService.class);
 
     private final DeptInfMapper deptInfMapper;
+    private final ReferenceDataCache<DeptInf> deptCache; // 部门表的内存快照，写操作提交后失效
+    private final TableVersions tableVersions; // 列表页条件 GET 使用的表版本号
 
     @Autowired // 自动注入DeptInfMapper实例
-    public DeptInfService(DeptInfMapper deptInfMapper) {
+    public DeptInfService(DeptInfMapper deptInfMapper, TableVersions tableVersions) {
         this.deptInfMapper = deptInfMapper;
+        this.tableVersions = tableVersions;
+        this.deptCache = new ReferenceDataCache<>("dept",
+                () -> DataSourceRouting.onPrimary(deptInfMapper::findAll), // 快照从主库加载，避免写入后重新加载到从库的旧数据
+                DeptInf::getDeptId, DeptInf::getDeptName);
     }
 
     @Override
     public List<DeptInf> getAllDepts() {
         logger.debug("Fetching all departments");
-        return deptInfMapper.findAll();
+        return deptCache.getAll();
     }
 
     @Override
@@ -36,7 +51,16 @@ public class DeptInfService implements DeptInfServicelmpl {
         if (deptId == null) {
             return null;
         }
-        return deptInfMapper.findById(deptId);
+        return deptCache.getById(deptId);
+    }
+
+    @Override
+    public List<DeptInf> getDeptsByIds(Collection<Integer> deptIds) {
+        logger.debug("Fetching departments by ids: {}", deptIds);
+        if (deptIds == null || deptIds.isEmpty()) {
+            return List.of();
+        }
+        return deptInfMapper.findByIds(deptIds);
     }
 
     @Override
@@ -45,7 +69,7 @@ public class DeptInfService implements DeptInfServicelmpl {
         if (deptName == null || deptName.trim().isEmpty()) {
             return null;
         }
-        return deptInfMapper.findByName(deptName);
+        return deptCache.getByName(deptName);
     }
 
     @Override
@@ -55,19 +79,18 @@ public class DeptInfService implements DeptInfServicelmpl {
             logger.warn("Attempted to add department with null or empty name.");
             return false;
         }
-        // 检查部门名称是否已存在
-        DeptInf existingDept = deptInfMapper.findByName(deptInf.getDeptName().trim());
-        if (existingDept != null) {
-            logger.warn("Attempted to add department with existing name: {}", deptInf.getDeptName());
-            return false; // 部门名称已存在
-        }
+        // 名称唯一性由 dept_name 上的唯一索引保证，不再预先按名称查询
         try {
             int result = deptInfMapper.insert(deptInf);
+            TransactionHooks.afterCommit(deptCache::invalidate);
+            tableVersions.bump(TableVersions.DEPT);
             logger.info("Department added successfully: {}, ID: {}", deptInf.getDeptName(), deptInf.getDeptId());
             return result > 0;
-        } catch (Exception e) {
+        } catch (DuplicateKeyException e) {
+            logger.warn("Attempted to add department with existing name: {}", deptInf.getDeptName());
+            throw new BusinessException("部门名称 '" + deptInf.getDeptName() + "' 已存在");
+        } catch (DataAccessException e) {
             logger.error("Error adding department: {}", deptInf.getDeptName(), e);
-            // 可以抛出自定义异常
             return false;
         }
     }
@@ -79,29 +102,30 @@ public class DeptInfService implements DeptInfServicelmpl {
             logger.warn("Attempted to update department with invalid data.");
             return false;
         }
-        // 检查要更新的部门是否存在
-        DeptInf currentDept = deptInfMapper.findById(deptInf.getDeptId());
-        if (currentDept == null) {
-            logger.warn("Attempted to update non-existent department with ID: {}", deptInf.getDeptId());
-            return false; // 部门不存在
-        }
-
-        // 检查更新后的部门名称是否与其他部门冲突 (排除自身)
-        DeptInf existingDeptWithNewName = deptInfMapper.findByName(deptInf.getDeptName().trim());
-        if (existingDeptWithNewName != null && !Objects.equals(existingDeptWithNewName.getDeptId(), deptInf.getDeptId())) {
-            logger.warn("Attempted to update department ID {} with a name '{}' that already exists for department ID {}",
-                    deptInf.getDeptId(), deptInf.getDeptName(), existingDeptWithNewName.getDeptId());
-            return false; // 新部门名称已存在于其他部门
-        }
-
+        // 存在性和并发修改由受影响行数判断 (UPDATE ... WHERE dept_id = ? AND version = ?)，名称冲突由唯一索引判断
+        int result;
         try {
-            int result = deptInfMapper.update(deptInf);
-            logger.info("Department updated successfully: ID {}", deptInf.getDeptId());
-            return result > 0;
-        } catch (Exception e) {
+            result = deptInfMapper.update(deptInf);
+        } catch (DuplicateKeyException e) {
+            logger.warn("Attempted to update department ID {} with a name '{}' that already exists", deptInf.getDeptId(), deptInf.getDeptName());
+            throw new BusinessException("部门名称 '" + deptInf.getDeptName() + "' 已被其他部门使用");
+        } catch (DataAccessException e) {
             logger.error("Error updating department with ID: {}", deptInf.getDeptId(), e);
             return false;
         }
+        if (result == 0) {
+            // 只有失败时才多查一次，区分记录不存在和版本过期
+            if (deptInf.getVersion() != null && deptInfMapper.findById(deptInf.getDeptId()) != null) {
+                logger.warn("Optimistic lock conflict updating department ID {}, version {}", deptInf.getDeptId(), deptInf.getVersion());
+                throw new BusinessException("部门 '" + deptInf.getDeptName() + "' 已被其他用户修改，请刷新后重试");
+            }
+            logger.warn("Attempted to update non-existent department with ID: {}", deptInf.getDeptId());
+            return false;
+        }
+        TransactionHooks.afterCommit(deptCache::invalidate);
+        tableVersions.bump(TableVersions.DEPT);
+        logger.info("Department updated successfully: ID {}", deptInf.getDeptId());
+        return true;
     }
 
     @Override
@@ -111,22 +135,29 @@ public class DeptInfService implements DeptInfServicelmpl {
             logger.warn("Attempted to delete department with null ID.");
             return false;
         }
-        // 实际项目中，这里应该检查该部门下是否有员工
-        // 例如: if (employeeMapper.countByDeptId(deptId) > 0) { return false; // 或抛出异常 }
-        DeptInf deptToDelete = deptInfMapper.findById(deptId);
-        if (deptToDelete == null) {
-            logger.warn("Attempted to delete non-existent department with ID: {}", deptId);
-            return false; // 部门不存在
-        }
+        int result;
         try {
-            int result = deptInfMapper.deleteById(deptId);
-            logger.info("Department deleted successfully: ID {}", deptId);
-            return result > 0;
-        } catch (Exception e) {
-            // 特别注意：如果存在外键约束（例如员工表关联了部门表），直接删除可能会失败
-            // 需要处理 DataIntegrityViolationException
-            logger.error("Error deleting department with ID: {}. Possible foreign key constraint.", deptId, e);
+            result = deptInfMapper.deleteById(deptId);
+        } catch (DataIntegrityViolationException e) {
+            // 员工表通过外键引用部门，仍有员工时删除被数据库拒绝
+            logger.warn("Cannot delete department ID {}: still referenced by employees", deptId);
+            throw new BusinessException("该部门下仍有员工，不能删除");
+        } catch (DataAccessException e) {
+            logger.error("Error deleting department with ID: {}", deptId, e);
             return false;
         }
+        if (result == 0) {
+            logger.warn("Attempted to delete non-existent department with ID: {}", deptId);
+            return false;
+        }
+        TransactionHooks.afterCommit(deptCache::invalidate);
+        tableVersions.bump(TableVersions.DEPT);
+        logger.info("Department deleted successfully: ID {}", deptId);
+        return true;
+    }
+
+    @Override
+    public ReferenceCacheStats getCacheStats() {
+        return deptCache.getStats();
     }
 }
\ No newline at end of file
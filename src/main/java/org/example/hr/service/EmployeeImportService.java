@@ -0,0 +1,290 @@
+package org.example.hr.service;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.example.hr.cache.TableVersions;
+import org.example.hr.exception.BusinessException;
+import org.example.hr.export.CsvRowWriter;
+import org.example.hr.importer.CsvRecordReader;
+import org.example.hr.importer.EmployeeCsvRowMapper;
+import org.example.hr.importer.ImportErrorReportStore;
+import org.example.hr.mapper.EmployeeHeadcountMapper;
+import org.example.hr.mapper.EmployeeInfMapper;
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeImportResult;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.JobInf;
+import org.example.hr.search.EmployeeAttributeIndex;
+import org.example.hr.search.EmployeeNameIndex;
+import org.example.hr.service.impl.DeptInfServicelmpl;
+import org.example.hr.service.impl.EmployeeImportServicelmpl;
+import org.example.hr.service.impl.HeadcountServicelmpl;
+import org.example.hr.service.impl.JobInfServicelmpl;
+import org.example.hr.stats.HeadcountDelta;
+import org.example.hr.util.TransactionHooks;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 员工批量导入
+ * 流式解析上传的 CSV，部门/岗位ID 在导入开始时一次性加载到内存校验，
+ * 校验通过的行按块 (hr.import.chunk-size) 通过 BATCH 执行器写入，每块单独提交。
+ * 某一块写入失败时回滚该块并逐行重试，定位出具体的失败行；
+ * 所有失败行写入错误报告，不会中断整个文件的导入。
+ */
+@Service
+public class EmployeeImportService implements EmployeeImportServicelmpl {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private final SqlSessionTemplate batchSqlSession; // BATCH 执行器，同一事务内的插入合并为 JDBC 批量执行
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeInfMapper employeeInfMapper; // 逐行重试时使用的普通执行器
+    private final DeptInfServicelmpl deptInfService;
+    private final JobInfServicelmpl jobInfService;
+    private final ImportErrorReportStore reportStore;
+    private final EmployeeNameIndex employeeNameIndex;
+    private final EmployeeAttributeIndex employeeAttributeIndex;
+    private final HeadcountServicelmpl headcountService;
+    private final TableVersions tableVersions;
+    private final int chunkSize;
+
+    @Autowired
+    public EmployeeImportService(SqlSessionFactory sqlSessionFactory,
+                                 PlatformTransactionManager transactionManager,
+                                 EmployeeInfMapper employeeInfMapper,
+                                 DeptInfServicelmpl deptInfService,
+                                 JobInfServicelmpl jobInfService,
+                                 ImportErrorReportStore reportStore,
+                                 EmployeeNameIndex employeeNameIndex,
+                                 EmployeeAttributeIndex employeeAttributeIndex,
+                                 HeadcountServicelmpl headcountService,
+                                 TableVersions tableVersions,
+                                 @Value("${hr.import.chunk-size:1000}") int chunkSize) {
+        this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeInfMapper = employeeInfMapper;
+        this.deptInfService = deptInfService;
+        this.jobInfService = jobInfService;
+        this.reportStore = reportStore;
+        this.employeeNameIndex = employeeNameIndex;
+        this.employeeAttributeIndex = employeeAttributeIndex;
+        this.headcountService = headcountService;
+        this.tableVersions = tableVersions;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public EmployeeImportResult importEmployees(InputStream in) {
+        String importId = UUID.randomUUID().toString();
+        try (CsvRecordReader reader = new CsvRecordReader(in);
+             ErrorReport report = new ErrorReport(importId)) {
+            List<String> headers = reader.next();
+            if (headers == null) {
+                throw new BusinessException("导入文件为空");
+            }
+            EmployeeCsvRowMapper rowMapper;
+            try {
+                rowMapper = new EmployeeCsvRowMapper(headers, loadDeptIds(), loadJobIds());
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(e.getMessage());
+            }
+            report.headers = headers;
+
+            Date createDate = new Date();
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            int total = 0;
+            int imported = 0;
+            long lineNumber = reader.getLineNumber();
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                long recordLine = lineNumber;
+                lineNumber = reader.getLineNumber();
+                if (EmployeeCsvRowMapper.isBlank(record)) {
+                    continue;
+                }
+                total++;
+                List<String> errors = new ArrayList<>();
+                EmployeeInf employee = rowMapper.map(record, errors);
+                if (employee == null) {
+                    report.add(recordLine, String.join("; ", errors), record);
+                    continue;
+                }
+                employee.setEmpCreateDate(createDate);
+                chunk.add(new ImportRow(recordLine, record, employee));
+                if (chunk.size() >= chunkSize) {
+                    imported += writeChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += writeChunk(chunk, report);
+            }
+
+            int failed = report.count;
+            logger.info("Employee import {} finished: total {}, imported {}, failed {}", importId, total, imported, failed);
+            return new EmployeeImportResult(importId, total, imported, failed, report.finish());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading employee import file", e);
+        }
+    }
+
+    @Override
+    public Path getErrorReport(String importId) {
+        if (importId == null) {
+            return null;
+        }
+        return reportStore.find(importId);
+    }
+
+    private Set<Integer> loadDeptIds() {
+        Set<Integer> ids = new HashSet<>();
+        for (DeptInf dept : deptInfService.getAllDepts()) {
+            ids.add(dept.getDeptId());
+        }
+        return ids;
+    }
+
+    private Set<Integer> loadJobIds() {
+        Set<Integer> ids = new HashSet<>();
+        for (JobInf job : jobInfService.getAllJobs()) {
+            ids.add(job.getJobId());
+        }
+        return ids;
+    }
+
+    /**
+     * 在一个事务内批量写入一块数据；失败时回滚并逐行重试
+     * @return 成功写入的行数
+     */
+    private int writeChunk(List<ImportRow> chunk, ErrorReport report) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                EmployeeInfMapper batchMapper = batchSqlSession.getMapper(EmployeeInfMapper.class);
+                HeadcountDelta delta = new HeadcountDelta();
+                for (ImportRow row : chunk) {
+                    batchMapper.insert(row.employee());
+                    delta.add(row.employee(), 1);
+                }
+                // 整块的人数增减合并为一条语句，与插入在同一个 BATCH 会话和事务中执行
+                // (事务内已使用 BATCH 执行器，不能再混用普通执行器的 Mapper)
+                batchSqlSession.getMapper(EmployeeHeadcountMapper.class).adjust(delta.toRows());
+                batchSqlSession.flushStatements();
+                TransactionHooks.afterCommit(() -> indexEmployees(chunk));
+                tableVersions.bump(TableVersions.EMPLOYEE);
+                tableVersions.bump(TableVersions.HEADCOUNT);
+            });
+            logger.debug("Imported chunk of {} employees", chunk.size());
+            return chunk.size();
+        } catch (RuntimeException e) {
+            logger.warn("Batch insert of {} employees failed, retrying row by row: {}", chunk.size(), e.getMessage());
+        }
+        int imported = 0;
+        for (ImportRow row : chunk) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    employeeInfMapper.insert(row.employee());
+                    headcountService.apply(new HeadcountDelta().add(row.employee(), 1));
+                    tableVersions.bump(TableVersions.EMPLOYEE);
+                });
+                employeeNameIndex.put(row.employee().getEmpId(), row.employee().getEmpName());
+                employeeAttributeIndex.put(row.employee());
+                imported++;
+            } catch (RuntimeException e) {
+                report.add(row.lineNumber(), "写入失败: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage(), row.record());
+            }
+        }
+        return imported;
+    }
+
+    /**
+     * 把已提交的一块员工加入姓名索引和属性索引；驱动没有回填自增主键时整表重建索引
+     */
+    private void indexEmployees(List<ImportRow> chunk) {
+        for (ImportRow row : chunk) {
+            if (row.employee().getEmpId() == null) {
+                logger.debug("Generated keys not returned for batch insert, rebuilding employee indexes");
+                employeeNameIndex.rebuild();
+                employeeAttributeIndex.rebuild();
+                return;
+            }
+            employeeNameIndex.put(row.employee().getEmpId(), row.employee().getEmpName());
+            employeeAttributeIndex.put(row.employee());
+        }
+    }
+
+    private record ImportRow(long lineNumber, List<String> record, EmployeeInf employee) {
+    }
+
+    /**
+     * 错误报告：第一条错误出现时才创建文件，列为 行号、错误信息 及原始记录的各列
+     */
+    private final class ErrorReport implements AutoCloseable {
+
+        private final String importId;
+        private List<String> headers = List.of();
+        private OutputStream out;
+        private CsvRowWriter writer;
+        private int count;
+
+        private ErrorReport(String importId) {
+            this.importId = importId;
+        }
+
+        private void add(long lineNumber, String message, List<String> record) throws IOException {
+            if (writer == null) {
+                out = Files.newOutputStream(reportStore.create(importId));
+                writer = new CsvRowWriter(out);
+                List<Object> headerRow = new ArrayList<>(headers.size() + 2);
+                headerRow.add("行号");
+                headerRow.add("错误信息");
+                headerRow.addAll(headers);
+                writer.writeRow(headerRow);
+            }
+            List<Object> row = new ArrayList<>(record.size() + 2);
+            row.add(lineNumber);
+            row.add(message);
+            row.addAll(record);
+            writer.writeRow(row);
+            count++;
+        }
+
+        /**
+         * @return 是否生成了报告
+         */
+        private boolean finish() throws IOException {
+            if (writer == null) {
+                return false;
+            }
+            writer.finish();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+}
@@ -1,45 +1,141 @@
 package org.example.hr.service;
 
-import org.example.hr.mapper.DeptInfMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.example.hr.cache.QueryResultCache;
+import org.example.hr.cache.TableVersions;
+import org.example.hr.datasource.DataSourceRouting;
+import org.example.hr.exception.BusinessException;
 import org.example.hr.mapper.EmployeeInfMapper;
-import org.example.hr.mapper.JobInfMapper;
 import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeFacetCount;
 import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.EmployeeListItem;
 import org.example.hr.pojo.JobInf;
+import org.example.hr.pojo.KeysetPage;
+import org.example.hr.search.EmployeeAttribute;
+import org.example.hr.search.EmployeeAttributeIndex;
+import org.example.hr.search.EmployeeNameIndex;
+import org.example.hr.service.impl.DeptInfServicelmpl;
 import org.example.hr.service.impl.EmployeeInfServicelmpl;
+import org.example.hr.service.impl.HeadcountServicelmpl;
+import org.example.hr.service.impl.JobInfServicelmpl;
+import org.example.hr.stats.HeadcountDelta;
+import org.example.hr.util.SingleFlight;
+import org.example.hr.util.TransactionHooks;
+import org.roaringbitmap.RoaringBitmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils; // Spring提供的字符串工具类
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class EmployeeInfService implements EmployeeInfServicelmpl {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeInfService.class);
 
+    /**
+     * 员工关联查询读取的表 (结果缓存按这些表的版本号失效)
+     */
+    private static final String[] EMPLOYEE_JOIN_TABLES = {TableVersions.EMPLOYEE, TableVersions.DEPT, TableVersions.JOB};
+
+    /**
+     * 游标分页参数 (不是查询条件)
+     */
+    private static final Set<String> PAGING_PARAMS = Set.of("afterId", "beforeId", "limit");
+
+    /**
+     * 可按需查询的员工字段 (EmployeeInf 的属性名，department/job 对应部门/岗位ID) -> 员工表的列名
+     * 列名会以 ${} 拼入 SQL (findColumnsByCriteria)，只能取自这里
+     */
+    private static final Map<String, String> FIELD_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        FIELD_COLUMNS.put("empName", "emp_name");
+        FIELD_COLUMNS.put("empCardId", "emp_card_id");
+        FIELD_COLUMNS.put("empAddress", "emp_address");
+        FIELD_COLUMNS.put("empPostCode", "emp_post_code");
+        FIELD_COLUMNS.put("empTel", "emp_tel");
+        FIELD_COLUMNS.put("empPhone", "emp_phone");
+        FIELD_COLUMNS.put("empQq", "emp_qq");
+        FIELD_COLUMNS.put("empEmail", "emp_email");
+        FIELD_COLUMNS.put("empSex", "emp_sex");
+        FIELD_COLUMNS.put("empParty", "emp_party");
+        FIELD_COLUMNS.put("empBirth", "emp_birth");
+        FIELD_COLUMNS.put("empRace", "emp_race");
+        FIELD_COLUMNS.put("empEdu", "emp_edu");
+        FIELD_COLUMNS.put("empSpeciality", "emp_speciality");
+        FIELD_COLUMNS.put("empHobby", "emp_hobby");
+        FIELD_COLUMNS.put("empRemark", "emp_remark");
+        FIELD_COLUMNS.put("empCreateDate", "emp_create_date");
+        FIELD_COLUMNS.put("version", "version");
+        FIELD_COLUMNS.put("department", "emp_dept_id");
+        FIELD_COLUMNS.put("job", "emp_job_id");
+    }
+
     private final EmployeeInfMapper employeeInfMapper;
-    private final DeptInfMapper deptInfMapper; // 用于校验部门是否存在
-    private final JobInfMapper jobInfMapper;   // 用于校验岗位是否存在
+    private final DeptInfServicelmpl deptInfService; // 用于校验部门是否存在 (走内存缓存)
+    private final JobInfServicelmpl jobInfService;   // 用于校验岗位是否存在 (走内存缓存)
+    private final EmployeeNameIndex employeeNameIndex; // 姓名子串搜索索引
+    private final EmployeeAttributeIndex employeeAttributeIndex; // 性别、部门、岗位等低基数字段的位图索引
+    private final HeadcountServicelmpl headcountService; // 人数汇总，与员工写操作在同一事务内维护
+    private final TableVersions tableVersions; // 列表页条件 GET 使用的表版本号，也是合并查询的键的一部分
+    private final QueryResultCache queryResultCache; // 按表版本号失效的查询结果缓存
+    private final boolean coalesceSearches; // hr.search.single-flight-wait 为0时不合并
+    private final SingleFlight<SearchKey, List<EmployeeInf>> criteriaFlights;  // findByCriteria 的并发合并
+    private final SingleFlight<SearchKey, List<EmployeeListItem>> pageFlights; // findListByCriteria 的并发合并
 
     @Autowired
     public EmployeeInfService(EmployeeInfMapper employeeInfMapper,
-                              DeptInfMapper deptInfMapper,
-                              JobInfMapper jobInfMapper) {
+                              DeptInfServicelmpl deptInfService,
+                              JobInfServicelmpl jobInfService,
+                              EmployeeNameIndex employeeNameIndex,
+                              EmployeeAttributeIndex employeeAttributeIndex,
+                              HeadcountServicelmpl headcountService,
+                              TableVersions tableVersions,
+                              QueryResultCache queryResultCache,
+                              MeterRegistry meterRegistry,
+                              @Value("${hr.search.single-flight-wait:2s}") Duration singleFlightWait) {
         this.employeeInfMapper = employeeInfMapper;
-        this.deptInfMapper = deptInfMapper;
-        this.jobInfMapper = jobInfMapper;
+        this.deptInfService = deptInfService;
+        this.jobInfService = jobInfService;
+        this.employeeNameIndex = employeeNameIndex;
+        this.employeeAttributeIndex = employeeAttributeIndex;
+        this.headcountService = headcountService;
+        this.tableVersions = tableVersions;
+        this.queryResultCache = queryResultCache;
+        this.coalesceSearches = singleFlightWait.isPositive();
+        this.criteriaFlights = new SingleFlight<>("findByCriteria", singleFlightWait, meterRegistry);
+        this.pageFlights = new SingleFlight<>("findListByCriteria", singleFlightWait, meterRegistry);
     }
 
     @Override
     public List<EmployeeInf> getAllEmployeesWithDetails() {
         logger.debug("Fetching all employees with details");
-        return employeeInfMapper.findAllWithDetails();
+        return queryResultCache.get("findAllWithDetails", Map.of(), employeeInfMapper::findAllWithDetails, EMPLOYEE_JOIN_TABLES);
     }
 
     @Override
@@ -67,7 +163,7 @@ public class EmployeeInfService implements EmployeeInfServicelmpl {
         // 校验部门和岗位是否存在，并设置到关联对象中
         // 假设 employeeInf.getEmpDeptIdInput() 和 employeeInf.getEmpJobIdInput() 存储了前端传来的ID
         if (employeeInf.getEmpDeptIdInput() != null) {
-            DeptInf dept = deptInfMapper.findById(employeeInf.getEmpDeptIdInput());
+            DeptInf dept = deptInfService.getDeptById(employeeInf.getEmpDeptIdInput());
             if (dept == null) {
                 logger.warn("Department not found for ID: {}", employeeInf.getEmpDeptIdInput());
                 return false;
@@ -79,7 +175,7 @@ public class EmployeeInfService implements EmployeeInfServicelmpl {
         }
 
         if (employeeInf.getEmpJobIdInput() != null) {
-            JobInf job = jobInfMapper.findById(employeeInf.getEmpJobIdInput());
+            JobInf job = jobInfService.getJobById(employeeInf.getEmpJobIdInput());
             if (job == null) {
                 logger.warn("Job not found for ID: {}", employeeInf.getEmpJobIdInput());
                 return false;
@@ -97,10 +193,18 @@ public class EmployeeInfService implements EmployeeInfServicelmpl {
 
         try {
             int result = employeeInfMapper.insert(employeeInf);
+            headcountService.apply(new HeadcountDelta().add(employeeInf, 1));
+            TransactionHooks.afterCommit(() -> {
+                employeeNameIndex.put(employeeInf.getEmpId(), employeeInf.getEmpName());
+                employeeAttributeIndex.put(employeeInf);
+            });
+            tableVersions.bump(TableVersions.EMPLOYEE);
             logger.info("Employee added successfully: {}, ID: {}", employeeInf.getEmpName(), employeeInf.getEmpId());
             return result > 0;
         } catch (Exception e) {
             logger.error("Error adding employee: {}", employeeInf.getEmpName(), e);
+            // 异常被吞掉时事务仍会提交，这里标记回滚，避免员工表与人数汇总只写入一半
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return false;
         }
     }
@@ -113,15 +217,9 @@ public class EmployeeInfService implements EmployeeInfServicelmpl {
             return false;
         }
 
-        EmployeeInf existingEmployee = employeeInfMapper.findByIdBasic(employeeInf.getEmpId());
-        if (existingEmployee == null) {
-            logger.warn("Attempted to update non-existent employee with ID: {}", employeeInf.getEmpId());
-            return false;
-        }
-
-        // 处理部门和岗位ID的更新
+        // 处理部门和岗位ID的更新 (部门、岗位走内存缓存，不访问数据库)
         if (employeeInf.getEmpDeptIdInput() != null) {
-            DeptInf dept = deptInfMapper.findById(employeeInf.getEmpDeptIdInput());
+            DeptInf dept = deptInfService.getDeptById(employeeInf.getEmpDeptIdInput());
             if (dept == null) {
                 logger.warn("Department not found for ID: {} during update", employeeInf.getEmpDeptIdInput());
                 return false; // 根据业务逻辑决定是否允许清空部门
@@ -135,7 +233,7 @@ public class EmployeeInfService implements EmployeeInfServicelmpl {
 
 
         if (employeeInf.getEmpJobIdInput() != null) {
-            JobInf job = jobInfMapper.findById(employeeInf.getEmpJobIdInput());
+            JobInf job = jobInfService.getJobById(employeeInf.getEmpJobIdInput());
             if (job == null) {
                 logger.warn("Job not found for ID: {} during update", employeeInf.getEmpJobIdInput());
                 return false; // 根据业务逻辑决定是否允许清空岗位
@@ -147,45 +245,350 @@ public class EmployeeInfService implements EmployeeInfServicelmpl {
             employeeInf.setJob(null); // 允许清空岗位，如果业务允许
         }
 
+        // 唯一的一次读取：锁定员工行读取修改前的分组和版本号。人数汇总需要旧的分组才能计算增减，
+        // 锁定到提交为止，其他事务无法同时修改该员工，人数增减不会基于过期的值
+        EmployeeInf existingEmployee = employeeInfMapper.lockForUpdate(employeeInf.getEmpId());
+        if (existingEmployee == null) {
+            logger.warn("Attempted to update non-existent employee with ID: {}", employeeInf.getEmpId());
+            return false;
+        }
+        if (employeeInf.getVersion() != null && !employeeInf.getVersion().equals(existingEmployee.getVersion())) {
+            logger.warn("Optimistic lock conflict updating employee ID {}, version {} (current {})",
+                    employeeInf.getEmpId(), employeeInf.getVersion(), existingEmployee.getVersion());
+            throw new BusinessException("员工 '" + existingEmployee.getEmpName() + "' 已被其他用户修改，请刷新后重试");
+        }
 
         try {
             // employeeInf 对象现在包含了要更新的所有字段 (包括关联对象的ID)
             // Mapper XML 中的动态SQL会处理哪些字段实际被更新
             int result = employeeInfMapper.update(employeeInf);
+            if (result > 0) {
+                EmployeeInf updated = afterUpdate(existingEmployee, employeeInf);
+                headcountService.apply(new HeadcountDelta().change(existingEmployee, updated));
+                TransactionHooks.afterCommit(() -> employeeAttributeIndex.put(updated));
+                tableVersions.bump(TableVersions.EMPLOYEE);
+            }
+            if (result > 0 && StringUtils.hasText(employeeInf.getEmpName())) {
+                TransactionHooks.afterCommit(() -> employeeNameIndex.put(employeeInf.getEmpId(), employeeInf.getEmpName()));
+            }
             logger.info("Employee updated successfully: ID {}", employeeInf.getEmpId());
             return result > 0;
         } catch (Exception e) {
             logger.error("Error updating employee with ID: {}", employeeInf.getEmpId(), e);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return false;
         }
     }
 
     @Override
     @Transactional
-    public boolean deleteEmployeeById(Integer empId) {
+    public EmployeeInf deleteEmployeeById(Integer empId) {
         if (empId == null) {
             logger.warn("Attempted to delete employee with null ID.");
-            return false;
+            return null;
         }
-        EmployeeInf employeeToDelete = employeeInfMapper.findByIdBasic(empId);
+        // 锁定并读取被删除员工的分组 (人数汇总) 和姓名 (提示信息)，不再单独做三表关联查询
+        EmployeeInf employeeToDelete = employeeInfMapper.lockForUpdate(empId);
         if (employeeToDelete == null) {
             logger.warn("Attempted to delete non-existent employee with ID: {}", empId);
-            return false;
+            return null;
         }
         try {
             int result = employeeInfMapper.deleteById(empId);
+            if (result > 0) {
+                headcountService.apply(new HeadcountDelta().add(employeeToDelete, -1));
+                tableVersions.bump(TableVersions.EMPLOYEE);
+            }
+            TransactionHooks.afterCommit(() -> {
+                employeeNameIndex.remove(empId);
+                employeeAttributeIndex.remove(empId);
+            });
             logger.info("Employee deleted successfully: ID {}", empId);
-            return result > 0;
+            return result > 0 ? employeeToDelete : null;
         } catch (Exception e) {
             logger.error("Error deleting employee with ID: {}", empId, e);
-            return false;
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return null;
         }
     }
 
+    /**
+     * 按 Mapper 中动态 UPDATE 的规则 (只更新非空字段) 推算修改后员工在各统计维度 (及属性索引字段) 上的取值
+     */
+    private static EmployeeInf afterUpdate(EmployeeInf before, EmployeeInf changes) {
+        EmployeeInf after = new EmployeeInf();
+        after.setEmpId(before.getEmpId());
+        after.setDepartment(changes.getDepartment() != null && changes.getDepartment().getDeptId() != null
+                ? changes.getDepartment() : before.getDepartment());
+        after.setJob(changes.getJob() != null && changes.getJob().getJobId() != null ? changes.getJob() : before.getJob());
+        after.setEmpSex(changes.getEmpSex() != null ? changes.getEmpSex() : before.getEmpSex());
+        after.setEmpEdu(changes.getEmpEdu() != null ? changes.getEmpEdu() : before.getEmpEdu());
+        after.setEmpParty(changes.getEmpParty() != null ? changes.getEmpParty() : before.getEmpParty());
+        after.setEmpRace(changes.getEmpRace() != null ? changes.getEmpRace() : before.getEmpRace());
+        return after;
+    }
+
     @Override
     public List<EmployeeInf> findEmployeesByCriteria(Map<String, Object> params) {
         logger.debug("Finding employees by criteria: {}", params);
-        return employeeInfMapper.findByCriteria(params);
+        Map<String, Object> criteria = normalizeCriteria(params);
+        return queryResultCache.get("findByCriteria", criteria,
+                () -> coalesce(criteriaFlights, criteria, () -> employeeInfMapper.findByCriteria(resolveIndexedCriteria(params))),
+                EMPLOYEE_JOIN_TABLES);
+    }
+
+    @Override
+    public KeysetPage<EmployeeListItem> findEmployeesPage(Map<String, Object> params, Integer afterId, Integer beforeId, int pageSize) {
+        logger.debug("Finding employees page by criteria: {}, afterId: {}, beforeId: {}, pageSize: {}",
+                params, afterId, beforeId, pageSize);
+        boolean backward = beforeId != null;
+        Map<String, Object> query = params == null ? new HashMap<>() : new HashMap<>(params);
+        if (backward) {
+            query.put("beforeId", beforeId);
+        } else if (afterId != null) {
+            query.put("afterId", afterId);
+        }
+        // 多取一行用于判断当前方向上是否还有更多数据
+        query.put("limit", pageSize + 1);
+        Map<String, Object> criteria = normalizeCriteria(query);
+        List<EmployeeListItem> rows = queryResultCache.get("findListByCriteria", criteria,
+                () -> coalesce(pageFlights, criteria, () -> employeeInfMapper.findListByCriteria(resolveIndexedCriteria(query))),
+                EMPLOYEE_JOIN_TABLES);
+        return toKeysetPage(rows, EmployeeListItem::getEmpId, afterId, backward, pageSize);
+    }
+
+    @Override
+    public KeysetPage<EmployeeInf> findEmployeeFieldsPage(Map<String, Object> params, Collection<String> fields,
+                                                          Integer afterId, int pageSize) {
+        logger.debug("Finding employee fields {} by criteria: {}, afterId: {}, pageSize: {}", fields, params, afterId, pageSize);
+        Map<String, Object> query = params == null ? new HashMap<>() : new HashMap<>(params);
+        if (afterId != null) {
+            query.put("afterId", afterId);
+        }
+        query.put("limit", pageSize + 1);
+        // 列名按白名单顺序排列，相同的字段集合得到相同的缓存键
+        List<String> columns = new ArrayList<>();
+        FIELD_COLUMNS.forEach((field, column) -> {
+            if (fields.contains(field)) {
+                columns.add(column);
+            }
+        });
+        Map<String, Object> criteria = normalizeCriteria(query);
+        criteria.put("columns", columns);
+        List<EmployeeInf> rows = queryResultCache.get("findColumnsByCriteria", criteria, () -> {
+            Map<String, Object> statement = new HashMap<>(resolveIndexedCriteria(query));
+            statement.put("columns", columns);
+            return employeeInfMapper.findColumnsByCriteria(statement);
+        }, TableVersions.EMPLOYEE);
+        return toKeysetPage(rows, EmployeeInf::getEmpId, afterId, false, pageSize);
+    }
+
+    /**
+     * 合并相同条件的并发查询：例如上班时大量用户同时打开同一个部门的列表，只执行一次数据库查询，共享结果
+     * 键由规范化的查询条件、员工/部门/岗位表的版本号和是否强制走主库组成：
+     * 写操作提交后版本号递增，提交后发起的查询不会共享提交前开始的查询结果 (读己之写)；
+     * 强制走主库的请求也不会共享从库上的查询。事务中的查询不合并，需要读到本事务的修改。
+     * 合并只在查询进行期间共享结果 (结果缓存见 {@link QueryResultCache})，共享的列表和对象调用方不应修改。
+     */
+    private <T> List<T> coalesce(SingleFlight<SearchKey, List<T>> flights, Map<String, Object> criteria, Supplier<List<T>> loader) {
+        if (!coalesceSearches || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        SearchKey key = new SearchKey(criteria, tableVersions.get(TableVersions.EMPLOYEE),
+                tableVersions.get(TableVersions.DEPT), tableVersions.get(TableVersions.JOB), DataSourceRouting.isPrimaryForced());
+        return flights.execute(key, loader);
+    }
+
+    /**
+     * 去掉 Mapper 动态 SQL 会忽略的空条件 (null 和空字符串)，按键排序，作为结果缓存和合并查询的键
+     */
+    private static Map<String, Object> normalizeCriteria(Map<String, Object> query) {
+        Map<String, Object> criteria = new TreeMap<>();
+        if (query != null) {
+            query.forEach((name, value) -> {
+                if (value != null && !"".equals(value)) {
+                    criteria.put(name, value);
+                }
+            });
+        }
+        return criteria;
+    }
+
+    /**
+     * 合并查询的键
+     */
+    private record SearchKey(Map<String, Object> criteria, long employeeVersion, long deptVersion, long jobVersion,
+                             boolean primaryForced) {
+    }
+
+    /**
+     * 通过索引把条件解析为候选主键集合 (empIds)，数据库只需按主键取回这些行，其余条件只在这些行上复核：
+     * empName 子串由姓名索引解析，性别、部门、岗位等低基数条件由属性位图索引求交集，两者再求交集。
+     * 分页查询 (带 limit) 只在全部条件都已由索引解析时才在位图上按游标截取一页的主键：
+     * 还有索引未覆盖的条件 (手机号、身份证号，或姓名索引无法解析的姓名) 时，截取后的一页再被数据库过滤会少行，
+     * 这时与不分页的查询一样，只在候选数不超过上限时传入全部候选主键。
+     * 索引不可用或姓名匹配过多时原样返回，由数据库按条件查询
+     */
+    private Map<String, Object> resolveIndexedCriteria(Map<String, Object> params) {
+        if (params == null) {
+            return null;
+        }
+        List<Integer> nameIds = resolveName(params);
+        RoaringBitmap candidates = employeeAttributeIndex.match(params);
+        if (candidates == null) {
+            return nameIds == null ? params : withEmpIds(params, nameIds);
+        }
+        if (nameIds != null) {
+            candidates.and(toBitmap(nameIds));
+        }
+        if (params.get("empIds") instanceof Collection<?> empIds) {
+            // 调用方指定的主键范围 (如按ID查询) 与索引的候选求交集，不能被覆盖
+            RoaringBitmap given = new RoaringBitmap();
+            empIds.forEach(id -> given.add((Integer) id));
+            candidates.and(given);
+        }
+        logger.debug("Attribute index resolved {} to {} candidates", params, candidates.getLongCardinality());
+        if (params.get("limit") instanceof Integer limit && isFullyIndexed(params, nameIds != null)) {
+            return withEmpIds(params, EmployeeAttributeIndex.window(candidates,
+                    (Integer) params.get("afterId"), (Integer) params.get("beforeId"), limit));
+        }
+        if (candidates.getLongCardinality() <= employeeAttributeIndex.getMaxCandidates()) {
+            return withEmpIds(params, toList(candidates));
+        }
+        return nameIds == null ? params : withEmpIds(params, nameIds);
+    }
+
+    /**
+     * @param nameResolved 姓名条件是否已由姓名索引解析
+     * @return 条件是否全部由索引解析 (除游标分页参数外只有低基数字段、候选主键和已解析的姓名)
+     */
+    private static boolean isFullyIndexed(Map<String, Object> params, boolean nameResolved) {
+        for (Map.Entry<String, Object> condition : params.entrySet()) {
+            String name = condition.getKey();
+            Object value = condition.getValue();
+            if (value == null || "".equals(value) || PAGING_PARAMS.contains(name) || name.equals("empIds")
+                    || (name.equals("empName") && nameResolved)) {
+                continue;
+            }
+            if (Arrays.stream(EmployeeAttribute.values()).noneMatch(attribute -> attribute.getParam().equals(name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 姓名索引解析出的候选主键；没有姓名条件、索引不可用或匹配过多时返回null
+     */
+    private List<Integer> resolveName(Map<String, Object> params) {
+        if (!(params.get("empName") instanceof String empName) || empName.isEmpty()) {
+            return null;
+        }
+        List<Integer> empIds = employeeNameIndex.search(empName);
+        if (empIds != null) {
+            logger.debug("Name index resolved '{}' to {} candidates", empName, empIds.size());
+        }
+        return empIds;
+    }
+
+    private static Map<String, Object> withEmpIds(Map<String, Object> params, List<Integer> empIds) {
+        Map<String, Object> query = new HashMap<>(params);
+        query.put("empIds", empIds);
+        return query;
+    }
+
+    private static RoaringBitmap toBitmap(List<Integer> ids) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static List<Integer> toList(RoaringBitmap ids) {
+        List<Integer> list = new ArrayList<>(ids.getCardinality());
+        ids.forEach((int id) -> list.add(id));
+        return list;
+    }
+
+    @Override
+    public Map<String, Map<Object, Integer>> getAttributeFacets(Map<String, Object> params) {
+        Map<String, Object> criteria = normalizeCriteria(params);
+        Map<EmployeeAttribute, Map<Object, Integer>> facets = indexFacets(criteria);
+        if (facets == null) {
+            facets = countFacets(criteria);
+        }
+        Map<String, Map<Object, Integer>> byParam = new LinkedHashMap<>();
+        facets.forEach((attribute, counts) -> byParam.put(attribute.getParam(), counts));
+        return byParam;
+    }
+
+    /**
+     * 在属性位图索引上统计分面
+     * @return 索引不可用、条件中有手机号/身份证号 (位图只覆盖低基数字段和姓名) 或姓名匹配过多时返回null
+     */
+    private Map<EmployeeAttribute, Map<Object, Integer>> indexFacets(Map<String, Object> criteria) {
+        if (criteria.containsKey("empPhone") || criteria.containsKey("empCardId")) {
+            return null;
+        }
+        RoaringBitmap restrict = null;
+        if (criteria.containsKey("empName")) {
+            List<Integer> nameIds = resolveName(criteria);
+            if (nameIds == null) {
+                return null;
+            }
+            restrict = toBitmap(nameIds);
+        }
+        return employeeAttributeIndex.facets(criteria, restrict);
+    }
+
+    /**
+     * 由数据库统计分面：只带非分组字段的条件按全部低基数字段分组查询一次，再在内存中按各字段累加，
+     * 代替每个字段、每个取值各执行一次 COUNT(*)。分组结果按条件和员工表版本号缓存
+     */
+    private Map<EmployeeAttribute, Map<Object, Integer>> countFacets(Map<String, Object> criteria) {
+        Map<String, Object> ungrouped = new TreeMap<>(criteria);
+        for (EmployeeAttribute attribute : EmployeeAttribute.values()) {
+            ungrouped.remove(attribute.getParam());
+        }
+        List<EmployeeFacetCount> groups = queryResultCache.get("countFacets", ungrouped,
+                () -> employeeInfMapper.countFacets(resolveIndexedCriteria(ungrouped)), TableVersions.EMPLOYEE);
+        return EmployeeAttributeIndex.facetsOf(groups, criteria);
+    }
+
+    /**
+     * 将多取一行的查询结果裁剪为一页，并计算翻页游标
+     */
+    private static <T> KeysetPage<T> toKeysetPage(List<T> rows, Function<T, Integer> idOf, Integer afterId, boolean backward, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        if (backward) {
+            // 向前翻页时查询结果为倒序，这里恢复为升序展示
+            items = new ArrayList<>(items);
+            Collections.reverse(items);
+        }
+        Integer firstId = items.isEmpty() ? null : idOf.apply(items.get(0));
+        Integer lastId = items.isEmpty() ? null : idOf.apply(items.get(items.size() - 1));
+        boolean hasPrevious = backward ? hasMore : afterId != null;
+        boolean hasNext = backward || hasMore;
+        return new KeysetPage<>(items, firstId, lastId, hasPrevious, hasNext, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true) // 游标只能在打开它的 SqlSession 内消费，需要事务保持会话
+    public int exportEmployees(Map<String, Object> params, Consumer<EmployeeInf> rowHandler) {
+        logger.debug("Exporting employees by criteria: {}", params);
+        int count = 0;
+        try (Cursor<EmployeeInf> cursor = (params == null || params.isEmpty())
+                ? employeeInfMapper.streamAllWithDetails()
+                : employeeInfMapper.streamByCriteria(resolveIndexedCriteria(params))) {
+            for (EmployeeInf employee : cursor) {
+                rowHandler.accept(employee);
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error closing employee export cursor", e);
+        }
+        logger.info("Exported {} employees", count);
+        return count;
     }
 
     @Override
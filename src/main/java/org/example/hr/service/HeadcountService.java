@@ -0,0 +1,181 @@
+package org.example.hr.service;
+
+import org.example.hr.cache.TableVersions;
+import org.example.hr.mapper.EmployeeHeadcountMapper;
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.Headcount;
+import org.example.hr.pojo.HeadcountGroup;
+import org.example.hr.pojo.JobInf;
+import org.example.hr.service.impl.DeptInfServicelmpl;
+import org.example.hr.service.impl.HeadcountServicelmpl;
+import org.example.hr.service.impl.JobInfServicelmpl;
+import org.example.hr.stats.HeadcountDelta;
+import org.example.hr.stats.HeadcountDimension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 员工人数汇总
+ * emp_headcount 表按部门、岗位、性别、学历保存每个分组的员工人数，
+ * 员工的增删改在同一事务内调整对应分组 (见 {@link HeadcountDelta})，首页统计只读取汇总表，不扫描员工表。
+ * <p>
+ * 定时对账 (hr.headcount.reconcile-interval) 用员工表的分组统计修正汇总表的偏差，
+ * 例如绕过应用直接修改数据库造成的不一致；应用启动完成后也会对账一次，汇总表为空时由此完成初始化。
+ * 对账先锁定汇总表的全部行再统计员工表：并发的写事务在调整汇总行时等待对账提交，
+ * 此时统计结果不包含它们尚未提交的修改，它们的增减在对账之后生效，不会被重复计算或遗漏。
+ */
+@Service
+public class HeadcountService implements HeadcountServicelmpl {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadcountService.class);
+
+    private final EmployeeHeadcountMapper headcountMapper;
+    private final DeptInfServicelmpl deptInfService;
+    private final JobInfServicelmpl jobInfService;
+    private final TransactionTemplate transactionTemplate;
+    private final TableVersions tableVersions;
+
+    @Autowired
+    public HeadcountService(EmployeeHeadcountMapper headcountMapper,
+                            DeptInfServicelmpl deptInfService,
+                            JobInfServicelmpl jobInfService,
+                            PlatformTransactionManager transactionManager,
+                            TableVersions tableVersions) {
+        this.headcountMapper = headcountMapper;
+        this.deptInfService = deptInfService;
+        this.jobInfService = jobInfService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tableVersions = tableVersions;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(HeadcountDelta delta) {
+        List<Headcount> rows = delta.toRows();
+        if (!rows.isEmpty()) {
+            headcountMapper.adjust(rows);
+            tableVersions.bump(TableVersions.HEADCOUNT);
+        }
+    }
+
+    @Override
+    public Map<HeadcountDimension, List<HeadcountGroup>> getDashboard() {
+        Map<HeadcountDimension, List<Headcount>> byDimension = new EnumMap<>(HeadcountDimension.class);
+        for (Headcount row : headcountMapper.findAll()) {
+            byDimension.computeIfAbsent(HeadcountDimension.fromCode(row.getDimension()), key -> new ArrayList<>()).add(row);
+        }
+        // 每名员工在每个维度上恰好属于一个分组，任一维度的人数之和即员工总数
+        int total = byDimension.getOrDefault(HeadcountDimension.DEPT, List.of()).stream().mapToInt(Headcount::getHeadcount).sum();
+        Map<HeadcountDimension, List<HeadcountGroup>> dashboard = new EnumMap<>(HeadcountDimension.class);
+        for (HeadcountDimension dimension : HeadcountDimension.values()) {
+            List<HeadcountGroup> groups = new ArrayList<>();
+            for (Headcount row : byDimension.getOrDefault(dimension, List.of())) {
+                int percent = total > 0 ? Math.round(row.getHeadcount() * 100f / total) : 0;
+                groups.add(new HeadcountGroup(label(dimension, row.getDimKey()), row.getHeadcount(), percent));
+            }
+            groups.sort(Comparator.comparingInt(HeadcountGroup::getHeadcount).reversed());
+            dashboard.put(dimension, groups);
+        }
+        return dashboard;
+    }
+
+    @Override
+    public Map<String, Integer> getHeadcounts(HeadcountDimension dimension) {
+        Map<String, Integer> headcounts = new HashMap<>();
+        for (Headcount row : headcountMapper.findAll()) {
+            if (dimension.getCode().equals(row.getDimension())) {
+                headcounts.put(row.getDimKey(), row.getHeadcount());
+            }
+        }
+        return headcounts;
+    }
+
+    /**
+     * @return 分组在页面上的名称
+     */
+    private String label(HeadcountDimension dimension, String dimKey) {
+        if (dimKey.isEmpty()) {
+            return "未填写";
+        }
+        return switch (dimension) {
+            case DEPT -> {
+                DeptInf dept = deptInfService.getDeptById(Integer.valueOf(dimKey));
+                yield dept != null ? dept.getDeptName() : "部门" + dimKey;
+            }
+            case JOB -> {
+                JobInf job = jobInfService.getJobById(Integer.valueOf(dimKey));
+                yield job != null ? job.getJobName() : "岗位" + dimKey;
+            }
+            case SEX -> "1".equals(dimKey) ? "男" : ("2".equals(dimKey) ? "女" : "未知");
+            case EDU -> dimKey;
+        };
+    }
+
+    @Override
+    public int reconcile() {
+        Integer corrected = transactionTemplate.execute(status -> {
+            Map<String, Integer> drift = new HashMap<>();
+            for (Headcount row : headcountMapper.findAllForUpdate()) {
+                drift.merge(row.getDimension() + '\0' + row.getDimKey(), -row.getHeadcount(), Integer::sum);
+            }
+            for (Headcount row : headcountMapper.countActual()) {
+                drift.merge(row.getDimension() + '\0' + row.getDimKey(), row.getHeadcount(), Integer::sum);
+            }
+            HeadcountDelta delta = new HeadcountDelta();
+            drift.forEach((key, count) -> {
+                int separator = key.indexOf('\0');
+                delta.add(key.substring(0, separator), key.substring(separator + 1), count);
+            });
+            List<Headcount> rows = delta.toRows();
+            if (!rows.isEmpty()) {
+                headcountMapper.adjust(rows);
+                tableVersions.bump(TableVersions.HEADCOUNT);
+            }
+            headcountMapper.deleteEmpty();
+            return rows.size();
+        });
+        if (corrected != null && corrected > 0) {
+            logger.warn("Headcount reconciliation corrected {} groups", corrected);
+        } else {
+            logger.debug("Headcount summary is consistent with employee_inf");
+        }
+        return corrected == null ? 0 : corrected;
+    }
+
+    /**
+     * 定时对账；失败 (例如数据库不可用) 时只记录警告，等待下一次执行
+     */
+    @Scheduled(fixedDelayString = "${hr.headcount.reconcile-interval:1h}",
+            initialDelayString = "${hr.headcount.reconcile-interval:1h}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            logger.warn("Headcount reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 应用启动完成后对账一次，汇总表为空时由此完成初始化
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduledReconcile();
+    }
+}
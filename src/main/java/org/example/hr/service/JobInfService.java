@@ -1,16 +1,25 @@
 package org.example.hr.service;
 
+import org.example.hr.cache.ReferenceCacheStats;
+import org.example.hr.cache.ReferenceDataCache;
+import org.example.hr.cache.TableVersions;
+import org.example.hr.datasource.DataSourceRouting;
+import org.example.hr.exception.BusinessException;
 import org.example.hr.mapper.JobInfMapper;
 import org.example.hr.pojo.JobInf;
 import org.example.hr.service.impl.JobInfServicelmpl;
+import org.example.hr.util.TransactionHooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 
 @Service
 public class JobInfService implements JobInfServicelmpl {
@@ -18,16 +27,22 @@ public class JobInfService implements JobInfServicelmpl {
     private static final Logger logger = LoggerFactory.getLogger(JobInfService.class);
 
     private final JobInfMapper jobInfMapper;
+    private final ReferenceDataCache<JobInf> jobCache; // 岗位表的内存快照，写操作提交后失效
+    private final TableVersions tableVersions; // 列表页条件 GET 使用的表版本号
 
     @Autowired
-    public JobInfService(JobInfMapper jobInfMapper) {
+    public JobInfService(JobInfMapper jobInfMapper, TableVersions tableVersions) {
         this.jobInfMapper = jobInfMapper;
+        this.tableVersions = tableVersions;
+        this.jobCache = new ReferenceDataCache<>("job",
+                () -> DataSourceRouting.onPrimary(jobInfMapper::findAll), // 快照从主库加载，避免写入后重新加载到从库的旧数据
+                JobInf::getJobId, JobInf::getJobName);
     }
 
     @Override
     public List<JobInf> getAllJobs() {
         logger.debug("Fetching all jobs");
-        return jobInfMapper.findAll();
+        return jobCache.getAll();
     }
 
     @Override
@@ -36,7 +51,16 @@ public class JobInfService implements JobInfServicelmpl {
         if (jobId == null) {
             return null;
         }
-        return jobInfMapper.findById(jobId);
+        return jobCache.getById(jobId);
+    }
+
+    @Override
+    public List<JobInf> getJobsByIds(Collection<Integer> jobIds) {
+        logger.debug("Fetching jobs by ids: {}", jobIds);
+        if (jobIds == null || jobIds.isEmpty()) {
+            return List.of();
+        }
+        return jobInfMapper.findByIds(jobIds);
     }
 
     @Override
@@ -45,7 +69,7 @@ public class JobInfService implements JobInfServicelmpl {
         if (jobName == null || jobName.trim().isEmpty()) {
             return null;
         }
-        return jobInfMapper.findByName(jobName);
+        return jobCache.getByName(jobName);
     }
 
     @Override
@@ -55,16 +79,17 @@ public class JobInfService implements JobInfServicelmpl {
             logger.warn("Attempted to add job with null or empty name.");
             return false;
         }
-        JobInf existingJob = jobInfMapper.findByName(jobInf.getJobName().trim());
-        if (existingJob != null) {
-            logger.warn("Attempted to add job with existing name: {}", jobInf.getJobName());
-            return false;
-        }
+        // 名称唯一性由 job_name 上的唯一索引保证，不再预先按名称查询
         try {
             int result = jobInfMapper.insert(jobInf);
+            TransactionHooks.afterCommit(jobCache::invalidate);
+            tableVersions.bump(TableVersions.JOB);
             logger.info("Job added successfully: {}, ID: {}", jobInf.getJobName(), jobInf.getJobId());
             return result > 0;
-        } catch (Exception e) {
+        } catch (DuplicateKeyException e) {
+            logger.warn("Attempted to add job with existing name: {}", jobInf.getJobName());
+            throw new BusinessException("岗位名称 '" + jobInf.getJobName() + "' 已存在");
+        } catch (DataAccessException e) {
             logger.error("Error adding job: {}", jobInf.getJobName(), e);
             return false;
         }
@@ -77,27 +102,30 @@ public class JobInfService implements JobInfServicelmpl {
             logger.warn("Attempted to update job with invalid data.");
             return false;
         }
-        JobInf currentJob = jobInfMapper.findById(jobInf.getJobId());
-        if (currentJob == null) {
-            logger.warn("Attempted to update non-existent job with ID: {}", jobInf.getJobId());
-            return false;
-        }
-
-        JobInf existingJobWithNewName = jobInfMapper.findByName(jobInf.getJobName().trim());
-        if (existingJobWithNewName != null && !Objects.equals(existingJobWithNewName.getJobId(), jobInf.getJobId())) {
-            logger.warn("Attempted to update job ID {} with a name '{}' that already exists for job ID {}",
-                    jobInf.getJobId(), jobInf.getJobName(), existingJobWithNewName.getJobId());
-            return false;
-        }
-
+        // 存在性和并发修改由受影响行数判断 (UPDATE ... WHERE job_id = ? AND version = ?)，名称冲突由唯一索引判断
+        int result;
         try {
-            int result = jobInfMapper.update(jobInf);
-            logger.info("Job updated successfully: ID {}", jobInf.getJobId());
-            return result > 0;
-        } catch (Exception e) {
+            result = jobInfMapper.update(jobInf);
+        } catch (DuplicateKeyException e) {
+            logger.warn("Attempted to update job ID {} with a name '{}' that already exists", jobInf.getJobId(), jobInf.getJobName());
+            throw new BusinessException("岗位名称 '" + jobInf.getJobName() + "' 已被其他岗位使用");
+        } catch (DataAccessException e) {
             logger.error("Error updating job with ID: {}", jobInf.getJobId(), e);
             return false;
         }
+        if (result == 0) {
+            // 只有失败时才多查一次，区分记录不存在和版本过期
+            if (jobInf.getVersion() != null && jobInfMapper.findById(jobInf.getJobId()) != null) {
+                logger.warn("Optimistic lock conflict updating job ID {}, version {}", jobInf.getJobId(), jobInf.getVersion());
+                throw new BusinessException("岗位 '" + jobInf.getJobName() + "' 已被其他用户修改，请刷新后重试");
+            }
+            logger.warn("Attempted to update non-existent job with ID: {}", jobInf.getJobId());
+            return false;
+        }
+        TransactionHooks.afterCommit(jobCache::invalidate);
+        tableVersions.bump(TableVersions.JOB);
+        logger.info("Job updated successfully: ID {}", jobInf.getJobId());
+        return true;
     }
 
     @Override
@@ -107,18 +135,29 @@ public class JobInfService implements JobInfServicelmpl {
             logger.warn("Attempted to delete job with null ID.");
             return false;
         }
-        JobInf jobToDelete = jobInfMapper.findById(jobId);
-        if (jobToDelete == null) {
-            logger.warn("Attempted to delete non-existent job with ID: {}", jobId);
+        int result;
+        try {
+            result = jobInfMapper.deleteById(jobId);
+        } catch (DataIntegrityViolationException e) {
+            // 员工表通过外键引用岗位，仍有员工时删除被数据库拒绝
+            logger.warn("Cannot delete job ID {}: still referenced by employees", jobId);
+            throw new BusinessException("该岗位下仍有员工，不能删除");
+        } catch (DataAccessException e) {
+            logger.error("Error deleting job with ID: {}", jobId, e);
             return false;
         }
-        try {
-            int result = jobInfMapper.deleteById(jobId);
-            logger.info("Job deleted successfully: ID {}", jobId);
-            return result > 0;
-        } catch (Exception e) {
-            logger.error("Error deleting job with ID: {}. Possible foreign key constraint.", jobId, e);
+        if (result == 0) {
+            logger.warn("Attempted to delete non-existent job with ID: {}", jobId);
             return false;
         }
+        TransactionHooks.afterCommit(jobCache::invalidate);
+        tableVersions.bump(TableVersions.JOB);
+        logger.info("Job deleted successfully: ID {}", jobId);
+        return true;
+    }
+
+    @Override
+    public ReferenceCacheStats getCacheStats() {
+        return jobCache.getStats();
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package org.example.hr.service.impl;
 
+import org.example.hr.cache.ReferenceCacheStats;
 import org.example.hr.pojo.DeptInf;
+import java.util.Collection;
 import java.util.List;
 
 public interface DeptInfServicelmpl {
@@ -15,6 +17,12 @@ public interface DeptInfServicelmpl {
      * @return 部门对象，如果不存在则返回null
      */
     DeptInf getDeptById(Integer deptId);
+    /**
+     * 根据多个ID批量获取部门信息 (一次 IN 查询，不经过内存快照)
+     * @param deptIds 部门ID
+     * @return 存在的部门，顺序不保证与参数一致；参数为空时返回空列表
+     */
+    List<DeptInf> getDeptsByIds(Collection<Integer> deptIds);
     /**
      * 根据名称获取部门信息
      * @param deptName 部门名称
@@ -24,19 +32,27 @@ public interface DeptInfServicelmpl {
     /**
      * 添加新部门
      * @param deptInf 待添加的部门信息 (deptId 应为null)
-     * @return true 如果添加成功，false 如果部门名称已存在或添加失败
+     * @return true 如果添加成功，false 如果输入无效或添加失败
+     * @throws org.example.hr.exception.BusinessException 部门名称已存在
      */
     boolean addDept(DeptInf deptInf);
     /**
      * 更新部门信息
-     * @param deptInf 待更新的部门信息 (deptId 必须有效)
-     * @return true 如果更新成功，false 如果部门不存在、部门名称冲突或更新失败
+     * @param deptInf 待更新的部门信息 (deptId 必须有效；version 为编辑时读取的版本号，为null时不检查并发修改)
+     * @return true 如果更新成功，false 如果部门不存在或更新失败
+     * @throws org.example.hr.exception.BusinessException 部门名称冲突，或部门已被其他用户修改 (版本号过期)
      */
     boolean updateDept(DeptInf deptInf);
     /**
      * 根据ID删除部门
      * @param deptId 部门ID
      * @return true 如果删除成功，false 如果部门不存在或删除失败
+     * @throws org.example.hr.exception.BusinessException 该部门下仍有员工
      */
     boolean deleteDeptById(Integer deptId);
+    /**
+     * 获取部门缓存的命中/未命中统计
+     * @return 缓存统计信息
+     */
+    ReferenceCacheStats getCacheStats();
 }
\ No newline at end of file
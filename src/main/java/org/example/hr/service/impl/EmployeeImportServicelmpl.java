@@ -0,0 +1,23 @@
+package org.example.hr.service.impl;
+
+import org.example.hr.pojo.EmployeeImportResult;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+public interface EmployeeImportServicelmpl {
+
+    /**
+     * 从 CSV 流批量导入员工
+     * 表头与员工导出文件一致，校验失败或写入失败的行记入错误报告，不影响其它行。
+     * @param in CSV 输入流 (UTF-8)
+     * @return 导入结果汇总
+     * @throws org.example.hr.exception.BusinessException 文件为空或缺少必需的列时
+     */
+    EmployeeImportResult importEmployees(InputStream in);
+
+    /**
+     * @param importId 导入标识
+     * @return 错误报告文件，不存在时返回null
+     */
+    Path getErrorReport(String importId);
+}
@@ -1,8 +1,12 @@
 package org.example.hr.service.impl;
 
 import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.EmployeeListItem;
+import org.example.hr.pojo.KeysetPage;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface EmployeeInfServicelmpl {
 
@@ -19,12 +23,18 @@ public interface EmployeeInfServicelmpl {
 
     /**
      * 更新员工信息
-     * @param employeeInf 员工信息
+     * @param employeeInf 员工信息 (version 为编辑时读取的版本号，为null时不检查并发修改)
      * @return true 如果更新成功
+     * @throws org.example.hr.exception.BusinessException 员工已被其他用户修改 (版本号过期)
      */
     boolean updateEmployee(EmployeeInf employeeInf);
 
-    boolean deleteEmployeeById(Integer empId);
+    /**
+     * 删除员工
+     * @param empId 员工ID
+     * @return 被删除员工的ID和姓名，员工不存在或删除失败时返回null
+     */
+    EmployeeInf deleteEmployeeById(Integer empId);
 
     /**
      * 根据动态条件查询员工
@@ -33,6 +43,44 @@ public interface EmployeeInfServicelmpl {
      */
     List<EmployeeInf> findEmployeesByCriteria(Map<String, Object> params);
 
+    /**
+     * 按条件游标分页查询员工列表 (精简投影，只包含列表展示的字段和部门/岗位名称)
+     * @param params 查询参数 (empName, deptId, jobId 等)，为空时查询全部员工
+     * @param afterId 向后翻页游标 (上一页最后一条记录的ID)，可为null
+     * @param beforeId 向前翻页游标 (当前页第一条记录的ID)，优先于 afterId，可为null
+     * @param pageSize 每页条数
+     * @return 当前页数据及翻页游标
+     */
+    KeysetPage<EmployeeListItem> findEmployeesPage(Map<String, Object> params, Integer afterId, Integer beforeId, int pageSize);
+
+    /**
+     * 按条件游标分页查询员工，只查询调用方需要的字段 (GraphQL 接口按客户端选择的字段投影，不联表)
+     * @param params 查询参数 (empName, deptId, jobId 等)，为空时查询全部员工
+     * @param fields 需要的字段 (EmployeeInf 的属性名，department/job 表示部门/岗位ID)，不支持的字段被忽略，empId 总会查询
+     * @param afterId 向后翻页游标 (上一页最后一条记录的ID)，可为null
+     * @param pageSize 每页条数
+     * @return 当前页数据及翻页游标；未查询的字段为null，部门/岗位只有ID
+     */
+    KeysetPage<EmployeeInf> findEmployeeFieldsPage(Map<String, Object> params, Collection<String> fields, Integer afterId, int pageSize);
+
+    /**
+     * 以流式方式逐个处理符合条件的员工 (包含部门和岗位详情)，用于大批量导出
+     * 结果集通过数据库游标逐行读取，内存占用与员工总数无关
+     * @param params 查询参数 (empName, deptId, jobId 等)，为空时处理全部员工
+     * @param rowHandler 每读取一名员工时的回调
+     * @return 处理的员工数量
+     */
+    int exportEmployees(Map<String, Object> params, Consumer<EmployeeInf> rowHandler);
+
+    /**
+     * 分面统计：当前条件下性别、部门、岗位、学历、政治面貌、民族每个取值的员工数
+     * 统计某个字段时不使用该字段自身的条件，用于展示同一字段的其他可选取值。
+     * 优先由属性位图索引计算；索引不可用或条件无法在索引上统计 (手机号、身份证号) 时由数据库一次分组查询得到
+     * @param params 查询参数，同 findEmployeesByCriteria
+     * @return 参数名 (empSex、deptId 等) -> (取值 -> 员工数)，只包含员工数大于0的取值
+     */
+    Map<String, Map<Object, Integer>> getAttributeFacets(Map<String, Object> params);
+
     // 用于检查外键依赖
     boolean hasEmployeesInDepartment(Integer deptId);
     boolean hasEmployeesInJob(Integer jobId);
@@ -0,0 +1,36 @@
+package org.example.hr.service.impl;
+
+import org.example.hr.pojo.HeadcountGroup;
+import org.example.hr.stats.HeadcountDelta;
+import org.example.hr.stats.HeadcountDimension;
+
+import java.util.List;
+import java.util.Map;
+
+public interface HeadcountServicelmpl {
+
+    /**
+     * 把员工增删改产生的人数变化写入汇总表，必须在员工写操作所在的事务内调用
+     * @param delta 人数增减量
+     */
+    void apply(HeadcountDelta delta);
+
+    /**
+     * 获取首页的人数统计 (只读取汇总表，行数与分组数相同)
+     * @return 各维度的分组人数，按维度顺序排列；分组按人数降序
+     */
+    Map<HeadcountDimension, List<HeadcountGroup>> getDashboard();
+
+    /**
+     * 获取某一维度的人数
+     * @param dimension 统计维度
+     * @return 维度取值 (部门ID、岗位ID等的字符串形式) 到人数的映射
+     */
+    Map<String, Integer> getHeadcounts(HeadcountDimension dimension);
+
+    /**
+     * 将汇总表与员工表的实际人数对账，修正偏差
+     * @return 修正的分组数
+     */
+    int reconcile();
+}
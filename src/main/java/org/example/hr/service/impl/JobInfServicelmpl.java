@@ -1,6 +1,8 @@
 package org.example.hr.service.impl;
 
+import org.example.hr.cache.ReferenceCacheStats;
 import org.example.hr.pojo.JobInf;
+import java.util.Collection;
 import java.util.List;
 
 public interface JobInfServicelmpl {
@@ -18,6 +20,13 @@ public interface JobInfServicelmpl {
      */
     JobInf getJobById(Integer jobId);
 
+    /**
+     * 根据多个ID批量获取岗位信息 (一次 IN 查询，不经过内存快照)
+     * @param jobIds 岗位ID
+     * @return 存在的岗位，顺序不保证与参数一致；参数为空时返回空列表
+     */
+    List<JobInf> getJobsByIds(Collection<Integer> jobIds);
+
     /**
      * 根据名称获取岗位信息
      * @param jobName 岗位名称
@@ -28,22 +37,30 @@ public interface JobInfServicelmpl {
     /**
      * 添加新岗位
      * @param jobInf 待添加的岗位信息 (jobId 应为null)
-     * @return true 如果添加成功，false 如果岗位名称已存在或添加失败
+     * @return true 如果添加成功，false 如果输入无效或添加失败
+     * @throws org.example.hr.exception.BusinessException 岗位名称已存在
      */
     boolean addJob(JobInf jobInf);
 
     /**
      * 更新岗位信息
-     * @param jobInf 待更新的岗位信息 (jobId 必须有效)
-     * @return true 如果更新成功，false 如果岗位不存在、岗位名称冲突或更新失败
+     * @param jobInf 待更新的岗位信息 (jobId 必须有效；version 为编辑时读取的版本号，为null时不检查并发修改)
+     * @return true 如果更新成功，false 如果岗位不存在或更新失败
+     * @throws org.example.hr.exception.BusinessException 岗位名称冲突，或岗位已被其他用户修改 (版本号过期)
      */
     boolean updateJob(JobInf jobInf);
 
     /**
      * 根据ID删除岗位
-     * 注意：实际项目中可能需要检查该岗位下是否有员工。
      * @param jobId 岗位ID
      * @return true 如果删除成功，false 如果岗位不存在或删除失败
+     * @throws org.example.hr.exception.BusinessException 该岗位下仍有员工
      */
     boolean deleteJobById(Integer jobId);
+
+    /**
+     * 获取岗位缓存的命中/未命中统计
+     * @return 缓存统计信息
+     */
+    ReferenceCacheStats getCacheStats();
 }
\ No newline at end of file
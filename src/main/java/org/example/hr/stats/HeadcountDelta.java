@@ -0,0 +1,59 @@
+package org.example.hr.stats;
+
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.Headcount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 一次写操作对员工人数汇总表的增减量
+ * 同一分组的增减先在内存中合并，例如员工在同一部门内调岗时部门维度的增减互相抵消，不产生写入。
+ */
+public class HeadcountDelta {
+
+    // 按 (维度, 取值) 排序，所有事务以相同顺序更新汇总行，避免死锁
+    private final Map<String, Map<String, Integer>> deltas = new TreeMap<>();
+
+    /**
+     * 记录一名员工在所有维度上的增减
+     * @param sign 新增为 1，删除为 -1
+     */
+    public HeadcountDelta add(EmployeeInf employee, int sign) {
+        for (HeadcountDimension dimension : HeadcountDimension.values()) {
+            add(dimension.getCode(), dimension.keyOf(employee), sign);
+        }
+        return this;
+    }
+
+    /**
+     * 记录员工修改前后的变化：旧分组减一，新分组加一
+     */
+    public HeadcountDelta change(EmployeeInf before, EmployeeInf after) {
+        return add(before, -1).add(after, 1);
+    }
+
+    public HeadcountDelta add(String dimension, String dimKey, int delta) {
+        deltas.computeIfAbsent(dimension, key -> new TreeMap<>()).merge(dimKey, delta, Integer::sum);
+        return this;
+    }
+
+    /**
+     * @return 非零的增减量，按 (维度, 取值) 排序
+     */
+    public List<Headcount> toRows() {
+        List<Headcount> rows = new ArrayList<>();
+        deltas.forEach((dimension, keys) -> keys.forEach((dimKey, delta) -> {
+            if (delta != 0) {
+                rows.add(new Headcount(dimension, dimKey, delta));
+            }
+        }));
+        return rows;
+    }
+
+    public boolean isEmpty() {
+        return toRows().isEmpty();
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.hr.stats;
+
+import org.example.hr.pojo.EmployeeInf;
+
+/**
+ * 员工人数汇总表 (emp_headcount) 的统计维度
+ * 每个维度把员工映射到一个取值 (dim_key)，未填写的取值记为空字符串。
+ */
+public enum HeadcountDimension {
+
+    DEPT("dept", "部门"),
+    JOB("job", "岗位"),
+    SEX("sex", "性别"),
+    EDU("edu", "学历");
+
+    private final String code;
+    private final String label;
+
+    HeadcountDimension(String code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    /**
+     * @return 汇总表 dimension 列中的取值
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return 页面上显示的维度名称
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return 员工在该维度上的取值 (与对账查询 countActual 的取值规则一致)
+     */
+    public String keyOf(EmployeeInf employee) {
+        Object value = switch (this) {
+            case DEPT -> employee.getDepartment() != null ? employee.getDepartment().getDeptId() : null;
+            case JOB -> employee.getJob() != null ? employee.getJob().getJobId() : null;
+            case SEX -> employee.getEmpSex();
+            case EDU -> employee.getEmpEdu();
+        };
+        return value == null ? "" : value.toString();
+    }
+
+    public static HeadcountDimension fromCode(String code) {
+        for (HeadcountDimension dimension : values()) {
+            if (dimension.code.equals(code)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown headcount dimension: " + code);
+    }
+}
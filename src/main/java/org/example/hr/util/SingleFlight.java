@@ -0,0 +1,117 @@
+package org.example.hr.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 合并相同的并发调用 (single-flight)
+ * 同一个键同时只有一次加载在执行：第一个调用方 (leader) 在自己的线程上执行加载，
+ * 加载期间到达的相同调用等待并共享它的结果或异常。加载结束后立即移除，之后的调用重新加载，不做任何缓存。
+ * <p>
+ * 等待最多 maxWait，超时后调用方自己执行一次加载，最坏情况与不合并相同。
+ * 所有调用方拿到的是同一个结果对象，调用方不应修改。
+ * 指标 hr.single-flight.calls (tag: name, outcome=leader|shared|timeout) 记录每次调用的去向。
+ * @param <K> 键，需要正确实现 equals/hashCode
+ * @param <V> 结果
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final Counter leaderCounter;
+    private final Counter sharedCounter;
+    private final Counter timeoutCounter;
+
+    /**
+     * @param name 指标中的名称
+     * @param maxWait 等待进行中的加载的最长时间
+     * @param meterRegistry 指标注册表
+     */
+    public SingleFlight(String name, Duration maxWait, MeterRegistry meterRegistry) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.leaderCounter = counter(meterRegistry, name, "leader");
+        this.sharedCounter = counter(meterRegistry, name, "shared");
+        this.timeoutCounter = counter(meterRegistry, name, "timeout");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("hr.single-flight.calls")
+                .description("Calls coalesced by single-flight, by outcome")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 执行加载，相同键的并发调用共享同一次加载
+     * @param key 键
+     * @param loader 加载操作
+     * @return 加载结果
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing, loader);
+        }
+        leaderCounter.increment();
+        try {
+            V value = loader.get();
+            flights.remove(key, flight);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return 正在进行的加载数
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    /**
+     * @return 正在等待该键的加载结果的调用数 (测试用)
+     */
+    int waiters(K key) {
+        CompletableFuture<V> flight = flights.get(key);
+        return flight == null ? 0 : flight.getNumberOfDependents();
+    }
+
+    private V await(CompletableFuture<V> flight, Supplier<V> loader) {
+        try {
+            V value = flight.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            sharedCounter.increment();
+            return value;
+        } catch (TimeoutException e) {
+            timeoutCounter.increment();
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight call", e);
+        } catch (ExecutionException e) {
+            sharedCounter.increment();
+            // leader 抛出的异常原样抛给等待的调用方
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.hr.util;
+
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务回调工具
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * 在当前事务提交后执行操作；没有活动事务时立即执行
+     * 用于刷新内存中的派生数据 (缓存、索引等)，保证其它线程不会在提交前看到未提交的修改，
+     * 事务回滚时操作不会执行。
+     * @param action 提交后执行的操作
+     */
+    public static void afterCommit(Runnable action) {
+        afterCommit(action, Ordered.LOWEST_PRECEDENCE);
+    }
+
+    /**
+     * 同 {@link #afterCommit(Runnable)}，order 越小越先执行
+     * 用于必须先于其他提交回调执行的操作，例如清空底层缓存后上层缓存才能重新加载
+     * @param action 提交后执行的操作
+     * @param order 执行顺序
+     */
+    public static void afterCommit(Runnable action, int order) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+
+                @Override
+                public int getOrder() {
+                    return order;
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+-- 初始表结构 (hr_db.sql 最早的 Navicat 导出中应用用到的三张表)
+-- 已有数据的库在第一次迁移时基线化为版本 1 (spring.flyway.baseline-on-migrate)，不会执行本脚本
+
+CREATE TABLE `dept_inf` (
+  `dept_id` int(11) NOT NULL AUTO_INCREMENT COMMENT '主键，自增',
+  `dept_name` varchar(50) NOT NULL COMMENT '部门名称，唯一,非空',
+  `dept_remark` varchar(300) NOT NULL COMMENT '部门介绍',
+  PRIMARY KEY (`dept_id`),
+  UNIQUE KEY `dept_name` (`dept_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='部门信息表';
+
+CREATE TABLE `job_inf` (
+  `job_id` int(11) NOT NULL AUTO_INCREMENT COMMENT '主键，自增',
+  `job_name` varchar(50) NOT NULL COMMENT '岗位名称，唯一,非空',
+  `job_remark` varchar(300) NOT NULL COMMENT '岗位介绍',
+  PRIMARY KEY (`job_id`),
+  UNIQUE KEY `job_name` (`job_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='岗位信息表';
+
+CREATE TABLE `employee_inf` (
+  `emp_id` int(11) NOT NULL AUTO_INCREMENT COMMENT '主键，自增',
+  `emp_dept_id` int(11) DEFAULT NULL COMMENT '部门编号',
+  `emp_job_id` int(11) DEFAULT NULL COMMENT '职位编号',
+  `emp_name` varchar(20) NOT NULL COMMENT '姓名 ',
+  `emp_card_id` char(10) NOT NULL COMMENT '身份证号',
+  `emp_address` varchar(50) NOT NULL COMMENT '地址',
+  `emp_post_code` char(6) DEFAULT NULL COMMENT '邮编',
+  `emp_tel` varchar(16) DEFAULT NULL COMMENT '固话',
+  `emp_phone` char(11) DEFAULT NULL COMMENT '手机',
+  `emp_qq` varchar(16) DEFAULT NULL COMMENT 'qq号',
+  `emp_email` varchar(16) DEFAULT NULL COMMENT '邮箱',
+  `emp_sex` int(11) DEFAULT '1' COMMENT '性别 1-男，2-女',
+  `emp_party` varchar(16) DEFAULT NULL COMMENT '政治面貌',
+  `emp_birth` datetime DEFAULT NULL COMMENT '生日',
+  `emp_race` varchar(16) DEFAULT '汉族' COMMENT '民族',
+  `emp_edu` varchar(16) DEFAULT NULL COMMENT '学历',
+  `emp_speciality` varchar(16) DEFAULT NULL COMMENT '专业',
+  `emp_hobby` varchar(100) DEFAULT NULL COMMENT '爱好',
+  `emp_remark` varchar(500) DEFAULT NULL COMMENT '记录',
+  `emp_create_date` datetime DEFAULT NULL COMMENT '创建时间',
+  PRIMARY KEY (`emp_id`),
+  KEY `emp_dept_id` (`emp_dept_id`),
+  KEY `emp_job_id` (`emp_job_id`),
+  CONSTRAINT `employee_inf_ibfk_1` FOREIGN KEY (`emp_dept_id`) REFERENCES `dept_inf` (`dept_id`),
+  CONSTRAINT `employee_inf_ibfk_2` FOREIGN KEY (`emp_job_id`) REFERENCES `job_inf` (`job_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='员工信息表';
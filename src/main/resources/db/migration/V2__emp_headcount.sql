@@ -0,0 +1,9 @@
+-- 员工人数汇总表 (HeadcountService 在员工增删改时增量维护，应用启动时与 employee_inf 对账，新建的空表会在对账时补齐)
+-- 按 hr_db.sql 手工建过该表的库直接跳过
+
+CREATE TABLE IF NOT EXISTS `emp_headcount` (
+  `dimension` varchar(8) NOT NULL COMMENT '统计维度 dept-部门，job-岗位，sex-性别，edu-学历',
+  `dim_key` varchar(32) NOT NULL COMMENT '维度取值 (部门ID、岗位ID、性别、学历)，未填写为空字符串',
+  `headcount` int(11) NOT NULL DEFAULT '0' COMMENT '员工人数',
+  PRIMARY KEY (`dimension`,`dim_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='员工人数汇总表';
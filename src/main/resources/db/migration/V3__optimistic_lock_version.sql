@@ -0,0 +1,26 @@
+-- 乐观锁版本号 (Mapper 的 update 语句带 version 条件并把版本号加1)
+-- 按 hr_db.sql 或手工 ALTER TABLE 已经加过该列的库跳过 (MySQL 的 ADD COLUMN 不支持 IF NOT EXISTS，先查 information_schema)
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'dept_inf' AND COLUMN_NAME = 'version') = 0,
+    'ALTER TABLE `dept_inf` ADD COLUMN `version` int(11) NOT NULL DEFAULT ''0'' COMMENT ''乐观锁版本号，每次更新加1''',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'job_inf' AND COLUMN_NAME = 'version') = 0,
+    'ALTER TABLE `job_inf` ADD COLUMN `version` int(11) NOT NULL DEFAULT ''0'' COMMENT ''乐观锁版本号，每次更新加1''',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'employee_inf' AND COLUMN_NAME = 'version') = 0,
+    'ALTER TABLE `employee_inf` ADD COLUMN `version` int(11) NOT NULL DEFAULT ''0'' COMMENT ''乐观锁版本号，每次更新加1''',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
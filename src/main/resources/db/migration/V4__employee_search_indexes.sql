@@ -0,0 +1,19 @@
+-- 员工搜索 (EmployeeInfMapper 的 criteriaCondition) 用到的索引
+--
+-- 列表页按 emp_id 游标分页 (WHERE ... AND emp_id > ? ORDER BY emp_id LIMIT n)，
+-- 部门/岗位索引在等值列之后紧跟 emp_id，等值条件下按主键顺序扫描、取满 LIMIT 行即停止，不需要 filesort；
+-- 其后再带上列表页展示的列 (EmployeeListItemResultMap)，findListByCriteria 只读索引即可返回 (覆盖索引)，
+-- 同时带有性别、另一个维度的条件 (部门+性别、岗位+性别、部门+岗位) 也在索引内过滤，不需要回表。
+-- 手机号、身份证号是精确匹配，单列索引即可；姓名的 LIKE '%...%' 由进程内的姓名索引 (EmployeeNameIndex) 解析为主键。
+-- 只按性别筛选时区分度太低，仍按主键顺序扫描。
+
+ALTER TABLE `employee_inf`
+  ADD KEY `idx_emp_dept_list` (`emp_dept_id`, `emp_id`, `emp_sex`, `emp_job_id`, `emp_name`, `emp_phone`, `emp_card_id`, `emp_create_date`),
+  ADD KEY `idx_emp_job_list` (`emp_job_id`, `emp_id`, `emp_sex`, `emp_dept_id`, `emp_name`, `emp_phone`, `emp_card_id`, `emp_create_date`),
+  ADD KEY `idx_emp_phone` (`emp_phone`),
+  ADD KEY `idx_emp_card_id` (`emp_card_id`);
+
+-- 原来的单列索引是新索引的前缀，外键改由新索引支持
+ALTER TABLE `employee_inf`
+  DROP KEY `emp_dept_id`,
+  DROP KEY `emp_job_id`;
@@ -0,0 +1,71 @@
+package org.example.hr;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * 测试专用的库：在 application.properties 配置的 MySQL 实例上新建一个随机命名的空库，表结构由 Flyway 建立
+ * 测试类持有一个静态实例，在 {@code @DynamicPropertySource} 中调用 {@link #create} 把数据源指向该库，
+ * 在 {@code @AfterAll} 中调用 {@link #drop()} 删除；测试类需要 {@code @DirtiesContext}，容器不再复用。
+ * 写入的数据随库删除，不会留在配置的库中。
+ */
+public final class DedicatedSchema {
+
+    private static final String DATABASE_PATTERN = "(//[^/]+/)[^?]*";
+
+    private final String name;
+
+    /**
+     * @param prefix 库名前缀，后接12位随机字符
+     */
+    public DedicatedSchema(String prefix) {
+        this.name = prefix + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 建库并把 spring.datasource.url 指向该库
+     */
+    public void create(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        try (Connection connection = serverConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE `" + name + "` DEFAULT CHARACTER SET utf8mb4");
+        }
+        String url = datasource().getProperty("spring.datasource.url").replaceFirst(DATABASE_PATTERN, "$1" + name);
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    public void drop() throws IOException, SQLException {
+        try (Connection connection = serverConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS `" + name + "`");
+        }
+    }
+
+    /**
+     * application.properties 中的数据源配置
+     */
+    private static Properties datasource() throws IOException {
+        return PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+    }
+
+    /**
+     * 连接同一个 MySQL 实例，不指定库
+     */
+    private static Connection serverConnection() throws IOException, SQLException {
+        Properties properties = datasource();
+        String url = properties.getProperty("spring.datasource.url").replaceFirst(DATABASE_PATTERN, "$1");
+        return DriverManager.getConnection(url, properties.getProperty("spring.datasource.username"),
+                properties.getProperty("spring.datasource.password"));
+    }
+}
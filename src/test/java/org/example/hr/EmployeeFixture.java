@@ -0,0 +1,75 @@
+package org.example.hr;
+
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.JobInf;
+import org.example.hr.service.impl.DeptInfServicelmpl;
+import org.example.hr.service.impl.EmployeeInfServicelmpl;
+import org.example.hr.service.impl.JobInfServicelmpl;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 经 Service 写入测试员工 (同步更新姓名索引和属性索引)，每次调用新建一个部门和岗位
+ * 用 {@code @Import(EmployeeFixture.class)} 注入，与 {@link DedicatedSchema} 一起使用：数据随专用库删除，不需要逐条清理。
+ */
+public class EmployeeFixture {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger(); // 部门名、岗位名唯一
+
+    private final DeptInfServicelmpl deptInfService;
+    private final JobInfServicelmpl jobInfService;
+    private final EmployeeInfServicelmpl employeeInfService;
+
+    public EmployeeFixture(DeptInfServicelmpl deptInfService, JobInfServicelmpl jobInfService,
+                           EmployeeInfServicelmpl employeeInfService) {
+        this.deptInfService = deptInfService;
+        this.jobInfService = jobInfService;
+        this.employeeInfService = employeeInfService;
+    }
+
+    /**
+     * 新建的部门及其中的员工
+     * @param employees 按添加顺序 (员工ID递增)
+     */
+    public record Department(DeptInf dept, List<EmployeeInf> employees) {
+
+        public List<Integer> empIds() {
+            return employees.stream().map(EmployeeInf::getEmpId).toList();
+        }
+    }
+
+    /**
+     * 新建一个部门，添加 count 名男性员工
+     * @param customizer 添加前按序号修改员工 (默认姓名"员工"+序号、地址"测试地址"、手机号、身份证号按序号生成)
+     */
+    public Department department(int count, ObjIntConsumer<EmployeeInf> customizer) {
+        int sequence = SEQUENCE.incrementAndGet();
+        DeptInf dept = new DeptInf(null, "测试部门" + sequence, "测试数据");
+        assertTrue(deptInfService.addDept(dept));
+        JobInf job = new JobInf(null, "测试岗位" + sequence, "测试数据");
+        assertTrue(jobInfService.addJob(job));
+        List<EmployeeInf> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            EmployeeInf employee = new EmployeeInf();
+            employee.setEmpName("员工" + i);
+            employee.setEmpCardId(String.format("T%09d", i));
+            employee.setEmpAddress("测试地址");
+            employee.setEmpPhone(String.format("136%08d", i));
+            employee.setEmpSex(1);
+            employee.setEmpBirth(new Date());
+            employee.setDepartment(dept);
+            employee.setJob(job);
+            customizer.accept(employee, i);
+            assertTrue(employeeInfService.addEmployee(employee));
+            employees.add(employee);
+        }
+        return new Department(dept, List.copyOf(employees));
+    }
+}
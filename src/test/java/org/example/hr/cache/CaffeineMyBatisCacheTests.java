@@ -0,0 +1,72 @@
+package org.example.hr.cache;
+
+import org.example.hr.util.TransactionHooks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证 MyBatis 二级缓存的读写、容量淘汰，以及事务中清空后提交时再次清空
+ */
+public class CaffeineMyBatisCacheTests {
+
+    private CaffeineMyBatisCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineMyBatisCache("org.example.hr.mapper.TestMapper");
+        cache.setMaximumSize(2);
+        cache.setExpireAfterWrite("10m");
+        cache.initialize();
+    }
+
+    @Test
+    void testPutGetAndStats() {
+        assertSame(cache, CaffeineMyBatisCache.get("org.example.hr.mapper.TestMapper"));
+        assertNull(cache.getObject("a"));
+        cache.putObject("a", "部门A");
+        assertEquals("部门A", cache.getObject("a"));
+        assertEquals(1, cache.getNativeCache().stats().hitCount());
+        assertEquals(1, cache.getNativeCache().stats().missCount());
+
+        cache.putObject("a", null); // TransactionalCache 为未命中的查询放入 null
+        assertNull(cache.getObject("a"));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void testEvictsBeyondMaximumSize() {
+        for (int i = 0; i < 10; i++) {
+            cache.putObject(i, i);
+        }
+        cache.getNativeCache().cleanUp();
+        assertTrue(cache.getSize() <= 2, "条目数不应超过 maximumSize");
+        assertTrue(cache.getNativeCache().stats().evictionCount() >= 8);
+    }
+
+    @Test
+    void testClearAgainAfterCommit() {
+        cache.putObject("a", "旧名称");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // 服务层在写操作中注册的提交回调 (例如重新加载 ReferenceDataCache)，早于缓存清空注册
+            List<Object> reloaded = new ArrayList<>();
+            TransactionHooks.afterCommit(() -> reloaded.add(String.valueOf(cache.getObject("a"))));
+            cache.clear();
+            assertNull(cache.getObject("a"));
+            // 提交前其他线程读到旧数据并重新放入缓存
+            cache.putObject("a", "旧名称");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNull(cache.getObject("a"), "提交后应再次清空缓存");
+            assertEquals(List.of("null"), reloaded, "缓存应先于其他提交回调清空");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
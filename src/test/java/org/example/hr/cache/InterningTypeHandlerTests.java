@@ -0,0 +1,99 @@
+package org.example.hr.cache;
+
+import org.apache.ibatis.session.Configuration;
+import org.example.hr.config.MyBatisConfig;
+import org.example.hr.pojo.DeptInf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证共享部门实例：版本号不变时复用且不可修改，表版本号变化后重新读取，存储过程 OUT 参数按位置读取
+ */
+public class InterningTypeHandlerTests {
+
+    private TableVersions tableVersions;
+    private InternedDeptTypeHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        tableVersions = new TableVersions(false, Duration.ZERO);
+        // 与应用相同的注册方式：处理器由 MyBatisConfig 创建并订阅表版本号
+        Configuration configuration = new Configuration();
+        new MyBatisConfig().internedReferenceTypeHandlers(tableVersions, 100, Duration.ofMinutes(10)).customize(configuration);
+        handler = (InternedDeptTypeHandler) configuration.getTypeHandlerRegistry().getMappingTypeHandler(InternedDeptTypeHandler.class);
+        assertNotNull(handler);
+        assertFalse(configuration.getTypeHandlerRegistry().hasTypeHandler(DeptInf.class), "不应成为 DeptInf 的默认处理器");
+    }
+
+    /**
+     * @return 只有当前一行的结果集，按列名取值；列值为null时 wasNull 为 true
+     */
+    private static <S> S row(Class<S> type, Map<Object, Object> values) {
+        Object[] last = new Object[1];
+        return type.cast(Proxy.newProxyInstance(InterningTypeHandlerTests.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getInt" -> {
+                        last[0] = values.get(args[0]);
+                        yield last[0] == null ? 0 : last[0];
+                    }
+                    case "getString" -> last[0] = values.get(args[0]);
+                    case "wasNull" -> last[0] == null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+
+    private static ResultSet deptRow(Integer id, int version, String name) {
+        Map<Object, Object> values = new HashMap<>();
+        values.put("d_dept_id", id);
+        values.put("d_version", version);
+        values.put("dept_name", name);
+        values.put("d_dept_remark", "说明");
+        return row(ResultSet.class, values);
+    }
+
+    @Test
+    public void testSharedUntilVersionChanges() throws Exception {
+        DeptInf dept = handler.getResult(deptRow(1, 0, "技术部"), "d_dept_id");
+        assertEquals(new DeptInf(1, "技术部", "说明", 0), dept);
+        assertSame(dept, handler.getResult(deptRow(1, 0, "技术部"), "d_dept_id"));
+        assertThrows(UnsupportedOperationException.class, () -> dept.setDeptName("改名"));
+        assertThrows(UnsupportedOperationException.class, () -> dept.setVersion(1));
+
+        DeptInf renamed = handler.getResult(deptRow(1, 1, "研发部"), "d_dept_id");
+        assertNotSame(dept, renamed);
+        assertEquals("研发部", renamed.getDeptName());
+        assertNull(handler.getResult(deptRow(null, 0, null), "d_dept_id"), "没有关联的部门时为null");
+    }
+
+    @Test
+    public void testTableVersionBumpDropsInstances() throws Exception {
+        DeptInf dept = handler.getResult(deptRow(1, 0, "技术部"), "d_dept_id");
+        tableVersions.bump(TableVersions.DEPT); // 没有活动事务，立即递增并通知订阅者
+        DeptInf reloaded = handler.getResult(deptRow(1, 0, "技术部"), "d_dept_id");
+        assertNotSame(dept, reloaded, "部门表修改提交后应重新读取，即使行版本号相同");
+        assertSame(reloaded, handler.getResult(deptRow(1, 0, "技术部"), "d_dept_id"));
+        tableVersions.bump(TableVersions.JOB);
+        assertSame(reloaded, handler.getResult(deptRow(1, 0, "技术部"), "d_dept_id"), "其他表的修改不影响部门实例");
+    }
+
+    @Test
+    public void testCallableStatementOutParameters() throws Exception {
+        Map<Object, Object> values = new HashMap<>();
+        values.put(3, 7);
+        values.put(4, 2);
+        values.put(5, "财务部");
+        values.put(6, null);
+        DeptInf dept = handler.getResult(row(CallableStatement.class, values), 3);
+        assertEquals(new DeptInf(7, "财务部", null, 2), dept);
+        assertSame(dept, handler.getResult(deptRow(7, 2, "财务部"), "d_dept_id"), "与结果集映射共享实例");
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.hr.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证查询结果缓存：相同条件命中，读取的表被修改后失效、未读取的表被修改不影响，超过容量的结果不缓存
+ */
+public class QueryResultCacheTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TableVersions tableVersions = new TableVersions(false, Duration.ZERO);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private QueryResultCache newCache(long maxRows) {
+        return new QueryResultCache(tableVersions, meterRegistry, maxRows, Duration.ofMinutes(5));
+    }
+
+    private List<Integer> load(int rows) {
+        loads.incrementAndGet();
+        return IntStream.range(0, rows).boxed().toList();
+    }
+
+    @Test
+    void testHitAndVersionInvalidation() {
+        QueryResultCache cache = newCache(100);
+        Map<String, Object> dept1 = Map.of("deptId", 1);
+        String[] tables = {TableVersions.EMPLOYEE, TableVersions.DEPT};
+
+        List<Integer> first = cache.get("findByCriteria", dept1, () -> load(3), tables);
+        assertSame(first, cache.get("findByCriteria", dept1, () -> load(3), tables));
+        assertEquals(1, loads.get(), "相同条件应命中缓存");
+        assertThrows(UnsupportedOperationException.class, () -> first.add(4), "缓存的结果不可修改");
+
+        cache.get("findByCriteria", Map.of("deptId", 2), () -> load(3), tables);
+        assertEquals(2, loads.get(), "不同条件分别缓存");
+
+        tableVersions.bump(TableVersions.JOB); // 没有读取的表
+        cache.get("findByCriteria", dept1, () -> load(3), tables);
+        assertEquals(2, loads.get(), "未读取的表被修改不应失效");
+
+        tableVersions.bump(TableVersions.DEPT);
+        cache.get("findByCriteria", dept1, () -> load(3), tables);
+        assertEquals(3, loads.get(), "读取的表被修改后应重新查询");
+
+        assertEquals(0.4, meterRegistry.get("hr.search.result-cache.hit-ratio").gauge().value(), 1e-9);
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "employeeSearch").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testOversizedResultNotCached() {
+        QueryResultCache cache = newCache(5);
+        cache.get("findAllWithDetails", Map.of(), () -> load(10), TableVersions.EMPLOYEE);
+        cache.get("findAllWithDetails", Map.of(), () -> load(10), TableVersions.EMPLOYEE);
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testBypassedInTransactionAndWhenDisabled() {
+        QueryResultCache cache = newCache(100);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            cache.get("findByCriteria", Map.of(), () -> load(1), TableVersions.EMPLOYEE);
+            cache.get("findByCriteria", Map.of(), () -> load(1), TableVersions.EMPLOYEE);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(2, loads.get(), "事务中不应使用缓存");
+
+        QueryResultCache disabled = new QueryResultCache(tableVersions, new SimpleMeterRegistry(), 0, Duration.ofMinutes(5));
+        disabled.get("findByCriteria", Map.of(), () -> load(1), TableVersions.EMPLOYEE);
+        disabled.get("findByCriteria", Map.of(), () -> load(1), TableVersions.EMPLOYEE);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testNotCachedWhileReplicaMayLag() {
+        TableVersions replicated = new TableVersions(true, Duration.ofMinutes(1));
+        QueryResultCache cache = new QueryResultCache(replicated, meterRegistry, 100, Duration.ofMinutes(5));
+        replicated.bump(TableVersions.EMPLOYEE);
+        cache.get("findByCriteria", Map.of(), () -> load(1), TableVersions.EMPLOYEE);
+        cache.get("findByCriteria", Map.of(), () -> load(1), TableVersions.EMPLOYEE);
+        assertEquals(2, loads.get(), "从库可能尚未同步时不应写入缓存");
+    }
+}
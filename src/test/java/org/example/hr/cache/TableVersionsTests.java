@@ -0,0 +1,91 @@
+package org.example.hr.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMap;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证列表页条件 GET：版本不变时返回 304，表被修改、查询条件不同或带有 Flash 消息时重新渲染
+ */
+public class TableVersionsTests {
+
+    private TableVersions tableVersions;
+
+    @BeforeEach
+    void setUp() {
+        tableVersions = new TableVersions(false, Duration.ZERO);
+    }
+
+    /**
+     * @return 首次请求得到的 ETag
+     */
+    private String firstETag(String variant) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(tableVersions.checkNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/employees/list"), response),
+                variant, TableVersions.EMPLOYEE, TableVersions.DEPT));
+        assertEquals("private, no-cache", response.getHeader("Cache-Control"));
+        String etag = response.getHeader("ETag");
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/\""), "应为弱 ETag");
+        return etag;
+    }
+
+    private boolean revalidate(String etag, String variant) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/list");
+        request.addHeader("If-None-Match", etag);
+        return revalidate(request, variant);
+    }
+
+    private boolean revalidate(MockHttpServletRequest request, String variant) {
+        return tableVersions.checkNotModified(new ServletWebRequest(request, new MockHttpServletResponse()),
+                variant, TableVersions.EMPLOYEE, TableVersions.DEPT);
+    }
+
+    @Test
+    void testNotModifiedUntilTableChanges() {
+        String etag = firstETag("{deptId=1}");
+        assertTrue(revalidate(etag, "{deptId=1}"), "表没有变化时应返回 304");
+
+        tableVersions.bump(TableVersions.JOB); // 页面不依赖的表
+        assertTrue(revalidate(etag, "{deptId=1}"));
+
+        tableVersions.bump(TableVersions.DEPT);
+        assertEquals(1, tableVersions.get(TableVersions.DEPT));
+        assertFalse(revalidate(etag, "{deptId=1}"), "依赖的表被修改后应重新渲染");
+    }
+
+    @Test
+    void testVariantIsPartOfETag() {
+        String etag = firstETag("{deptId=1}");
+        assertFalse(revalidate(etag, "{deptId=2}"), "不同的查询条件不应共用 ETag");
+    }
+
+    @Test
+    void testFlashMessagesAlwaysRendered() {
+        String etag = firstETag("");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/list");
+        request.addHeader("If-None-Match", etag);
+        FlashMap flash = new FlashMap();
+        flash.put("errorMessage", "删除失败");
+        request.setAttribute(DispatcherServlet.INPUT_FLASH_MAP_ATTRIBUTE, flash);
+        assertFalse(revalidate(request, ""), "带有 Flash 提示消息时不应返回 304");
+    }
+
+    @Test
+    void testNoConditionalGetWhileReplicaMayLag() {
+        tableVersions = new TableVersions(true, Duration.ofMinutes(1));
+        tableVersions.bump(TableVersions.EMPLOYEE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(tableVersions.checkNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/employees/list"), response),
+                "", TableVersions.EMPLOYEE));
+        assertNull(response.getHeader("ETag"), "从库可能尚未同步时不应下发 ETag");
+    }
+}
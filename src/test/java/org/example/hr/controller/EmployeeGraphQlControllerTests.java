@@ -0,0 +1,161 @@
+package org.example.hr.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 验证 GraphQL 接口：部门/岗位在一次请求内各只查询一次，取满一页的完整员工不超过复杂度上限，超过复杂度或深度上限的查询被拒绝
+ * 测试员工直接写入数据库 (不经过 Service，不影响姓名索引)，测试结束后删除。
+ */
+@SpringBootTest(properties = "hr.db.plan-guard.mode=off") // 使用application.properties中配置的真实数据库
+@AutoConfigureGraphQlTester
+public class EmployeeGraphQlControllerTests {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Integer seededAfterId; // 写入的测试员工的 emp_id 都大于该值
+    private final List<String> deptNames = new ArrayList<>(); // 测试员工依次所在部门的名称
+    private final List<String> jobNames = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        List<Integer> deptIds = jdbcTemplate.queryForList("SELECT dept_id FROM dept_inf ORDER BY dept_id LIMIT 2", Integer.class);
+        List<Integer> jobIds = jdbcTemplate.queryForList("SELECT job_id FROM job_inf ORDER BY job_id LIMIT 2", Integer.class);
+        assumeTrue(deptIds.size() == 2 && jobIds.size() == 2, "需要至少两个部门和两个岗位 (hr_db.sql)");
+        seededAfterId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(emp_id), 0) FROM employee_inf", Integer.class);
+        for (int i = 0; i < 3; i++) {
+            int deptId = deptIds.get(i % 2);
+            int jobId = jobIds.get(i % 2);
+            jdbcTemplate.update("INSERT INTO employee_inf (emp_dept_id, emp_job_id, emp_name, emp_card_id, emp_address, emp_phone,"
+                            + " emp_sex, emp_create_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    deptId, jobId, "图查询" + i, String.format("G%09d", i), "测试地址", String.format("137%08d", i), 1,
+                    new Timestamp(System.currentTimeMillis()));
+            deptNames.add(jdbcTemplate.queryForObject("SELECT dept_name FROM dept_inf WHERE dept_id = ?", String.class, deptId));
+            jobNames.add(jdbcTemplate.queryForObject("SELECT job_name FROM job_inf WHERE job_id = ?", String.class, jobId));
+        }
+    }
+
+    @AfterEach
+    void removeSeed() {
+        if (seededAfterId != null) {
+            jdbcTemplate.update("DELETE FROM employee_inf WHERE emp_id > ?", seededAfterId);
+        }
+    }
+
+    private long executions(String statement) {
+        Timer timer = meterRegistry.find("hr.mybatis.statement").tag("statement", statement).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    public void testDepartmentsAndJobsLoadedInOneBatch() {
+        long deptQueries = executions("DeptInfMapper.findByIds");
+        long jobQueries = executions("JobInfMapper.findByIds");
+
+        GraphQlTester.Response response = graphQlTester.document("""
+                        query($after: Int) {
+                          employees(after: $after, first: 10) {
+                            items { empName empCreateDate department { deptName } job { jobName } }
+                            hasNext
+                          }
+                        }""")
+                .variable("after", seededAfterId)
+                .execute();
+        response.path("employees.items[*].empName").entityList(String.class).containsExactly("图查询0", "图查询1", "图查询2");
+        response.path("employees.items[*].department.deptName").entityList(String.class).containsExactly(deptNames.toArray(String[]::new));
+        response.path("employees.items[*].job.jobName").entityList(String.class).containsExactly(jobNames.toArray(String[]::new));
+        response.path("employees.items[0].empCreateDate").entity(String.class)
+                .satisfies(date -> assertTrue(date.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}"), date));
+        response.path("employees.hasNext").entity(Boolean.class).isEqualTo(false);
+
+        assertEquals(deptQueries + 1, executions("DeptInfMapper.findByIds"), "三名员工的部门应只查询一次");
+        assertEquals(jobQueries + 1, executions("JobInfMapper.findByIds"), "三名员工的岗位应只查询一次");
+    }
+
+    @Test
+    public void testEmployeeById() {
+        Integer empId = jdbcTemplate.queryForObject("SELECT MIN(emp_id) FROM employee_inf WHERE emp_id > ?", Integer.class, seededAfterId);
+        graphQlTester.document("query($id: Int!) { employee(empId: $id) { empId empPhone department { deptName } } }")
+                .variable("id", empId)
+                .execute()
+                .path("employee.empPhone").entity(String.class).isEqualTo("13700000000")
+                .path("employee.department.deptName").entity(String.class).isEqualTo(deptNames.get(0));
+        graphQlTester.document("{ employee(empId: -1) { empName } }")
+                .execute()
+                .path("employee").valueIsNull();
+    }
+
+    /**
+     * 取满一页 (100条) 的完整员工加分页字段，复杂度为 1 + 100 × 30 = 3001；
+     * 再用别名查询 extraPage 条员工ID，每条计2，复杂度增加 1 + 2 × extraPage
+     */
+    private GraphQlTester.Response fullPagePlus(int extraPage) {
+        return graphQlTester.document("""
+                        query($after: Int, $extra: Int) {
+                          employees(after: $after, first: 100) {
+                            items {
+                              empId empName empCardId empAddress empPostCode empTel empPhone empQq empEmail empSex
+                              empParty empBirth empRace empEdu empSpeciality empHobby empRemark empCreateDate version
+                              department { deptId deptName deptRemark } job { jobId jobName jobRemark }
+                            }
+                            lastId hasNext
+                          }
+                          extra: employees(after: $after, first: $extra) { items { empId } }
+                        }""")
+                .variable("after", seededAfterId)
+                .variable("extra", extraPage)
+                .execute();
+    }
+
+    @Test
+    public void testFullPageWithinComplexityLimit() {
+        // 3001 + 1 + 2 × 49 = 3100，正好等于 hr.graphql.max-complexity
+        GraphQlTester.Response response = fullPagePlus(49);
+        response.errors().verify();
+        response.path("employees.items[*].empName").entityList(String.class).containsExactly("图查询0", "图查询1", "图查询2");
+        response.path("extra.items").entityList(Object.class).hasSize(3);
+    }
+
+    @Test
+    public void testTooComplexQueryRejected() {
+        long employeeQueries = executions("EmployeeInfMapper.findColumnsByCriteria");
+        // 3001 + 1 + 2 × 50 = 3102，超过 hr.graphql.max-complexity
+        fullPagePlus(50)
+                .errors()
+                .satisfy(errors -> {
+                    assertFalse(errors.isEmpty(), "超过复杂度上限的查询应被拒绝");
+                    assertTrue(errors.get(0).getMessage().contains("3102 > 3100"), errors.get(0).getMessage());
+                });
+        assertEquals(employeeQueries, executions("EmployeeInfMapper.findColumnsByCriteria"), "被拒绝的查询不应访问数据库");
+    }
+
+    @Test
+    public void testTooDeepQueryRejected() {
+        graphQlTester.document("{ __schema { types { fields { type { ofType { ofType { ofType { ofType { ofType { ofType { name } } } } } } } } } } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertFalse(errors.isEmpty(), "超过深度上限的查询应被拒绝"));
+    }
+}
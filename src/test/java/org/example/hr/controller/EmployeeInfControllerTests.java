@@ -0,0 +1,103 @@
+package org.example.hr.controller;
+
+import org.example.hr.DedicatedSchema;
+import org.example.hr.EmployeeFixture;
+import org.example.hr.export.EmployeeExportColumns;
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeInf;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 验证员工导出：按条件过滤后以 CSV 流式写出，表头和行数与条件一致
+ * 导出的部门有3名员工：第1名的地址含逗号，第2名为女性 (不在导出结果中)。
+ */
+@SpringBootTest(properties = "hr.db.plan-guard.mode=off")
+@AutoConfigureMockMvc
+@Import(EmployeeFixture.class)
+@DirtiesContext
+public class EmployeeInfControllerTests {
+
+    private static final DedicatedSchema SCHEMA = new DedicatedSchema("hr_export_");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeFixture fixture;
+
+    private DeptInf dept;
+    private List<EmployeeInf> employees;
+
+    @DynamicPropertySource
+    static void dedicatedSchema(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        SCHEMA.create(registry);
+    }
+
+    @AfterAll
+    static void dropSchema() throws IOException, SQLException {
+        SCHEMA.drop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        EmployeeFixture.Department department = fixture.department(3, (employee, i) -> {
+            employee.setEmpName("导出" + i);
+            employee.setEmpAddress(i == 0 ? "测试地址, 含逗号" : "测试地址");
+            employee.setEmpSex(i == 1 ? 2 : 1);
+        });
+        dept = department.dept();
+        employees = department.employees();
+    }
+
+    @Test
+    public void testExportCsvWithCriteria() throws Exception {
+        MvcResult started = mockMvc.perform(get("/employees/export")
+                        .param("deptId", dept.getDeptId().toString())
+                        .param("empSex", "1")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted()) // StreamingResponseBody 在异步线程中写出
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", endsWith(".csv\"")))
+                .andReturn();
+
+        String csv = new String(result.getResponse().getContentAsByteArray(), StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("\uFEFF"), "CSV 应以 BOM 开头");
+        List<String> lines = Arrays.asList(csv.substring(1).split("\r\n"));
+        assertEquals(String.join(",", EmployeeExportColumns.headers()), lines.get(0));
+        List<String> rows = lines.subList(1, lines.size());
+        assertEquals(2, rows.size(), "只导出部门中的男性员工");
+        assertTrue(rows.get(0).startsWith(employees.get(0).getEmpId() + ",导出0,"), rows.get(0));
+        assertTrue(rows.get(0).contains(",\"测试地址, 含逗号\","), "含逗号的值应加引号");
+        assertTrue(rows.get(0).contains("," + dept.getDeptName() + ","), "应包含部门名称");
+        assertTrue(rows.get(1).startsWith(employees.get(2).getEmpId() + ",导出2,"), rows.get(1));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.hr.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证连接并发限制：许可在连接关闭时归还，许可用完时等待超时
+ */
+public class ConnectionLimitingDataSourceTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource = new ConnectionLimitingDataSource(target, "test", 2, Duration.ofMillis(100), meterRegistry);
+    }
+
+    private double available() {
+        return meterRegistry.get("hr.datasource.limiter.available").tag("pool", "test").gauge().value();
+    }
+
+    @Test
+    void testPermitReleasedOnClose() throws Exception {
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, available());
+        connection.close();
+        connection.close(); // 重复关闭只归还一次
+        assertEquals(2, available());
+    }
+
+    @Test
+    void testTimeoutWhenPermitsExhausted() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            assertEquals(1, meterRegistry.get("hr.datasource.limiter.timeouts").counter().count());
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.hr.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 使用两个 H2 内存库模拟主库和从库，验证读写分离的路由规则
+ */
+public class ReadWriteRoutingDataSourceTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("routing_primary");
+        DataSource replica = database("routing_replica");
+        meterRegistry = new SimpleMeterRegistry();
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, meterRegistry);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        DataSourceRouting.consumeWriteMark();
+    }
+
+    /**
+     * 创建内存库，并在 marker 表中写入库名，用于判断语句实际在哪个库上执行
+     */
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(32))");
+        template.update("DELETE FROM marker");
+        template.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private double routed(String target) {
+        return meterRegistry.get("hr.datasource.routing").tag("target", target).counter().count();
+    }
+
+    @Test
+    public void testNonTransactionalReadGoesToReplica() {
+        assertEquals("routing_replica", currentDatabase());
+        assertTrue(routed("replica") > 0);
+        assertEquals(0, routed("primary"));
+        assertFalse(DataSourceRouting.consumeWriteMark());
+    }
+
+    @Test
+    public void testReadOnlyTransactionGoesToReplica() {
+        assertEquals("routing_replica", readOnlyTransaction.execute(status -> currentDatabase()));
+        assertFalse(DataSourceRouting.consumeWriteMark());
+    }
+
+    @Test
+    public void testReadWriteTransactionGoesToPrimary() {
+        assertEquals("routing_primary", readWriteTransaction.execute(status -> currentDatabase()));
+        assertTrue(routed("primary") > 0);
+        assertTrue(DataSourceRouting.consumeWriteMark(), "读写事务应记录写操作标记");
+    }
+
+    @Test
+    public void testForcedPrimary() {
+        assertEquals("routing_primary", DataSourceRouting.onPrimary(this::currentDatabase));
+        try (DataSourceRouting.Scope ignored = DataSourceRouting.primaryScope()) {
+            assertEquals("routing_primary", readOnlyTransaction.execute(status -> currentDatabase()));
+        }
+        assertEquals("routing_replica", currentDatabase(), "范围结束后恢复走从库");
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.hr.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * 验证"读己之写"窗口期内的请求走主库，且主库范围不会残留在处理请求的线程上 (包括流式导出等异步请求)
+ */
+public class ReadYourWritesInterceptorTests {
+
+    private MockMvc mockMvc;
+    private MockHttpSession session;
+
+    @RestController
+    static class ProbeController {
+
+        @GetMapping("/probe")
+        String probe() {
+            return Boolean.toString(DataSourceRouting.isPrimaryForced());
+        }
+
+        @GetMapping("/stream")
+        StreamingResponseBody stream() {
+            return out -> out.write("streamed".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProbeController())
+                .addInterceptors(new ReadYourWritesInterceptor(Duration.ofMinutes(1)))
+                .build();
+        session = new MockHttpSession();
+        session.setAttribute(ReadYourWritesInterceptor.LAST_WRITE_ATTRIBUTE, System.currentTimeMillis()); // 刚写入过
+    }
+
+    @Test
+    public void testSynchronousRequestInWindowUsesPrimary() throws Exception {
+        mockMvc.perform(get("/probe").session(session)).andExpect(content().string("true"));
+        assertFalse(DataSourceRouting.isPrimaryForced(), "请求结束后应关闭主库范围");
+        mockMvc.perform(get("/probe")).andExpect(content().string("false"));
+    }
+
+    @Test
+    public void testAsyncRequestInWindowReleasesThread() throws Exception {
+        MvcResult started = mockMvc.perform(get("/stream").session(session))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertFalse(DataSourceRouting.isPrimaryForced(), "异步请求的第一次分派结束后应关闭主库范围");
+        mockMvc.perform(asyncDispatch(started)).andExpect(content().string("streamed"));
+        assertFalse(DataSourceRouting.isPrimaryForced(), "异步结果的再次分派不应留下主库范围");
+        mockMvc.perform(get("/probe")).andExpect(content().string("false"));
+    }
+}
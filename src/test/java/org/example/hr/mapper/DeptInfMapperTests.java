@@ -59,6 +59,17 @@ public class DeptInfMapperTests {
         assertTrue(depts.size() >= 2, "部门列表至少应包含刚插入的两个部门");
     }
 
+    @Test
+    @Transactional
+    public void testFindByIds() {
+        deptInfMapper.insert(dept1);
+        deptInfMapper.insert(dept2);
+
+        List<DeptInf> depts = deptInfMapper.findByIds(List.of(dept1.getDeptId(), dept2.getDeptId(), -1));
+        assertEquals(2, depts.size(), "不存在的ID应被忽略");
+        assertTrue(depts.stream().anyMatch(d -> dept2.getDeptName().equals(d.getDeptName())));
+    }
+
     @Test
     @Transactional
     public void testFindByNameUsingAnnotation() {
@@ -119,4 +130,21 @@ public class DeptInfMapperTests {
             deptInfMapper.insert(duplicateDept);
         }, "插入同名部门应抛出DataIntegrityViolationException");
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional
+    public void testUpdateWithStaleVersion() {
+        deptInfMapper.insert(dept2);
+        DeptInf loaded = deptInfMapper.findById(dept2.getDeptId());
+        assertEquals(0, loaded.getVersion(), "新部门的版本号应为0");
+
+        loaded.setDeptRemark("第一次修改");
+        assertEquals(1, deptInfMapper.update(loaded), "版本号一致时应更新成功");
+        assertEquals(1, deptInfMapper.findById(dept2.getDeptId()).getVersion(), "更新后版本号应加1");
+
+        // loaded 仍带着旧版本号0，模拟另一个用户基于旧数据提交
+        loaded.setDeptRemark("基于旧版本的修改");
+        assertEquals(0, deptInfMapper.update(loaded), "版本号过期时不应更新任何行");
+        assertEquals("第一次修改", deptInfMapper.findById(dept2.getDeptId()).getDeptRemark());
+    }
+}
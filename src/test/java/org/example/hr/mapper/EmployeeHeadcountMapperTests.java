@@ -0,0 +1,73 @@
+package org.example.hr.mapper;
+
+import org.example.hr.pojo.Headcount;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) // 使用application.properties中配置的真实数据库
+
+public class EmployeeHeadcountMapperTests {
+
+    @Autowired
+    private EmployeeHeadcountMapper headcountMapper;
+
+    private Integer findHeadcount(String dimension, String dimKey) {
+        for (Headcount row : headcountMapper.findAll()) {
+            if (row.getDimension().equals(dimension) && row.getDimKey().equals(dimKey)) {
+                return row.getHeadcount();
+            }
+        }
+        return null;
+    }
+
+    @Test
+    @Transactional // 默认回滚
+    public void testAdjustInsertsAndAccumulates() {
+        headcountMapper.adjust(List.of(new Headcount("edu", "测试学历", 2)));
+        assertEquals(2, findHeadcount("edu", "测试学历"), "分组不存在时应插入");
+
+        headcountMapper.adjust(List.of(new Headcount("edu", "测试学历", -1), new Headcount("edu", "测试学历2", 1)));
+        assertEquals(1, findHeadcount("edu", "测试学历"), "分组存在时应累加增减量");
+        assertEquals(1, findHeadcount("edu", "测试学历2"));
+    }
+
+    @Test
+    @Transactional
+    public void testDeleteEmpty() {
+        headcountMapper.adjust(List.of(new Headcount("edu", "测试学历", 1)));
+        headcountMapper.adjust(List.of(new Headcount("edu", "测试学历", -1)));
+        assertNull(findHeadcount("edu", "测试学历"), "人数为0的分组不应出现在查询结果中");
+
+        assertTrue(headcountMapper.deleteEmpty() >= 1, "应删除人数为0的分组");
+        assertTrue(headcountMapper.findAllForUpdate().stream()
+                .noneMatch(row -> row.getHeadcount() == 0), "删除后不应再有人数为0的行");
+    }
+
+    @Test
+    @Transactional
+    public void testCountActualCoversAllDimensions() {
+        List<Headcount> actual = headcountMapper.countActual();
+        assertNotNull(actual);
+        int[] totals = new int[4];
+        String[] dimensions = {"dept", "job", "sex", "edu"};
+        for (Headcount row : actual) {
+            for (int i = 0; i < dimensions.length; i++) {
+                if (dimensions[i].equals(row.getDimension())) {
+                    totals[i] += row.getHeadcount();
+                }
+            }
+        }
+        // 每名员工在每个维度上恰好属于一个分组，各维度人数之和都等于员工总数
+        for (int i = 1; i < totals.length; i++) {
+            assertEquals(totals[0], totals[i], "维度 " + dimensions[i] + " 的人数之和应等于员工总数");
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.hr.mapper;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeFacetCount;
 import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.EmployeeListItem;
 import org.example.hr.pojo.JobInf;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,8 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -228,6 +233,233 @@ public class EmployeeInfMapperTests {
         assertEquals(emp1.getEmpName(), foundCombined.get(0).getEmpName());
     }
 
+    @Test
+    @Transactional
+    public void testFindByCriteriaKeysetPaging() {
+        // 插入三个同部门员工，按 emp_id 游标分页，每页两条
+        EmployeeInf emp2 = new EmployeeInf();
+        emp2.setEmpName("分页员工乙");
+        emp2.setEmpCardId("3456789012");
+        emp2.setEmpAddress("测试地址3");
+        emp2.setDepartment(testDept);
+        emp2.setJob(testJob);
+        EmployeeInf emp3 = new EmployeeInf();
+        emp3.setEmpName("分页员工丙");
+        emp3.setEmpCardId("4567890123");
+        emp3.setEmpAddress("测试地址4");
+        emp3.setDepartment(testDept);
+        emp3.setJob(testJob);
+        employeeInfMapper.insert(emp1);
+        employeeInfMapper.insert(emp2);
+        employeeInfMapper.insert(emp3);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("deptId", testDept.getDeptId());
+        params.put("afterId", emp1.getEmpId() - 1);
+        params.put("limit", 2);
+        List<EmployeeInf> firstPage = employeeInfMapper.findByCriteria(params);
+        assertEquals(2, firstPage.size());
+        assertEquals(emp1.getEmpId(), firstPage.get(0).getEmpId());
+        assertEquals(emp2.getEmpId(), firstPage.get(1).getEmpId());
+
+        params.put("afterId", firstPage.get(1).getEmpId());
+        List<EmployeeInf> secondPage = employeeInfMapper.findByCriteria(params);
+        assertEquals(1, secondPage.size());
+        assertEquals(emp3.getEmpId(), secondPage.get(0).getEmpId());
+
+        // 向前翻页：倒序返回游标之前的记录
+        List<EmployeeInf> previousPage = employeeInfMapper.findAllWithDetailsPage(null, emp3.getEmpId(), 2);
+        assertEquals(2, previousPage.size());
+        assertEquals(emp2.getEmpId(), previousPage.get(0).getEmpId());
+        assertEquals(emp1.getEmpId(), previousPage.get(1).getEmpId());
+    }
+
+    @Test
+    @Transactional
+    public void testFindListByCriteria() {
+        employeeInfMapper.insert(emp1);
+
+        // 列表投影只包含列表展示的字段，部门和岗位以名称给出
+        Map<String, Object> params = new HashMap<>();
+        params.put("empCardId", emp1.getEmpCardId());
+        params.put("limit", 10);
+        List<EmployeeListItem> items = employeeInfMapper.findListByCriteria(params);
+        assertEquals(1, items.size());
+        EmployeeListItem item = items.get(0);
+        assertEquals(emp1.getEmpId(), item.getEmpId());
+        assertEquals(emp1.getEmpName(), item.getEmpName());
+        assertEquals(emp1.getEmpPhone(), item.getEmpPhone());
+        assertEquals(testDept.getDeptId(), item.getDeptId());
+        assertEquals(testDept.getDeptName(), item.getDeptName());
+        assertEquals(testJob.getJobName(), item.getJobName());
+
+        // 不传查询条件时按游标分页查询全部员工
+        Map<String, Object> page = new HashMap<>();
+        page.put("afterId", emp1.getEmpId() - 1);
+        page.put("limit", 1);
+        List<EmployeeListItem> firstPage = employeeInfMapper.findListByCriteria(page);
+        assertEquals(1, firstPage.size());
+        assertEquals(emp1.getEmpId(), firstPage.get(0).getEmpId());
+    }
+
+    @Test
+    @Transactional
+    public void testFindColumnsByCriteria() {
+        employeeInfMapper.insert(emp1);
+
+        // 只查询指定的列，部门只有ID
+        Map<String, Object> params = new HashMap<>();
+        params.put("empCardId", emp1.getEmpCardId());
+        params.put("columns", List.of("emp_name", "emp_dept_id"));
+        params.put("limit", 10);
+        List<EmployeeInf> results = employeeInfMapper.findColumnsByCriteria(params);
+        assertEquals(1, results.size());
+        EmployeeInf found = results.get(0);
+        assertEquals(emp1.getEmpId(), found.getEmpId());
+        assertEquals(emp1.getEmpName(), found.getEmpName());
+        assertNull(found.getEmpPhone(), "未选择的列不应查询");
+        assertEquals(testDept.getDeptId(), found.getDepartment().getDeptId());
+        assertNull(found.getDepartment().getDeptName(), "部门名称不联表查询");
+        assertNull(found.getJob());
+
+        // 不指定列时只查询主键
+        params.remove("columns");
+        EmployeeInf keyOnly = employeeInfMapper.findColumnsByCriteria(params).get(0);
+        assertEquals(emp1.getEmpId(), keyOnly.getEmpId());
+        assertNull(keyOnly.getEmpName());
+    }
+
+    @Test
+    @Transactional
+    public void testFindByCriteriaWithEmpIds() {
+        employeeInfMapper.insert(emp1);
+
+        // 姓名索引给出的候选主键与 LIKE 条件同时生效
+        Map<String, Object> params = new HashMap<>();
+        params.put("empIds", List.of(emp1.getEmpId()));
+        params.put("empName", emp1.getEmpName());
+        List<EmployeeInf> results = employeeInfMapper.findByCriteria(params);
+        assertEquals(1, results.size());
+        assertEquals(emp1.getEmpId(), results.get(0).getEmpId());
+
+        // 空的候选集合表示没有匹配
+        params.put("empIds", List.of());
+        assertTrue(employeeInfMapper.findByCriteria(params).isEmpty());
+
+        // 扫描姓名用于重建索引
+        List<EmployeeInf> scanned = new ArrayList<>();
+        employeeInfMapper.scanNames(context -> scanned.add(context.getResultObject()));
+        assertTrue(scanned.stream().anyMatch(e -> emp1.getEmpId().equals(e.getEmpId())
+                && emp1.getEmpName().equals(e.getEmpName())));
+    }
+
+    @Test
+    @Transactional // 游标只能在打开它的 SqlSession 内读取，需要事务保持会话
+    public void testStreamByCriteria() throws IOException {
+        employeeInfMapper.insert(emp1);
+        EmployeeInf emp2 = new EmployeeInf();
+        emp2.setEmpName("测试员工乙");
+        emp2.setEmpCardId("1234567891");
+        emp2.setEmpAddress("测试地址2");
+        emp2.setEmpSex(2);
+        emp2.setDepartment(testDept);
+        emp2.setJob(testJob);
+        employeeInfMapper.insert(emp2);
+        EmployeeInf emp3 = new EmployeeInf();
+        emp3.setEmpName("测试员工丙");
+        emp3.setEmpCardId("1234567892");
+        emp3.setEmpAddress("测试地址3");
+        emp3.setEmpSex(1);
+        emp3.setDepartment(testDept);
+        emp3.setJob(testJob);
+        employeeInfMapper.insert(emp3);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("empIds", List.of(emp1.getEmpId(), emp2.getEmpId(), emp3.getEmpId()));
+        params.put("empSex", 1);
+        List<EmployeeInf> streamed = new ArrayList<>();
+        try (Cursor<EmployeeInf> cursor = employeeInfMapper.streamByCriteria(params)) {
+            cursor.forEach(streamed::add);
+            assertTrue(cursor.isConsumed(), "游标应读取到结果集末尾");
+        }
+        assertEquals(List.of(emp1.getEmpId(), emp3.getEmpId()), streamed.stream().map(EmployeeInf::getEmpId).toList(),
+                "按条件过滤并按ID升序逐行返回");
+        EmployeeInf first = streamed.get(0);
+        assertEquals(emp1.getEmpPhone(), first.getEmpPhone());
+        assertEquals(testDept.getDeptName(), first.getDepartment().getDeptName(), "导出需要部门名称");
+        assertEquals(testJob.getJobName(), first.getJob().getJobName(), "导出需要岗位名称");
+    }
+
+    @Test
+    @Transactional
+    public void testDetailsShareDepartmentAndJobInstances() {
+        employeeInfMapper.insert(emp1);
+        EmployeeInf emp2 = new EmployeeInf();
+        emp2.setEmpName("测试员工乙");
+        emp2.setEmpCardId("1234567891");
+        emp2.setEmpAddress("测试地址2");
+        emp2.setDepartment(testDept);
+        emp2.setJob(testJob);
+        employeeInfMapper.insert(emp2);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("empIds", List.of(emp1.getEmpId(), emp2.getEmpId()));
+        List<EmployeeInf> results = employeeInfMapper.findByCriteria(params);
+        assertEquals(2, results.size());
+        DeptInf dept = results.get(0).getDepartment();
+        assertEquals(testDept.getDeptName(), dept.getDeptName());
+        assertSame(dept, results.get(1).getDepartment(), "同一部门的员工应共享一个部门实例");
+        assertSame(results.get(0).getJob(), results.get(1).getJob(), "同一岗位的员工应共享一个岗位实例");
+        assertSame(dept, employeeInfMapper.findByIdWithDetails(emp1.getEmpId()).getDepartment(), "不同语句之间也共享");
+        assertThrows(UnsupportedOperationException.class, () -> dept.setDeptName("改名"), "共享的部门实例不允许修改");
+        assertThrows(UnsupportedOperationException.class, () -> results.get(0).getJob().setJobName("改名"), "共享的岗位实例不允许修改");
+
+        // 部门修改后版本号加1，之后的查询换上新的实例
+        DeptInf renamed = new DeptInf(dept.getDeptId(), dept.getDeptName() + "X", dept.getDeptRemark());
+        assertEquals(1, deptInfMapper.update(renamed));
+        EmployeeInf reloaded = employeeInfMapper.findByIdWithDetails(emp2.getEmpId());
+        assertNotSame(dept, reloaded.getDepartment());
+        assertEquals(renamed.getDeptName(), reloaded.getDepartment().getDeptName());
+        assertEquals(dept.getVersion() + 1, reloaded.getDepartment().getVersion());
+        assertEquals(testDept.getDeptName(), dept.getDeptName(), "已返回的旧实例不会被修改");
+    }
+
+    @Test
+    @Transactional
+    public void testCountFacets() {
+        emp1.setEmpEdu("本科");
+        emp1.setEmpParty("群众");
+        employeeInfMapper.insert(emp1);
+        EmployeeInf emp2 = new EmployeeInf();
+        emp2.setEmpName("测试员工乙");
+        emp2.setEmpCardId("1234567891");
+        emp2.setEmpAddress("测试地址2");
+        emp2.setEmpSex(1);
+        emp2.setEmpEdu("本科");
+        emp2.setEmpParty("群众");
+        emp2.setDepartment(testDept);
+        emp2.setJob(testJob);
+        employeeInfMapper.insert(emp2);
+
+        // 两人所有分组字段相同，合并为一行
+        Map<String, Object> params = new HashMap<>();
+        params.put("empIds", List.of(emp1.getEmpId(), emp2.getEmpId()));
+        List<EmployeeFacetCount> groups = employeeInfMapper.countFacets(params);
+        assertEquals(1, groups.size());
+        EmployeeFacetCount group = groups.get(0);
+        assertEquals(2, group.getHeadcount());
+        assertEquals(testDept.getDeptId(), group.getEmployee().getDepartment().getDeptId());
+        assertEquals(testJob.getJobId(), group.getEmployee().getJob().getJobId());
+        assertEquals(1, group.getEmployee().getEmpSex());
+        assertEquals("本科", group.getEmployee().getEmpEdu());
+        assertEquals("群众", group.getEmployee().getEmpParty());
+        assertNull(group.getEmployee().getEmpRace());
+
+        // 条件同 findByCriteria
+        params.put("empCardId", emp2.getEmpCardId());
+        assertEquals(1, employeeInfMapper.countFacets(params).get(0).getHeadcount());
+    }
+
     @Test
     @Transactional
     public void testCountByDeptId() {
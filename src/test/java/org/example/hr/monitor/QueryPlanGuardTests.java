@@ -0,0 +1,92 @@
+package org.example.hr.monitor;
+
+import org.example.hr.DedicatedSchema;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在造好数据的库上检查所有 Mapper 语句的执行计划
+ * 在同一个 MySQL 实例上新建一个专用的库 (Flyway 建表)，写入 SEED_ROWS 名模拟员工并 ANALYZE，使优化器按大表估算成本；
+ * 不修改 application.properties 中配置的库，测试结束后删除专用库。
+ */
+@SpringBootTest(properties = "hr.db.plan-guard.mode=off") // 启动时不检查，由测试调用
+@DirtiesContext // 专用库在测试结束后删除，容器不再复用
+public class QueryPlanGuardTests {
+
+    private static final int SEED_ROWS = 20_000;
+    private static final DedicatedSchema SCHEMA = new DedicatedSchema("hr_plan_guard_");
+    private static final String[] EDUCATIONS = {"本科", "硕士", "大专", "博士", "高中"};
+    private static final String[] PARTIES = {"群众", "中共党员", "共青团员"};
+    private static final String[] RACES = {"汉族", "回族", "满族", "壮族"};
+
+    @Autowired
+    private QueryPlanGuard queryPlanGuard;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void dedicatedSchema(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        SCHEMA.create(registry);
+    }
+
+    @AfterAll
+    static void dropSchema() throws IOException, SQLException {
+        SCHEMA.drop();
+    }
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee_inf", Integer.class) >= SEED_ROWS) {
+            return;
+        }
+        List<Object[]> depts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            depts.add(new Object[]{"计划部门" + i, "执行计划测试"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO dept_inf (dept_name, dept_remark) VALUES (?, ?)", depts);
+        List<Object[]> jobs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            jobs.add(new Object[]{"计划岗位" + i, "执行计划测试"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO job_inf (job_name, job_remark) VALUES (?, ?)", jobs);
+        List<Integer> deptIds = jdbcTemplate.queryForList("SELECT dept_id FROM dept_inf", Integer.class);
+        List<Integer> jobIds = jdbcTemplate.queryForList("SELECT job_id FROM job_inf", Integer.class);
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < SEED_ROWS; i++) {
+            rows.add(new Object[]{deptIds.get(random.nextInt(deptIds.size())), jobIds.get(random.nextInt(jobIds.size())),
+                    "计划" + i, String.format("P%09d", i), "测试地址", String.format("139%08d", i), 1 + random.nextInt(2),
+                    EDUCATIONS[random.nextInt(EDUCATIONS.length)], PARTIES[random.nextInt(PARTIES.length)],
+                    RACES[random.nextInt(RACES.length)], new Timestamp(System.currentTimeMillis())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employee_inf (emp_dept_id, emp_job_id, emp_name, emp_card_id, emp_address,"
+                + " emp_phone, emp_sex, emp_edu, emp_party, emp_race, emp_create_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE TABLE dept_inf, job_inf, employee_inf"); // 只统计专用库中的表
+    }
+
+    @Test
+    public void testNoInefficientPlans() throws Exception {
+        QueryPlanGuard.Report report = queryPlanGuard.check();
+        assertTrue(report.explained() > 0, "应至少检查一条语句");
+        assertTrue(report.violations().isEmpty(), () -> "执行计划有问题的语句：\n" + report.violations().stream()
+                .map(QueryPlanGuard.Finding::toString).collect(Collectors.joining("\n")));
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.hr.search;
+
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.example.hr.mapper.EmployeeInfMapper;
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeFacetCount;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.JobInf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证属性位图索引：多条件求交集 (同一字段多值求并集)、增删改后的同步、分面统计不使用自身字段的条件，以及按游标截取一页
+ */
+public class EmployeeAttributeIndexTests {
+
+    private final List<EmployeeInf> table = new ArrayList<>();
+    private EmployeeAttributeIndex index;
+
+    private static EmployeeInf employee(int empId, int sex, int deptId, int jobId, String edu) {
+        EmployeeInf employee = new EmployeeInf();
+        employee.setEmpId(empId);
+        employee.setEmpSex(sex);
+        DeptInf dept = new DeptInf();
+        dept.setDeptId(deptId);
+        employee.setDepartment(dept);
+        JobInf job = new JobInf();
+        job.setJobId(jobId);
+        employee.setJob(job);
+        employee.setEmpEdu(edu);
+        return employee;
+    }
+
+    /**
+     * 只实现 scanAttributes 的 Mapper，逐行把 table 中的员工交给 ResultHandler
+     */
+    @SuppressWarnings("unchecked")
+    private EmployeeInfMapper scanningMapper() {
+        return (EmployeeInfMapper) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{EmployeeInfMapper.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("scanAttributes")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    ResultHandler<EmployeeInf> handler = (ResultHandler<EmployeeInf>) args[0];
+                    DefaultResultContext<EmployeeInf> context = new DefaultResultContext<>();
+                    for (EmployeeInf employee : table) {
+                        context.nextResultObject(employee);
+                        handler.handleResult(context);
+                    }
+                    return null;
+                });
+    }
+
+    @BeforeEach
+    void setUp() {
+        table.add(employee(1, 1, 1, 1, "BA"));
+        table.add(employee(2, 2, 1, 2, "MA"));
+        table.add(employee(3, 2, 2, 1, "BA"));
+        table.add(employee(4, 1, 2, 2, "BA"));
+        table.add(employee(5, 2, 1, 1, "BA"));
+        index = new EmployeeAttributeIndex(scanningMapper(), true, 1000);
+    }
+
+    @Test
+    void testMatchBeforeAndAfterRebuild() {
+        assertNull(index.match(Map.of("deptId", 1)), "索引构建前应返回null");
+        index.rebuild();
+        assertTrue(index.isReady());
+
+        assertEquals(RoaringBitmap.bitmapOf(2, 5), index.match(Map.of("deptId", 1, "empSex", 2)));
+        assertEquals(RoaringBitmap.bitmapOf(1, 5), index.match(Map.of("empEdu", "BA", "jobId", List.of(1, 2), "deptId", List.of(1, 9))),
+                "不同字段为且，同一字段的多个取值为或");
+        assertEquals(RoaringBitmap.bitmapOf(1, 3, 5), index.match(Map.of("jobId", List.of(1, 3))), "同一字段的多个取值为或");
+        assertTrue(index.match(Map.of("deptId", 9)).isEmpty(), "不存在的取值没有候选");
+        assertNull(index.match(Map.of("empName", "x")), "条件中没有索引字段时返回null");
+
+        RoaringBitmap copy = index.match(Map.of("deptId", 1));
+        copy.clear();
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 5), index.match(Map.of("deptId", 1)), "返回的位图是副本");
+    }
+
+    @Test
+    void testPutAndRemoveAfterRebuild() {
+        index.rebuild();
+        index.put(employee(6, 2, 1, 1, "PhD"));
+        index.put(employee(2, 2, 2, 2, "MA")); // 调到部门2
+        index.remove(5);
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 6), index.match(Map.of("deptId", 1)));
+        assertEquals(RoaringBitmap.bitmapOf(2, 3, 4), index.match(Map.of("deptId", 2)));
+        assertEquals(RoaringBitmap.bitmapOf(6), index.match(Map.of("empEdu", "PhD")));
+        assertTrue(index.match(Map.of("empSex", 2, "jobId", 1, "deptId", 1)).contains(6));
+        assertFalse(index.match(Map.of("empSex", 2)).contains(5));
+    }
+
+    @Test
+    void testFacetsExcludeOwnFilter() {
+        index.rebuild();
+        Map<EmployeeAttribute, Map<Object, Integer>> facets = index.facets(Map.of("deptId", 1, "empSex", 2), null);
+
+        // 部门的统计只应用性别条件：性别为2的员工 2、3、5 分布在部门1 (2人) 和部门2 (1人)
+        assertEquals(Map.of(1, 2, 2, 1), facets.get(EmployeeAttribute.DEPT));
+        // 性别的统计只应用部门条件：部门1的员工 1、2、5
+        assertEquals(Map.of(1, 1, 2, 2), facets.get(EmployeeAttribute.SEX));
+        // 其他字段应用全部条件：员工 2、5
+        assertEquals(Map.of(1, 1, 2, 1), facets.get(EmployeeAttribute.JOB));
+        assertEquals(Map.of("BA", 1, "MA", 1), facets.get(EmployeeAttribute.EDU));
+        assertEquals(Map.of(), facets.get(EmployeeAttribute.PARTY), "没有取值的字段为空");
+
+        Map<EmployeeAttribute, Map<Object, Integer>> restricted = index.facets(Map.of(), RoaringBitmap.bitmapOf(1, 4));
+        assertEquals(Map.of(1, 2), restricted.get(EmployeeAttribute.SEX), "其他条件解析出的候选ID限制所有字段");
+    }
+
+    @Test
+    void testFacetsOfGroupedCountsMatchBitmap() {
+        index.rebuild();
+        // 每名员工一个分组，再追加一个人数为2的分组：与位图上的统计结果对比
+        List<EmployeeFacetCount> groups = new ArrayList<>();
+        for (EmployeeInf employee : table) {
+            groups.add(new EmployeeFacetCount(employee, 1));
+        }
+        groups.add(new EmployeeFacetCount(employee(0, 1, 2, 1, "MA"), 2));
+        index.put(employee(6, 1, 2, 1, "MA"));
+        index.put(employee(7, 1, 2, 1, "MA"));
+
+        for (Map<String, Object> criteria : List.<Map<String, Object>>of(Map.of(), Map.of("deptId", 1, "empSex", 2),
+                Map.of("empEdu", "MA", "jobId", List.of(1, 2)), Map.of("deptId", 9))) {
+            assertEquals(index.facets(criteria, null), EmployeeAttributeIndex.facetsOf(groups, criteria), criteria.toString());
+        }
+    }
+
+    @Test
+    void testStringValuesMatchLikeDatabaseCollation() {
+        // utf8 排序规则不区分大小写、忽略末尾空格：数据库条件 emp_edu = 'ba' 能查到 'BA' 和 'Ba  '
+        table.add(employee(6, 1, 1, 1, "Ba  "));
+        index.rebuild();
+        assertEquals(RoaringBitmap.bitmapOf(1, 3, 4, 5, 6), index.match(Map.of("empEdu", "ba")));
+        assertEquals(RoaringBitmap.bitmapOf(2, 4), index.match(Map.of("empEdu", List.of("ma ", "bA"), "jobId", 2)), "集合中的取值同样规范化");
+
+        // 分面把同一个键的不同写法合并为一项，显示第一次遇到的写法
+        assertEquals(Map.of("BA", 5, "MA", 1), index.facets(Map.of(), null).get(EmployeeAttribute.EDU));
+        List<EmployeeFacetCount> groups = new ArrayList<>();
+        for (EmployeeInf employee : table) {
+            groups.add(new EmployeeFacetCount(employee, 1));
+        }
+        assertEquals(Map.of("BA", 5, "MA", 1), EmployeeAttributeIndex.facetsOf(groups, Map.of()).get(EmployeeAttribute.EDU));
+        assertEquals(Map.of(1, 3, 2, 2), EmployeeAttributeIndex.facetsOf(groups, Map.of("empEdu", "BA ")).get(EmployeeAttribute.SEX));
+
+        index.remove(6);
+        index.put(employee(7, 2, 2, 2, "Phd"));
+        assertEquals(RoaringBitmap.bitmapOf(7), index.match(Map.of("empEdu", "PHD")));
+    }
+
+    @Test
+    void testWindow() {
+        RoaringBitmap ids = RoaringBitmap.bitmapOf(3, 7, 10, 15, 20, 42);
+        assertEquals(List.of(3, 7, 10), EmployeeAttributeIndex.window(ids, null, null, 3));
+        assertEquals(List.of(15, 20, 42), EmployeeAttributeIndex.window(ids, 10, null, 5));
+        assertEquals(List.of(15, 20), EmployeeAttributeIndex.window(ids, 11, null, 2), "游标不在候选中时从下一个ID开始");
+        assertEquals(List.of(7, 10, 15), EmployeeAttributeIndex.window(ids, null, 20, 3), "向前翻页取游标之前最近的一页");
+        assertEquals(List.of(3, 7), EmployeeAttributeIndex.window(ids, null, 10, 5));
+        assertEquals(List.of(), EmployeeAttributeIndex.window(ids, 42, null, 5));
+    }
+
+    @Test
+    void testDisabledIndexIsNeverBuilt() {
+        EmployeeAttributeIndex disabled = new EmployeeAttributeIndex(scanningMapper(), false, 1000);
+        disabled.rebuild();
+        assertFalse(disabled.isReady());
+        assertNull(disabled.match(Map.of("deptId", 1)));
+    }
+}
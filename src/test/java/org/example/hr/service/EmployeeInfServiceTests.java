@@ -0,0 +1,106 @@
+package org.example.hr.service;
+
+import org.example.hr.DedicatedSchema;
+import org.example.hr.EmployeeFixture;
+import org.example.hr.pojo.DeptInf;
+import org.example.hr.pojo.EmployeeInf;
+import org.example.hr.pojo.EmployeeListItem;
+import org.example.hr.pojo.KeysetPage;
+import org.example.hr.service.impl.EmployeeInfServicelmpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证位图索引参与游标分页时，索引未覆盖的条件 (手机号、姓名索引无法解析的姓名) 不会让分页少行
+ * 部门中只有最后一名员工 (第二页) 满足这些条件，只在第一页上复核会得到空结果。
+ */
+@SpringBootTest(properties = "hr.db.plan-guard.mode=off")
+@Import(EmployeeFixture.class)
+@DirtiesContext
+public class EmployeeInfServiceTests {
+
+    private static final DedicatedSchema SCHEMA = new DedicatedSchema("hr_paging_");
+    private static final int EMPLOYEES = 25; // 多于一页 (20条)
+
+    @Autowired
+    private EmployeeInfServicelmpl employeeInfService;
+
+    @Autowired
+    private EmployeeFixture fixture;
+
+    private DeptInf dept;
+    private List<Integer> empIds;
+    private EmployeeInf last; // 部门中ID最大的员工
+
+    @DynamicPropertySource
+    static void dedicatedSchema(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        SCHEMA.create(registry);
+    }
+
+    @AfterAll
+    static void dropSchema() throws IOException, SQLException {
+        SCHEMA.drop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        EmployeeFixture.Department department = fixture.department(EMPLOYEES, (employee, i) -> {
+            if (i == EMPLOYEES - 1) {
+                employee.setEmpName("溢出_末位");
+                employee.setEmpPhone("13900000000");
+            }
+        });
+        dept = department.dept();
+        empIds = department.empIds();
+        last = department.employees().get(EMPLOYEES - 1);
+    }
+
+    private KeysetPage<EmployeeListItem> firstPage(String name, Object value) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("deptId", dept.getDeptId());
+        params.put(name, value);
+        return employeeInfService.findEmployeesPage(params, null, null, 20);
+    }
+
+    @Test
+    public void testIndexedPageWithPhone() {
+        KeysetPage<EmployeeListItem> page = firstPage("empPhone", last.getEmpPhone());
+        assertEquals(List.of(last.getEmpId()), page.getItems().stream().map(EmployeeListItem::getEmpId).toList(),
+                "手机号条件应在部门的全部候选上复核，而不是只在第一页上");
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    public void testIndexedPageWithUnresolvedName() {
+        // 含通配符 _ 的姓名不由姓名索引解析，由数据库 LIKE 复核
+        KeysetPage<EmployeeListItem> page = firstPage("empName", "出_末位");
+        assertEquals(List.of(last.getEmpId()), page.getItems().stream().map(EmployeeListItem::getEmpId).toList());
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    public void testIndexedPageWithAttributesOnly() {
+        KeysetPage<EmployeeListItem> page = employeeInfService.findEmployeesPage(Map.of("deptId", dept.getDeptId()), null, null, 20);
+        assertEquals(empIds.subList(0, 20), page.getItems().stream().map(EmployeeListItem::getEmpId).toList());
+        assertTrue(page.isHasNext());
+        KeysetPage<EmployeeListItem> next = employeeInfService.findEmployeesPage(Map.of("deptId", dept.getDeptId()),
+                page.getLastId(), null, 20);
+        assertEquals(empIds.subList(20, EMPLOYEES), next.getItems().stream().map(EmployeeListItem::getEmpId).toList());
+        assertFalse(next.isHasNext());
+    }
+}
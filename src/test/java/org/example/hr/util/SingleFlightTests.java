@@ -0,0 +1,133 @@
+package org.example.hr.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证相同键的并发调用共享一次加载、加载结束后不缓存、等待超时后自行加载以及异常传递
+ */
+public class SingleFlightTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallsShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> leader = executor.submit(() -> flights.execute("deptId=1", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return 42;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        List<Future<Integer>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> flights.execute("deptId=1", loads::incrementAndGet)));
+        }
+        // 等待跟随者都进入等待后再放行 leader
+        awaitWaiters(flights, "deptId=1", 5);
+        release.countDown();
+
+        assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+        for (Future<Integer> follower : followers) {
+            assertEquals(42, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get(), "并发的相同调用只应加载一次");
+        assertEquals(5, count("shared"));
+        assertEquals(0, flights.inFlight());
+
+        // 加载结束后不保留结果
+        assertEquals(2, flights.execute("deptId=1", loads::incrementAndGet));
+    }
+
+    @Test
+    void testDifferentKeysLoadSeparately() {
+        SingleFlight<String, String> flights = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        assertEquals("a", flights.execute("a", () -> "a"));
+        assertEquals("b", flights.execute("b", () -> "b"));
+        assertEquals(2, count("leader"));
+    }
+
+    @Test
+    void testTimeoutFallsBackToOwnLoad() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> flights.execute("k", () -> {
+            loading.countDown();
+            await(release);
+            return "slow";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        assertEquals("own", flights.execute("k", () -> "own"), "等待超时后应自己加载");
+        assertEquals(1, count("timeout"));
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testLeaderExceptionPropagatesToFollowers() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> flights.execute("k", () -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalArgumentException("查询失败");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<String> follower = executor.submit(() -> flights.execute("k", () -> "own"));
+        awaitWaiters(flights, "k", 1);
+        release.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, leaderError.getCause());
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(leaderError.getCause(), followerError.getCause(), "等待中的调用应得到 leader 的异常");
+        assertEquals(0, flights.inFlight());
+    }
+
+    private static void awaitWaiters(SingleFlight<String, ?> flights, String key, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flights.waiters(key) < expected) {
+            assertTrue(System.nanoTime() < deadline, "等待的调用数未达到 " + expected);
+            Thread.sleep(5);
+        }
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("hr.single-flight.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}